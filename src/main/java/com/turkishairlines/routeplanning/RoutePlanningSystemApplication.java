@@ -1,9 +1,13 @@
 package com.turkishairlines.routeplanning;
 
+import com.turkishairlines.routeplanning.config.ScenarioProperties;
+import com.turkishairlines.routeplanning.config.ScopedSearchProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties({ ScopedSearchProperties.class, ScenarioProperties.class })
 public class RoutePlanningSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,119 @@
+package com.turkishairlines.routeplanning.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.service.cache.JsonFragmentCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.function.Function;
+
+/**
+ * Serializes locations and legs from {@link JsonFragmentCache}, so a route response is
+ * assembled by copying pre-encoded bytes into the output instead of walking every bean.
+ * Spring Boot registers the module on its {@code ObjectMapper}, covering both the MVC
+ * and the reactive endpoints.
+ */
+@Configuration
+public class JsonFragmentConfig {
+
+    private static final JsonFactory DEFAULT_FACTORY = new JsonFactory();
+
+    @Bean
+    public Module jsonFragmentModule(JsonFragmentCache fragmentCache) {
+        SimpleModule module = new SimpleModule("JsonFragmentModule");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                    JsonSerializer<?> serializer) {
+                Class<?> type = description.getBeanClass();
+                if (type == LocationDTO.class) {
+                    return new FragmentSerializer<>(LocationDTO.class, serializer, fragmentCache,
+                            JsonFragmentCache::keyOf);
+                }
+                if (type == TransportationDTO.class) {
+                    return new FragmentSerializer<>(TransportationDTO.class, serializer, fragmentCache,
+                            JsonFragmentCache::keyOf);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+
+    static final class FragmentSerializer<T> extends StdSerializer<T>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final JsonFragmentCache fragmentCache;
+        private final Function<T, Object> keyFunction;
+
+        @SuppressWarnings("unchecked")
+        FragmentSerializer(Class<T> type, JsonSerializer<?> delegate, JsonFragmentCache fragmentCache,
+                Function<T, Object> keyFunction) {
+            super(type);
+            this.delegate = (JsonSerializer<Object>) delegate;
+            this.fragmentCache = fragmentCache;
+            this.keyFunction = keyFunction;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Object key = keyFunction.apply(value);
+            // Token buffers and pretty printers need the real token stream
+            if (key == null || !(gen instanceof JsonGeneratorImpl) || gen.getPrettyPrinter() != null) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            SerializedString fragment = fragmentCache.get(key, () -> render(value, gen.getCodec(), provider));
+            gen.writeRawValue(fragment);
+        }
+
+        // Nested locations go through their own fragment serializer, so a leg splices cached endpoints too
+        private String render(T value, ObjectCodec codec, SerializerProvider provider) throws IOException {
+            JsonFactory factory = codec != null ? codec.getFactory() : DEFAULT_FACTORY;
+            StringWriter writer = new StringWriter(256);
+            try (JsonGenerator fragmentGen = factory.createGenerator(writer)) {
+                fragmentGen.setCodec(codec);
+                delegate.serialize(value, fragmentGen, provider);
+            }
+            return writer.toString();
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            JsonSerializer<?> contextual = provider.handleSecondaryContextualization(delegate, property);
+            if (contextual == delegate) {
+                return this;
+            }
+            return new FragmentSerializer<>(handledType(), contextual, fragmentCache, keyFunction);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+    }
+}
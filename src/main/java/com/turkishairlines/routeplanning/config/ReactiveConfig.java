@@ -0,0 +1,65 @@
+package com.turkishairlines.routeplanning.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Infrastructure for the {@code reactive} profile: a bounded event loop for Reactor Netty and
+ * an R2DBC pool for the reactive route search. The pool is built here rather than by
+ * {@code R2dbcAutoConfiguration} because a {@code ConnectionFactory} bean would switch off the
+ * JDBC {@code DataSource} that JPA still uses for the rest of the application.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(
+            @Value("${route-planning.reactive.event-loop-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int eventLoopThreads) {
+        log.info("Serving reactive requests on {} event loop threads", eventLoopThreads);
+        ReactorResourceFactory resourceFactory = new ReactorResourceFactory();
+        resourceFactory.setUseGlobalResources(false);
+        resourceFactory.setLoopResourcesSupplier(() -> LoopResources.create("route-http", eventLoopThreads, true));
+        return resourceFactory;
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(R2dbcProperties properties) {
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build())
+                .name("route-r2dbc")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        connectionPool = new ConnectionPool(configuration.build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.turkishairlines.routeplanning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "route-planning.scenarios")
+public class ScenarioProperties {
+
+    /** Most scenarios held on one instance; creating another is refused until one is deleted or expires. */
+    private int maxScenarios = 100;
+
+    /** How long a scenario is kept after it was last created or updated. */
+    private Duration ttl = Duration.ofHours(24);
+}
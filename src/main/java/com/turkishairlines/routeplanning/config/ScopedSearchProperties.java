@@ -0,0 +1,12 @@
+package com.turkishairlines.routeplanning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "route-planning.scoped-search")
+public class ScopedSearchProperties {
+
+    /** Most origin and destination pairs one scoped or nearby search may run the strategies for. */
+    private int maxPairs = 2500;
+}
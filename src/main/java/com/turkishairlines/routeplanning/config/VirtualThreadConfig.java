@@ -0,0 +1,48 @@
+package com.turkishairlines.routeplanning.config;
+
+import com.turkishairlines.routeplanning.controller.ConcurrencyLimitInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled} is set (see the {@code virtual-threads}
+ * profile). Requests then run on virtual threads, so concurrency is capped here instead,
+ * by default at the size of the connection pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final int maxInFlight;
+    private final Duration acquireTimeout;
+
+    public VirtualThreadConfig(
+            @Value("${route-planning.concurrency.max-in-flight:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxInFlight,
+            @Value("${route-planning.concurrency.acquire-timeout:PT2S}") Duration acquireTimeout) {
+        this.maxInFlight = maxInFlight;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        log.info("Virtual threads enabled; limiting API requests in flight to {}", maxInFlight);
+        return new ConcurrencyLimitInterceptor(maxInFlight, acquireTimeout);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,33 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "route-planning.datasource.read-split")
+public class ReadSplitProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas lagging further behind the primary than this stop receiving reads. */
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /** How long a lag check may take before the replica counts as unreachable. */
+    private Duration lagCheckTimeout = Duration.ofSeconds(2);
+
+    /** How long after a write the same client keeps reading from the primary. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
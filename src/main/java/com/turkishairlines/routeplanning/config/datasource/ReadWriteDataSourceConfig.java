@@ -0,0 +1,87 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only transactions
+ * to the replicas under {@code route-planning.datasource.read-split}. The primary keeps
+ * using the regular {@code spring.datasource} settings.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "route-planning.datasource.read-split", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadSplitProperties.class)
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties, ReadSplitProperties readSplitProperties) {
+        List<ReadSplitProperties.Replica> replicas = readSplitProperties.getReplicas();
+        if (replicas.isEmpty()) {
+            log.warn("Read/write split is enabled without replicas; all reads go to the primary");
+        }
+
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReadSplitProperties.Replica replica = replicas.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername()
+                            : dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword()
+                            : dataSourceProperties.determinePassword())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            dataSources.put(dataSource.getPoolName(), dataSource);
+        }
+
+        ReplicaSet replicaSet = new ReplicaSet(dataSources, readSplitProperties.getMaxLag(),
+                readSplitProperties.getLagCheckTimeout());
+        replicaSet.checkLag();
+        return replicaSet;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+            ReadSplitProperties readSplitProperties) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaSet,
+                new ReadYourWritesTracker(readSplitProperties.getReadYourWritesWindow()));
+
+        Map<Object, Object> targets = new HashMap<>(replicaSet.dataSources());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
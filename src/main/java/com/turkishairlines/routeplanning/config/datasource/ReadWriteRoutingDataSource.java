@@ -0,0 +1,58 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Reads that fill shared caches are kept on the primary, and a transaction reading a
+ * replica does not publish what it reads to them.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens its connection before the read-only flag is bound, and the
+ * proxy defers the physical connection until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReplicaSet replicaSet, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaSet = replicaSet;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        if (readYourWritesTracker.requiresPrimary() || TransactionalCacheSupport.isPrimaryReadRequired()) {
+            return PRIMARY;
+        }
+        Optional<String> replica = replicaSet.next();
+        if (replica.isEmpty()) {
+            return PRIMARY;
+        }
+        TransactionalCacheSupport.markReplicaRead();
+        return replica.get();
+    }
+
+    private void trackWrite() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite();
+                }
+            });
+        }
+    }
+}
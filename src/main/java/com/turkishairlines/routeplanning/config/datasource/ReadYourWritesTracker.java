@@ -0,0 +1,76 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Keeps a client on the primary for a short window after it wrote, so it never reads
+ * a replica that has not replayed its own change yet. The window travels in a cookie
+ * holding its end time, which works across instances and is bounded on read so a
+ * client cannot pin itself to the primary.
+ */
+public class ReadYourWritesTracker {
+
+    static final String COOKIE_NAME = "rp-primary-until";
+    private static final String REQUEST_ATTRIBUTE = "routePlanning.primaryUntil";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public void recordWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        long until = clock.millis() + window.toMillis();
+        attributes.getRequest().setAttribute(REQUEST_ATTRIBUTE, until);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    public boolean requiresPrimary() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        long now = clock.millis();
+        long until = primaryUntil(attributes.getRequest());
+        return until > now && until <= now + window.toMillis();
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof Long until) {
+            return until;
+        }
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas with their replication lag. Replicas that lag behind the primary by more
+ * than the allowed maximum, or cannot be reached, are left out of rotation until they catch up.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    // A replica counts as current only while its WAL receiver is streaming; an idle primary sends no transactions to
+    // replay, so a streaming replica that has replayed everything it received is current too. NULL means not current.
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END""";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Duration checkTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaSet(Map<String, DataSource> replicas, Duration maxLag, Duration checkTimeout) {
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.maxLag = maxLag;
+        this.checkTimeout = checkTimeout;
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return replicas;
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy;
+    }
+
+    /**
+     * Picks the next healthy replica round-robin, or nothing when reads must go to the primary.
+     */
+    public Optional<String> next() {
+        List<String> current = healthy;
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(current.get(Math.floorMod(next.getAndIncrement(), current.size())));
+    }
+
+    @Scheduled(fixedDelayString = "${route-planning.datasource.read-split.lag-check-interval:PT5S}",
+            initialDelayString = "${route-planning.datasource.read-split.lag-check-interval:PT5S}")
+    public void checkLag() {
+        List<String> inRotation = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            if (isCurrent(replica.getKey(), replica.getValue())) {
+                inRotation.add(replica.getKey());
+            }
+        }
+        if (!inRotation.equals(healthy)) {
+            log.info("Read replicas in rotation changed from {} to {}", healthy, inRotation);
+        }
+        healthy = List.copyOf(inRotation);
+    }
+
+    // Bounded by the check timeout, so a hung replica cannot hold up the shared scheduler
+    private boolean isCurrent(String name, DataSource dataSource) {
+        int timeoutMillis = (int) checkTimeout.toMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setNetworkTimeout(Runnable::run, timeoutMillis);
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+                    if (resultSet.wasNull()) {
+                        log.warn("Read replica {} is not streaming from the primary", name);
+                        return false;
+                    }
+                    boolean current = lagSeconds * 1_000 <= maxLag.toMillis();
+                    if (!current) {
+                        log.warn("Read replica {} is {} s behind the primary", name, lagSeconds);
+                    }
+                    return current;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Read replica {} is unreachable: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.model.dto.CacheStatisticsDTO;
+import com.turkishairlines.routeplanning.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/cache/statistics")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+        private final CacheStatisticsService cacheStatisticsService;
+
+        @GetMapping
+        public ResponseEntity<CacheStatisticsDTO> getStatistics() {
+                return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+        }
+
+        @DeleteMapping
+        public ResponseEntity<Void> resetStatistics() {
+                cacheStatisticsService.reset();
+                return ResponseEntity.noContent().build();
+        }
+}
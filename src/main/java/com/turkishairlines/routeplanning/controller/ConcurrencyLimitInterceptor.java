@@ -0,0 +1,50 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of API requests in flight. With virtual threads Tomcat no longer caps
+ * concurrency, so without this every request would queue inside the connection pool and
+ * time out there; here excess requests wait briefly for a permit and are then shed with 503.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimitInterceptor(int maxInFlight, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ServiceOverloadedException("Too many concurrent requests, please retry", acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for a request slot", acquireTimeout);
+        }
+        return true;
+    }
+
+    // Only invoked when preHandle returned true, so every call matches an acquired permit
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
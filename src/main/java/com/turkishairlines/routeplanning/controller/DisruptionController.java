@@ -0,0 +1,48 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+import com.turkishairlines.routeplanning.service.DisruptionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/disruptions")
+@RequiredArgsConstructor
+public class DisruptionController {
+
+    private final DisruptionService disruptionService;
+
+    @GetMapping
+    public ResponseEntity<List<DisruptionDTO>> getDisruptions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<DisruptionDTO> disruptions = disruptionService.findAll(date);
+        return ResponseEntity.ok(disruptions);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DisruptionDTO> getDisruptionById(@PathVariable Long id) {
+        DisruptionDTO disruption = disruptionService.findById(id);
+        return ResponseEntity.ok(disruption);
+    }
+
+    @PostMapping
+    public ResponseEntity<DisruptionDTO> createDisruption(@Valid @RequestBody DisruptionDTO disruptionDTO) {
+        DisruptionDTO createdDisruption = disruptionService.create(disruptionDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdDisruption);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDisruption(@PathVariable Long id) {
+        disruptionService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,11 @@
 package com.turkishairlines.routeplanning.controller;
 
 import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.NearbyLocationDTO;
 import com.turkishairlines.routeplanning.service.LocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/locations")
 @RequiredArgsConstructor
 public class LocationController {
@@ -37,6 +40,30 @@ public class LocationController {
                 return ResponseEntity.ok(location);
         }
 
+        @GetMapping("/search")
+        public ResponseEntity<List<LocationDTO>> searchLocations(
+                        @RequestParam String q,
+                        @RequestParam(defaultValue = "10") int limit) {
+                List<LocationDTO> locations = locationService.search(q, limit);
+                return ResponseEntity.ok(locations);
+        }
+
+        @GetMapping("/nearest")
+        public ResponseEntity<List<NearbyLocationDTO>> findNearestLocations(
+                        @RequestParam double latitude,
+                        @RequestParam double longitude,
+                        @RequestParam(defaultValue = "5") int limit,
+                        @RequestParam(required = false) Double radiusKm) {
+                List<NearbyLocationDTO> locations = locationService.findNearest(latitude, longitude, limit, radiusKm);
+                return ResponseEntity.ok(locations);
+        }
+
+        @GetMapping("/codes")
+        public ResponseEntity<List<LocationDTO>> getLocationsByCodes(@RequestParam List<String> codes) {
+                List<LocationDTO> locations = locationService.findByLocationCodes(codes);
+                return ResponseEntity.ok(locations);
+        }
+
         @PostMapping
         public ResponseEntity<LocationDTO> createLocation(@Valid @RequestBody LocationDTO locationDTO) {
                 LocationDTO createdLocation = locationService.create(locationDTO);
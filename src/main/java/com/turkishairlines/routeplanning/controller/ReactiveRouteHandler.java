@@ -0,0 +1,85 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.exception.ErrorResponse;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.service.ReactiveRouteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Functional route search handler. Locations are resolved before the response is started so
+ * lookup errors still map to a proper status; the routes themselves are streamed. Clients
+ * accepting {@code application/x-ndjson} get one route per line, flushed as it is found.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouteHandler {
+
+    // Accepted by the servlet route search but not supported here, so they are refused rather than ignored
+    private static final List<String> UNSUPPORTED_PARAMS = List.of("scenario", "explain", "grouped");
+
+    private final ReactiveRouteService reactiveRouteService;
+
+    public Mono<ServerResponse> findValidRoutes(ServerRequest request) {
+        String origin = request.queryParam("origin").orElse(null);
+        String destination = request.queryParam("destination").orElse(null);
+        if (origin == null || destination == null) {
+            return error(request, HttpStatus.BAD_REQUEST, "Bad Request", "origin and destination are required");
+        }
+        for (String param : UNSUPPORTED_PARAMS) {
+            if (request.queryParam(param).isPresent()) {
+                return error(request, HttpStatus.BAD_REQUEST, "Bad Request",
+                        param + " is not supported by the reactive route search");
+            }
+        }
+
+        LocalDate date;
+        try {
+            date = request.queryParam("date").map(LocalDate::parse).orElse(null);
+        } catch (DateTimeParseException e) {
+            return error(request, HttpStatus.BAD_REQUEST, "Bad Request", "date must be an ISO date (yyyy-MM-dd)");
+        }
+
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+
+        return reactiveRouteService.resolveEndpoints(origin, destination)
+                .flatMap(endpoints -> ServerResponse.ok()
+                        .contentType(contentType)
+                        .body(reactiveRouteService.findRoutes(endpoints, date), RouteDTO.class))
+                .onErrorResume(ResourceNotFoundException.class, e ->
+                        error(request, HttpStatus.NOT_FOUND, "Not Found", e.getMessage()))
+                .onErrorResume(InvalidRouteException.class, e ->
+                        error(request, HttpStatus.BAD_REQUEST, "Bad Request", e.getMessage()));
+    }
+
+    private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String error, String message) {
+        log.warn("Reactive route search failed: {}", message);
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ErrorResponse.builder()
+                        .status(status.value())
+                        .error(error)
+                        .message(message)
+                        .path(request.path())
+                        .timestamp(Instant.now())
+                        .build());
+    }
+}
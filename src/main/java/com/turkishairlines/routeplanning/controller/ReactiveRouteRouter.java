@@ -0,0 +1,20 @@
+package com.turkishairlines.routeplanning.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouteRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRoutes(ReactiveRouteHandler reactiveRouteHandler) {
+        return RouterFunctions.route()
+                .GET("/api/v1/routes", reactiveRouteHandler::findValidRoutes)
+                .build();
+    }
+}
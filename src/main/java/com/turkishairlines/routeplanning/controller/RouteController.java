@@ -1,29 +1,319 @@
 package com.turkishairlines.routeplanning.controller;
 
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.model.dto.JourneyDTO;
+import com.turkishairlines.routeplanning.model.dto.ParetoRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RankedRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.ReachabilityDTO;
+import com.turkishairlines.routeplanning.model.dto.RoundTripDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteAvailabilityDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteCalendarDTO;
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteExplainDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupsDTO;
+import com.turkishairlines.routeplanning.model.enumaration.LocationScope;
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.service.ParetoRouteService;
+import com.turkishairlines.routeplanning.service.RankedRouteService;
+import com.turkishairlines.routeplanning.service.ReachabilityService;
+import com.turkishairlines.routeplanning.service.RoundTripService;
+import com.turkishairlines.routeplanning.service.RouteCalendarService;
 import com.turkishairlines.routeplanning.service.RouteService;
+import com.turkishairlines.routeplanning.service.ScenarioService;
+import com.turkishairlines.routeplanning.service.ScopedRouteService;
+import com.turkishairlines.routeplanning.service.TimetableJourneyService;
+import com.turkishairlines.routeplanning.service.strategy.RouteObjective;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/routes")
 @RequiredArgsConstructor
 public class RouteController {
 
+    private static final int MAX_PAIR_LIMIT = 500;
+    private static final int MAX_NEARBY_ORIGINS = 20;
+    private static final int MAX_RANKED_LIMIT = 100;
+
     private final RouteService routeService;
+    private final RankedRouteService rankedRouteService;
+    private final ParetoRouteService paretoRouteService;
+    private final TimetableJourneyService timetableJourneyService;
+    private final RouteCalendarService routeCalendarService;
+    private final RoundTripService roundTripService;
+    private final ScopedRouteService scopedRouteService;
+    private final ReachabilityService reachabilityService;
+    private final ScenarioService scenarioService;
 
     @GetMapping
-    public ResponseEntity<List<RouteDTO>> findValidRoutes(
+    public ResponseEntity<?> findValidRoutes(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean explain,
+            @RequestParam(defaultValue = "false") boolean grouped,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        searchContext.setScenario(scenarioService.resolve(scenario));
+
+        if (explain && grouped) {
+            throw new InvalidRouteException("explain and grouped cannot be combined");
+        }
+
+        if (grouped) {
+            RouteGroupsDTO groups = routeService.findRouteGroups(origin, destination, date, searchContext);
+            searchContext.markHandlerCompleted();
+            return ResponseEntity.ok(groups);
+        }
+
+        if (explain) {
+            RouteExplainDTO explanation = routeService.explainValidRoutes(origin, destination, date, searchContext);
+            searchContext.markHandlerCompleted();
+            return ResponseEntity.ok(explanation);
+        }
+
+        List<RouteDTO> routes = routeService.findValidRoutes(origin, destination, date, searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(routes);
+    }
+
+    @GetMapping("/ranked")
+    public ResponseEntity<List<RankedRouteDTO>> findRankedRoutes(
             @RequestParam String origin,
             @RequestParam String destination,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "1") double durationWeight,
+            @RequestParam(defaultValue = "0") double costWeight,
+            @RequestParam(defaultValue = "0") double legWeight,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/ranked");
 
-        List<RouteDTO> routes = routeService.findValidRoutes(origin, destination, date);
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        List<RankedRouteDTO> routes = rankedRouteService.findRankedRoutes(origin, destination, date,
+                Math.max(1, Math.min(limit, MAX_RANKED_LIMIT)),
+                new RouteObjective(durationWeight, costWeight, legWeight), searchContext);
+        searchContext.markHandlerCompleted();
         return ResponseEntity.ok(routes);
     }
+
+    @GetMapping("/pareto")
+    public ResponseEntity<List<ParetoRouteDTO>> findParetoRoutes(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Set<TransportationType> avoid,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/pareto");
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        List<ParetoRouteDTO> routes = paretoRouteService.findParetoRoutes(origin, destination, date,
+                avoid != null ? avoid : Set.of(), searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(routes);
+    }
+
+    @GetMapping("/timetable")
+    public ResponseEntity<JourneyDTO> findTimetableJourney(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime departAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime arriveBy,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/timetable");
+
+        if (departAfter != null && arriveBy != null) {
+            throw new InvalidRouteException("departAfter and arriveBy cannot be combined");
+        }
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        Optional<JourneyDTO> journey = timetableJourneyService.findTimetableJourney(origin, destination, date,
+                departAfter, arriveBy, searchContext);
+        searchContext.markHandlerCompleted();
+        return journey.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<RouteAvailabilityDTO> countRoutes(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/count");
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        long count = routeService.countRoutes(origin, destination, date, searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(RouteAvailabilityDTO.builder()
+                .originLocationCode(origin)
+                .destinationLocationCode(destination)
+                .date(date)
+                .available(count > 0)
+                .totalRoutes(count)
+                .build());
+    }
+
+    @GetMapping("/exists")
+    public ResponseEntity<RouteAvailabilityDTO> hasRoutes(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/exists");
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        boolean available = routeService.hasRoutes(origin, destination, date, searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(RouteAvailabilityDTO.builder()
+                .originLocationCode(origin)
+                .destinationLocationCode(destination)
+                .date(date)
+                .available(available)
+                .build());
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<RouteCalendarDTO> getRouteCalendar(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean counts,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/calendar");
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        RouteCalendarDTO calendar = routeCalendarService.getRouteCalendar(origin, destination, start, end, counts,
+                searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(calendar);
+    }
+
+    @GetMapping("/round-trip")
+    public ResponseEntity<RoundTripDTO> findRoundTrip(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate departureDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate returnDate,
+            @RequestParam(defaultValue = "false") boolean pair,
+            @RequestParam(defaultValue = "50") int pairLimit,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/round-trip");
+
+        if (departureDate != null && returnDate != null && returnDate.isBefore(departureDate)) {
+            throw new InvalidRouteException("Return date must not be before the departure date");
+        }
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        RoundTripDTO roundTrip = roundTripService.findRoundTrip(origin, destination, departureDate, returnDate, pair,
+                Math.max(0, Math.min(pairLimit, MAX_PAIR_LIMIT)), searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(roundTrip);
+    }
+
+    @GetMapping("/scoped")
+    public ResponseEntity<List<RouteDTO>> findScopedRoutes(
+            @RequestParam String origin,
+            @RequestParam(defaultValue = "LOCATION") LocationScope originScope,
+            @RequestParam String destination,
+            @RequestParam(defaultValue = "LOCATION") LocationScope destinationScope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        searchContext.setScenario(scenarioService.resolve(scenario));
+        List<RouteDTO> routes = scopedRouteService.findScopedRoutes(origin, originScope, destination, destinationScope,
+                date, searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(routes);
+    }
+
+    @GetMapping("/reachable")
+    public ResponseEntity<ReachabilityDTO> findReachableLocations(
+            @RequestParam String location,
+            @RequestParam(defaultValue = "FORWARD") ReachabilityDirection direction,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        searchContext.setScenario(scenarioService.resolve(scenario));
+        ReachabilityDTO reachability = reachabilityService.findReachableLocations(location, direction, date,
+                searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(reachability);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<RouteDTO>> findRoutesNear(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "50") double radiusKm,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam String destination,
+            @RequestParam(defaultValue = "LOCATION") LocationScope destinationScope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String scenario,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        rejectScenario(scenario, "/nearby");
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        List<RouteDTO> routes = scopedRouteService.findRoutesNear(latitude, longitude, radiusKm,
+                Math.max(1, Math.min(limit, MAX_NEARBY_ORIGINS)), destination, destinationScope, date,
+                searchContext);
+        searchContext.markHandlerCompleted();
+        return ResponseEntity.ok(routes);
+    }
+
+    // Only the strategy searches run against a scenario, so the others refuse it rather than ignore it
+    private static void rejectScenario(String scenario, String endpoint) {
+        if (scenario != null) {
+            throw new InvalidRouteException("scenario is not supported by " + endpoint);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.model.dto.CompactLocationDTO;
+import com.turkishairlines.routeplanning.model.dto.CompactTransportationDTO;
+import com.turkishairlines.routeplanning.model.dto.NormalizedRoutesDTO;
+import com.turkishairlines.routeplanning.service.NormalizedRouteService;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Normalized route search: locations and legs are sent once in dictionaries keyed by id.
+ * {@code fields[locations]} and {@code fields[transportations]} restrict the attributes
+ * written for each dictionary entry.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v2/routes")
+@RequiredArgsConstructor
+public class RouteV2Controller {
+
+    private static final String LOCATION_FIELDS_PARAM = "fields[locations]";
+    private static final String TRANSPORTATION_FIELDS_PARAM = "fields[transportations]";
+
+    private final NormalizedRouteService normalizedRouteService;
+
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> findValidRoutes(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(name = LOCATION_FIELDS_PARAM, required = false) List<String> locationFields,
+            @RequestParam(name = TRANSPORTATION_FIELDS_PARAM, required = false) List<String> transportationFields,
+            @RequestAttribute(name = RouteSearchContext.REQUEST_ATTRIBUTE, required = false)
+            RouteSearchContext context) {
+
+        // Validate before searching so a bad fieldset fails fast
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(CompactLocationDTO.FILTER,
+                        fieldFilter(LOCATION_FIELDS_PARAM, locationFields, CompactLocationDTO.FIELDS))
+                .addFilter(CompactTransportationDTO.FILTER,
+                        fieldFilter(TRANSPORTATION_FIELDS_PARAM, transportationFields,
+                                CompactTransportationDTO.FIELDS));
+
+        RouteSearchContext searchContext = context != null ? context : new RouteSearchContext();
+        NormalizedRoutesDTO routes = normalizedRouteService.findNormalizedRoutes(origin, destination, date,
+                searchContext);
+        searchContext.markHandlerCompleted();
+
+        MappingJacksonValue body = new MappingJacksonValue(routes);
+        body.setFilters(filters);
+        return ResponseEntity.ok(body);
+    }
+
+    private static SimpleBeanPropertyFilter fieldFilter(String parameter, List<String> requested,
+            Set<String> allowed) {
+        if (requested == null) {
+            return SimpleBeanPropertyFilter.serializeAll();
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : requested) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new InvalidRouteException("Unknown field '" + trimmed + "' in " + parameter
+                        + "; allowed fields are " + new TreeSet<>(allowed));
+            }
+            fields.add(trimmed);
+        }
+        return SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+    }
+}
@@ -0,0 +1,53 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.model.dto.ScenarioDTO;
+import com.turkishairlines.routeplanning.service.ScenarioService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/scenarios")
+@RequiredArgsConstructor
+public class ScenarioController {
+
+    private final ScenarioService scenarioService;
+
+    @GetMapping
+    public ResponseEntity<List<ScenarioDTO>> getAllScenarios() {
+        List<ScenarioDTO> scenarios = scenarioService.findAll();
+        return ResponseEntity.ok(scenarios);
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<ScenarioDTO> getScenarioByName(@PathVariable String name) {
+        ScenarioDTO scenario = scenarioService.findByName(name);
+        return ResponseEntity.ok(scenario);
+    }
+
+    @PostMapping
+    public ResponseEntity<ScenarioDTO> createScenario(@Valid @RequestBody ScenarioDTO scenarioDTO) {
+        ScenarioDTO createdScenario = scenarioService.create(scenarioDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdScenario);
+    }
+
+    @PutMapping("/{name}")
+    public ResponseEntity<ScenarioDTO> updateScenario(
+            @PathVariable String name,
+            @Valid @RequestBody ScenarioDTO scenarioDTO) {
+        ScenarioDTO updatedScenario = scenarioService.update(name, scenarioDTO);
+        return ResponseEntity.ok(updatedScenario);
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> deleteScenario(@PathVariable String name) {
+        scenarioService.delete(name);
+        return ResponseEntity.noContent().build();
+    }
+}
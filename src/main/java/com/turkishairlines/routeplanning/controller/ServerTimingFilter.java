@@ -0,0 +1,52 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Adds a {@code Server-Timing} header to route search responses. The body is
+ * buffered so the serialization phase can be measured before headers are sent.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final List<String> ROUTES_PATHS = List.of("/api/v1/routes", "/api/v2/routes");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return ROUTES_PATHS.stream().noneMatch(uri::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RouteSearchContext context = new RouteSearchContext();
+        request.setAttribute(RouteSearchContext.REQUEST_ATTRIBUTE, context);
+
+        long start = System.nanoTime();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            long end = System.nanoTime();
+            if (context.getHandlerCompletedAt() > 0) {
+                context.recordPhase(RouteSearchContext.PHASE_SERIALIZE, end - context.getHandlerCompletedAt());
+            }
+            context.recordPhase("total", end - start);
+            wrapper.setHeader("Server-Timing", context.toServerTimingHeader());
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
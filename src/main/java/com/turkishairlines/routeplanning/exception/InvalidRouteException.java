@@ -2,6 +2,7 @@ package com.turkishairlines.routeplanning.exception;
 
 public class InvalidRouteException extends RuntimeException {
     public InvalidRouteException(String message) {
-        super(message);
+        // Expected client errors: skip stack trace capture and suppression bookkeeping
+        super(message, null, false, false);
     }
 }
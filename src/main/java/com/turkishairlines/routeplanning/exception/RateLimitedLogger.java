@@ -0,0 +1,50 @@
+package com.turkishairlines.routeplanning.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most a fixed number of messages per time window and reports how
+ * many were dropped once the next window starts.
+ */
+class RateLimitedLogger {
+
+    private final Logger log;
+    private final int permitsPerWindow;
+    private final long windowNanos;
+
+    private final AtomicLong currentWindow = new AtomicLong();
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    RateLimitedLogger(Logger log, int permitsPerWindow, Duration window) {
+        this.log = log;
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    void warn(String format, Object... arguments) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+
+        long window = System.nanoTime() / windowNanos;
+        long previous = currentWindow.get();
+        if (window != previous && currentWindow.compareAndSet(previous, window)) {
+            used.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("Suppressed {} similar log messages", dropped);
+            }
+        }
+
+        if (used.incrementAndGet() <= permitsPerWindow) {
+            log.warn(format, arguments);
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+}
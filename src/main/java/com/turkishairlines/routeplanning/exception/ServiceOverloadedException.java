@@ -0,0 +1,17 @@
+package com.turkishairlines.routeplanning.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        // Shed load cheaply: skip stack trace capture and suppression bookkeeping
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
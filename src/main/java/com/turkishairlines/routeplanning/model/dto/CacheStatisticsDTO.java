@@ -0,0 +1,29 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+
+    private boolean statisticsEnabled;
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long secondLevelCachePuts;
+    private double secondLevelCacheHitRatio;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+    private double queryCacheHitRatio;
+    private long queryExecutions;
+    private long entityLoadsFromDatabase;
+    private long jdbcStatements;
+    private List<CacheRegionStatisticsDTO> regions;
+}
@@ -0,0 +1,30 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+// Keyed by id in NormalizedRoutesDTO.locations, so the id is not repeated here
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(CompactLocationDTO.FILTER)
+public class CompactLocationDTO {
+
+    public static final String FILTER = "locationFields";
+    public static final Set<String> FIELDS = Set.of("name", "country", "city", "locationCode", "latitude",
+            "longitude", "minTransferMinutes");
+
+    private String name;
+    private String country;
+    private String city;
+    private String locationCode;
+    private Double latitude;
+    private Double longitude;
+    private Integer minTransferMinutes;
+}
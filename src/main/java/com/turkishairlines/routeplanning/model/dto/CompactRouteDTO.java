@@ -0,0 +1,19 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactRouteDTO {
+
+    private Long originLocationId;
+    private Long destinationLocationId;
+    private List<Long> transportationIds;
+}
@@ -0,0 +1,39 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+// Keyed by id in NormalizedRoutesDTO.transportations, so the id is not repeated here
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(CompactTransportationDTO.FILTER)
+public class CompactTransportationDTO {
+
+    public static final String FILTER = "transportationFields";
+    public static final Set<String> FIELDS = Set.of(
+            "originLocationId", "destinationLocationId", "transportationType", "operatingDays", "durationMinutes",
+            "cost", "departureTime", "arrivalTime", "validFrom", "validTo", "exceptionDates");
+
+    private Long originLocationId;
+    private Long destinationLocationId;
+    private TransportationType transportationType;
+    private Integer[] operatingDays;
+    private Integer durationMinutes;
+    private BigDecimal cost;
+    private LocalTime departureTime;
+    private LocalTime arrivalTime;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private LocalDate[] exceptionDates;
+}
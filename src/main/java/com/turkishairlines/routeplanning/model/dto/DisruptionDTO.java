@@ -0,0 +1,45 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisruptionDTO {
+
+    private Long id;
+
+    private Long locationId;
+    private Long transportationId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Size(max = 255, message = "Reason must be at most 255 characters")
+    private String reason;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of location ID and transportation ID is required")
+    public boolean isSingleTarget() {
+        return (locationId == null) != (transportationId == null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Start date must not be after the end date")
+    public boolean isDateRangeOrdered() {
+        return startDate == null || endDate == null || !startDate.isAfter(endDate);
+    }
+}
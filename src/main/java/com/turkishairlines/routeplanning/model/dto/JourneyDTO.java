@@ -0,0 +1,23 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyDTO {
+
+    private LocationDTO originLocation;
+    private LocationDTO destinationLocation;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private long durationMinutes;
+    private List<JourneyLegDTO> legs;
+}
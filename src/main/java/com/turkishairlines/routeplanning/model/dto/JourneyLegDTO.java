@@ -0,0 +1,19 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyLegDTO {
+
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private TransportationDTO transportation;
+}
@@ -1,12 +1,18 @@
 package com.turkishairlines.routeplanning.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,4 +36,19 @@ public class LocationDTO {
     @NotBlank(message = "Location code is required")
     @Size(max = 16, message = "Location code must not exceed 16 characters")
     private String locationCode;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    @PositiveOrZero(message = "Minimum transfer time must not be negative")
+    private Integer minTransferMinutes;
+
+    // Version of the entity this was read from; keys the cached JSON fragment
+    @JsonIgnore
+    private Instant updatedAt;
 }
@@ -0,0 +1,25 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact route response: routes reference legs by id and legs reference locations
+ * by id, each location and leg appearing once in its dictionary.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedRoutesDTO {
+
+    private List<CompactRouteDTO> routes;
+    private int totalRoutes;
+    private Map<Long, CompactLocationDTO> locations;
+    private Map<Long, CompactTransportationDTO> transportations;
+}
@@ -0,0 +1,21 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParetoRouteDTO {
+
+    // Null when a leg of the route has no duration or cost recorded
+    private Integer totalDurationMinutes;
+    private BigDecimal totalCost;
+    private int avoidedTransportations;
+    private RouteDTO route;
+}
@@ -0,0 +1,22 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedRouteDTO {
+
+    private int rank;
+    private double score;
+    // Null when a leg of the route has no duration or cost recorded
+    private Integer totalDurationMinutes;
+    private BigDecimal totalCost;
+    private RouteDTO route;
+}
@@ -0,0 +1,23 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReachabilityDTO {
+
+    private LocationDTO location;
+    private ReachabilityDirection direction;
+    private LocalDate date;
+    private int totalLocations;
+    private List<ReachableLocationDTO> reachableLocations;
+}
@@ -0,0 +1,26 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoundTripDTO {
+
+    private List<RouteDTO> outboundRoutes;
+    private List<RouteDTO> returnRoutes;
+
+    // Every outbound route combines with every return route
+    private long totalPairs;
+
+    // Only set when pairing is requested; the pairs with the fewest legs first
+    private List<RoundTripPairDTO> pairs;
+}
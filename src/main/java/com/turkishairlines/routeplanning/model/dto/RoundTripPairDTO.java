@@ -0,0 +1,18 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundTripPairDTO {
+
+    // Indexes into RoundTripDTO.outboundRoutes and RoundTripDTO.returnRoutes
+    private int outboundIndex;
+    private int returnIndex;
+    private int totalTransportations;
+}
@@ -0,0 +1,25 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RouteAvailabilityDTO {
+
+    private String originLocationCode;
+    private String destinationLocationCode;
+    private LocalDate date;
+    private boolean available;
+
+    // Only set by the count query; the existence query stops at the first route
+    private Long totalRoutes;
+}
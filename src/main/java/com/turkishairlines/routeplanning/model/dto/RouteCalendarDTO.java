@@ -0,0 +1,24 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteCalendarDTO {
+
+    private String originLocationCode;
+    private String destinationLocationCode;
+    private LocalDate from;
+    private LocalDate to;
+
+    // Only the days on which at least one valid route runs
+    private List<RouteCalendarDayDTO> availableDays;
+}
@@ -0,0 +1,23 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteExplainDTO {
+
+    private List<RouteDTO> routes;
+    private int totalRoutes;
+
+    // Phase durations in milliseconds; serialization is only reported in the Server-Timing header
+    private Map<String, Double> phases;
+    private List<StrategyStatsDTO> strategies;
+}
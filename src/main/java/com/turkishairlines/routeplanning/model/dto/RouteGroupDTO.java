@@ -0,0 +1,28 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One flight with every ground leg that can reach its departure airport from the origin
+ * and every ground leg that can leave its arrival airport for the destination. It stands
+ * for each combination of one access leg, the flight and one egress leg; an empty list
+ * means the flight itself starts at the origin or ends at the destination.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteGroupDTO {
+
+    private LocationDTO originLocation;
+    private LocationDTO destinationLocation;
+    private TransportationDTO flight;
+    private List<TransportationDTO> accessLegs;
+    private List<TransportationDTO> egressLegs;
+    private int totalRoutes;
+}
@@ -0,0 +1,21 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteGroupsDTO {
+
+    private List<RouteGroupDTO> groups;
+    private int totalGroups;
+
+    // Number of routes the groups expand to
+    private int totalRoutes;
+}
@@ -0,0 +1,55 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioDTO {
+
+    @NotBlank(message = "Scenario name is required")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}",
+            message = "Scenario name must be 1 to 64 letters, digits, dashes or underscores")
+    private String name;
+
+    @Size(max = 255, message = "Description must be at most 255 characters")
+    private String description;
+
+    // Added legs are given negative ids, so they never clash with live ones
+    @Valid
+    private List<TransportationDTO> addedTransportations;
+
+    private Set<Long> removedTransportationIds;
+
+    // Replace the live legs with the same ids
+    @Valid
+    private List<TransportationDTO> modifiedTransportations;
+
+    @JsonIgnore
+    @AssertTrue(message = "Modified transportations must have an ID")
+    public boolean isModifiedIdentified() {
+        return modifiedTransportations == null
+                || modifiedTransportations.stream().allMatch(transportation -> transportation.getId() != null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "A transportation cannot be both removed and modified")
+    public boolean isRemovedDisjointFromModified() {
+        return removedTransportationIds == null || modifiedTransportations == null
+                || modifiedTransportations.stream().noneMatch(transportation ->
+                        removedTransportationIds.contains(transportation.getId()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.turkishairlines.routeplanning.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrategyStatsDTO {
+
+    private String strategy;
+    private int queriesIssued;
+    private long rowsFetched;
+    private long prunedByDate;
+    private long prunedByRules;
+    private long prunedAsDuplicate;
+    private long prunedAsDominated;
+    private long routesEmitted;
+    private double fetchMillis;
+    private double combineMillis;
+}
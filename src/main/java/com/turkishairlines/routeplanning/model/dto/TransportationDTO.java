@@ -1,12 +1,21 @@
 package com.turkishairlines.routeplanning.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,7 +35,36 @@ public class TransportationDTO {
 
     private Integer[] operatingDays;
 
+    @Positive(message = "Duration must be a positive number of minutes")
+    private Integer durationMinutes;
+
+    @DecimalMin(value = "0.0", message = "Cost must not be negative")
+    private BigDecimal cost;
+
+    private LocalTime departureTime;
+    private LocalTime arrivalTime;
+
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private LocalDate[] exceptionDates;
+
     // For response purposes
     private LocationDTO originLocation;
     private LocationDTO destinationLocation;
+
+    // Version of the entity this was read from; keys the cached JSON fragment
+    @JsonIgnore
+    private Instant updatedAt;
+
+    @JsonIgnore
+    @AssertTrue(message = "Departure and arrival times must be given together")
+    public boolean isScheduleComplete() {
+        return (departureTime == null) == (arrivalTime == null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Valid-from date must not be after the valid-to date")
+    public boolean isValidityRangeOrdered() {
+        return validFrom == null || validTo == null || !validFrom.isAfter(validTo);
+    }
 }
@@ -0,0 +1,46 @@
+package com.turkishairlines.routeplanning.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDate;
+
+// A temporary closure of a location or a single transportation; route searches apply it without editing the legs
+@Entity
+@Table(name = "disruptions")
+@SQLDelete(sql = "UPDATE disruptions SET deleted_at = now() WHERE id = ?")
+@SQLRestriction("deleted_at IS NULL")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldNameConstants
+public class Disruption extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id", foreignKey = @ForeignKey(name = "fk_disruptions_location"))
+    private Location location;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transportation_id", foreignKey = @ForeignKey(name = "fk_disruptions_transportation"))
+    private Transportation transportation;
+
+    // Inclusive date range of the closure
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Size(max = 255)
+    @Column(name = "reason")
+    private String reason;
+}
@@ -1,15 +1,22 @@
 package com.turkishairlines.routeplanning.model.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Entity
 @Table(name = "locations", uniqueConstraints = @UniqueConstraint(name = "uk_locations_location_code", columnNames = "location_code"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE locations SET deleted_at = now() WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
@@ -39,4 +46,17 @@ public class Location extends BaseEntity {
     @Size(max = 16)
     @Column(name = "location_code", nullable = false, length = 16)
     private String locationCode;
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    // Minimum time needed to change between legs here; timetable searches fall back to a default
+    @PositiveOrZero
+    @Column(name = "min_transfer_minutes")
+    private Integer minTransferMinutes;
 }
@@ -2,14 +2,24 @@ package com.turkishairlines.routeplanning.model.entity;
 
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Entity
 @Table(name = "transportations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE transportations SET deleted_at = now() WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
@@ -37,4 +47,30 @@ public class Transportation extends BaseEntity {
 
     @Column(name = "operating_days", columnDefinition = "integer[]")
     private Integer[] operatingDays;
+
+    @Positive
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @DecimalMin("0.0")
+    @Column(name = "cost", precision = 12, scale = 2)
+    private BigDecimal cost;
+
+    // Scheduled local times; an arrival before the departure falls on the next day
+    @Column(name = "departure_time")
+    private LocalTime departureTime;
+
+    @Column(name = "arrival_time")
+    private LocalTime arrivalTime;
+
+    // Inclusive validity range, open-ended when unset; the leg does not run on the exception dates
+    @Column(name = "valid_from")
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to")
+    private LocalDate validTo;
+
+    // Kept sorted, so route searches look a date up with a binary search
+    @Column(name = "exception_dates", columnDefinition = "date[]")
+    private LocalDate[] exceptionDates;
 }
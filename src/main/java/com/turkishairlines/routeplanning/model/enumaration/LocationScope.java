@@ -0,0 +1,6 @@
+package com.turkishairlines.routeplanning.model.enumaration;
+
+// How a route search endpoint is matched: one location code, or every location in a city or country
+public enum LocationScope {
+    LOCATION, CITY, COUNTRY
+}
@@ -0,0 +1,6 @@
+package com.turkishairlines.routeplanning.model.enumaration;
+
+// FORWARD finds where a location can reach, BACKWARD finds which locations can reach it
+public enum ReachabilityDirection {
+    FORWARD, BACKWARD
+}
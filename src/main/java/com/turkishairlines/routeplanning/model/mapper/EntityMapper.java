@@ -0,0 +1,80 @@
+package com.turkishairlines.routeplanning.model.mapper;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+
+import java.util.List;
+
+/**
+ * The one entity to DTO conversion for locations and legs. Their serialized JSON is cached
+ * by id and {@code updated_at}, which is only sound while every endpoint renders the same
+ * fields for the same version, so nothing builds these DTOs from entities elsewhere.
+ */
+public final class EntityMapper {
+
+    private EntityMapper() {
+    }
+
+    public static LocationDTO toDTO(Location location) {
+        return LocationDTO.builder()
+                .id(location.getId())
+                .name(location.getName())
+                .country(location.getCountry())
+                .city(location.getCity())
+                .locationCode(location.getLocationCode())
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .minTransferMinutes(location.getMinTransferMinutes())
+                .updatedAt(location.getUpdatedAt())
+                .build();
+    }
+
+    public static TransportationDTO toDTO(Transportation transportation) {
+        return TransportationDTO.builder()
+                .id(transportation.getId())
+                .originLocationId(transportation.getOriginLocation().getId())
+                .destinationLocationId(transportation.getDestinationLocation().getId())
+                .transportationType(transportation.getTransportationType())
+                .operatingDays(transportation.getOperatingDays())
+                .durationMinutes(transportation.getDurationMinutes())
+                .cost(transportation.getCost())
+                .departureTime(transportation.getDepartureTime())
+                .arrivalTime(transportation.getArrivalTime())
+                .validFrom(transportation.getValidFrom())
+                .validTo(transportation.getValidTo())
+                .exceptionDates(transportation.getExceptionDates())
+                .originLocation(toDTO(transportation.getOriginLocation()))
+                .destinationLocation(toDTO(transportation.getDestinationLocation()))
+                .updatedAt(transportation.getUpdatedAt())
+                .build();
+    }
+
+    public static RouteDTO toRouteDTO(LocationDTO origin, LocationDTO destination,
+            List<Transportation> transportations) {
+        return RouteDTO.builder()
+                .originLocation(origin)
+                .destinationLocation(destination)
+                .transportations(transportations.stream().map(EntityMapper::toDTO).toList())
+                .totalTransportations(transportations.size())
+                .build();
+    }
+
+    // Detached instance carrying the id; repository queries only bind its identifier
+    public static Location toEntity(LocationDTO locationDTO) {
+        Location location = Location.builder()
+                .name(locationDTO.getName())
+                .country(locationDTO.getCountry())
+                .city(locationDTO.getCity())
+                .locationCode(locationDTO.getLocationCode())
+                .latitude(locationDTO.getLatitude())
+                .longitude(locationDTO.getLongitude())
+                .minTransferMinutes(locationDTO.getMinTransferMinutes())
+                .build();
+        location.setId(locationDTO.getId());
+        location.setUpdatedAt(locationDTO.getUpdatedAt());
+        return location;
+    }
+}
@@ -0,0 +1,30 @@
+package com.turkishairlines.routeplanning.repository;
+
+import com.turkishairlines.routeplanning.model.entity.Disruption;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DisruptionRepository extends JpaRepository<Disruption, Long> {
+
+    @EntityGraph(attributePaths = {Disruption.Fields.location, Disruption.Fields.transportation})
+    List<Disruption> findAllByOrderByStartDateAscIdAsc();
+
+    @EntityGraph(attributePaths = {Disruption.Fields.location, Disruption.Fields.transportation})
+    @Query("SELECT d FROM Disruption d WHERE d.startDate <= :date AND d.endDate >= :date "
+            + "ORDER BY d.startDate, d.id")
+    List<Disruption> findActiveOn(@Param("date") LocalDate date);
+
+    // Closed locations and legs that were deleted since are left out, as searches never meet them
+    @Query("SELECT new com.turkishairlines.routeplanning.repository.DisruptionWindow("
+            + "d.id, l.id, t.id, d.startDate, d.endDate) "
+            + "FROM Disruption d LEFT JOIN d.location l LEFT JOIN d.transportation t "
+            + "WHERE l.id IS NOT NULL OR t.id IS NOT NULL")
+    List<DisruptionWindow> findAllWindows();
+}
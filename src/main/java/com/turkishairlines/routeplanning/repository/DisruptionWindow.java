@@ -0,0 +1,12 @@
+package com.turkishairlines.routeplanning.repository;
+
+import java.time.LocalDate;
+
+// What a disruption closes and when; exactly one of the location and transportation ids is set
+public record DisruptionWindow(Long id, Long locationId, Long transportationId, LocalDate startDate,
+        LocalDate endDate) {
+
+    public boolean isActiveOn(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
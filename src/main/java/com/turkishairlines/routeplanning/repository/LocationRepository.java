@@ -6,6 +6,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +17,19 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     Optional<Location> findByLocationCode(String locationCode);
 
     boolean existsByLocationCode(String locationCode);
+
+    List<Location> findByCityIgnoreCaseOrderByLocationCode(String city);
+
+    List<Location> findByCountryIgnoreCaseOrderByLocationCode(String country);
+
+    @Query("SELECT new com.turkishairlines.routeplanning.repository.LocationTransferTime(l.id, l.minTransferMinutes) " +
+            "FROM Location l WHERE l.minTransferMinutes IS NOT NULL")
+    List<LocationTransferTime> findAllTransferTimes();
+
+    // Latest write to any location, soft deletes included
+    @Query(value = "SELECT max(greatest(updated_at, deleted_at)) FROM locations", nativeQuery = true)
+    Instant findLastChangedAt();
+
+    // Codes are stored normalized, so this is served by the unique index on location_code
+    List<Location> findByLocationCodeIn(Collection<String> locationCodes);
 }
@@ -0,0 +1,4 @@
+package com.turkishairlines.routeplanning.repository;
+
+public record LocationTransferTime(Long locationId, Integer minTransferMinutes) {
+}
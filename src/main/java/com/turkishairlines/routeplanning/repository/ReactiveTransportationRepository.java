@@ -0,0 +1,170 @@
+package com.turkishairlines.routeplanning.repository;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Non-blocking counterpart of the route search queries in {@link TransportationRepository}
+ * over the same schema, used by the reactive route endpoint. Soft-deleted rows are
+ * filtered here explicitly since Hibernate's {@code @SQLRestriction} does not apply.
+ * Given a date, legs closed by a disruption on it are left out in SQL, the same legs
+ * the servlet searches drop through their disruption closures.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransportationRepository {
+
+    private static final String SELECT_TRANSPORTATIONS = """
+            SELECT t.id, t.transportation_type, t.operating_days, t.duration_minutes, t.cost,
+                   t.departure_time, t.arrival_time, t.valid_from, t.valid_to, t.exception_dates, t.updated_at,
+                   o.id AS o_id, o.name AS o_name, o.country AS o_country, o.city AS o_city,
+                   o.location_code AS o_code, o.latitude AS o_latitude, o.longitude AS o_longitude,
+                   o.min_transfer_minutes AS o_min_transfer_minutes,
+                   o.updated_at AS o_updated_at,
+                   d.id AS d_id, d.name AS d_name, d.country AS d_country, d.city AS d_city,
+                   d.location_code AS d_code, d.latitude AS d_latitude, d.longitude AS d_longitude,
+                   d.min_transfer_minutes AS d_min_transfer_minutes,
+                   d.updated_at AS d_updated_at
+            FROM transportations t
+            JOIN locations o ON o.id = t.origin_location_id AND o.deleted_at IS NULL
+            JOIN locations d ON d.id = t.destination_location_id AND d.deleted_at IS NULL
+            WHERE t.deleted_at IS NULL
+            """;
+
+    private static final String NOT_DISRUPTED = """
+            AND NOT EXISTS (
+                SELECT 1 FROM disruptions x
+                WHERE x.deleted_at IS NULL AND x.start_date <= :date AND x.end_date >= :date
+                  AND (x.transportation_id = t.id
+                       OR x.location_id IN (t.origin_location_id, t.destination_location_id)))
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<LocationDTO> findLocationByCode(String locationCode) {
+        return databaseClient.sql("""
+                        SELECT id, name, country, city, location_code, latitude, longitude, min_transfer_minutes,
+                               updated_at
+                        FROM locations
+                        WHERE location_code = :code AND deleted_at IS NULL
+                        """)
+                .bind("code", locationCode.trim().toUpperCase(Locale.ROOT))
+                .map(row -> EntityMapper.toDTO(location(row, "")))
+                .one();
+    }
+
+    public Flux<TransportationDTO> findByOriginAndDestination(Long originId, Long destinationId, LocalDate date) {
+        return query("AND t.origin_location_id = :origin AND t.destination_location_id = :destination", date)
+                .bind("origin", originId)
+                .bind("destination", destinationId)
+                .map(this::transportation)
+                .all();
+    }
+
+    public Flux<TransportationDTO> findByOrigin(Long originId, LocalDate date) {
+        return query("AND t.origin_location_id = :origin", date)
+                .bind("origin", originId)
+                .map(this::transportation)
+                .all();
+    }
+
+    public Flux<TransportationDTO> findByDestination(Long destinationId, LocalDate date) {
+        return query("AND t.destination_location_id = :destination", date)
+                .bind("destination", destinationId)
+                .map(this::transportation)
+                .all();
+    }
+
+    public Flux<TransportationDTO> findByOriginAndTypeNot(Long originId, TransportationType type, LocalDate date) {
+        return query("AND t.origin_location_id = :origin AND t.transportation_type <> :type", date)
+                .bind("origin", originId)
+                .bind("type", type.name())
+                .map(this::transportation)
+                .all();
+    }
+
+    public Flux<TransportationDTO> findByDestinationAndTypeNot(Long destinationId, TransportationType type,
+            LocalDate date) {
+        return query("AND t.destination_location_id = :destination AND t.transportation_type <> :type", date)
+                .bind("destination", destinationId)
+                .bind("type", type.name())
+                .map(this::transportation)
+                .all();
+    }
+
+    public Flux<TransportationDTO> findByTypeAndOriginInAndDestinationIn(TransportationType type,
+            Collection<Long> originIds, Collection<Long> destinationIds, LocalDate date) {
+        return query("""
+                        AND t.transportation_type = :type
+                        AND t.origin_location_id = ANY(:origins)
+                        AND t.destination_location_id = ANY(:destinations)
+                        """, date)
+                .bind("type", type.name())
+                .bind("origins", originIds.toArray(Long[]::new))
+                .bind("destinations", destinationIds.toArray(Long[]::new))
+                .map(this::transportation)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String condition, LocalDate date) {
+        if (date == null) {
+            return databaseClient.sql(SELECT_TRANSPORTATIONS + condition + " ORDER BY t.id");
+        }
+        return databaseClient.sql(SELECT_TRANSPORTATIONS + condition + " " + NOT_DISRUPTED + " ORDER BY t.id")
+                .bind("date", date);
+    }
+
+    // Rows become detached entities so the DTOs come from the same mapper as the servlet endpoints
+    private TransportationDTO transportation(Readable row) {
+        Transportation transportation = Transportation.builder()
+                .originLocation(location(row, "o_"))
+                .destinationLocation(location(row, "d_"))
+                .transportationType(TransportationType.valueOf(row.get("transportation_type", String.class)))
+                .operatingDays(row.get("operating_days", Integer[].class))
+                .durationMinutes(row.get("duration_minutes", Integer.class))
+                .cost(row.get("cost", BigDecimal.class))
+                .departureTime(row.get("departure_time", LocalTime.class))
+                .arrivalTime(row.get("arrival_time", LocalTime.class))
+                .validFrom(row.get("valid_from", LocalDate.class))
+                .validTo(row.get("valid_to", LocalDate.class))
+                .exceptionDates(row.get("exception_dates", LocalDate[].class))
+                .build();
+        transportation.setId(row.get("id", Long.class));
+        transportation.setUpdatedAt(row.get("updated_at", Instant.class));
+        return EntityMapper.toDTO(transportation);
+    }
+
+    private Location location(Readable row, String prefix) {
+        Location location = Location.builder()
+                .name(row.get(prefix + "name", String.class))
+                .country(row.get(prefix + "country", String.class))
+                .city(row.get(prefix + "city", String.class))
+                .locationCode(row.get(prefix.isEmpty() ? "location_code" : prefix + "code", String.class))
+                .latitude(row.get(prefix + "latitude", Double.class))
+                .longitude(row.get(prefix + "longitude", Double.class))
+                .minTransferMinutes(row.get(prefix + "min_transfer_minutes", Integer.class))
+                .build();
+        location.setId(row.get(prefix + "id", Long.class));
+        location.setUpdatedAt(row.get(prefix + "updated_at", Instant.class));
+        return location;
+    }
+}
@@ -0,0 +1,12 @@
+package com.turkishairlines.routeplanning.repository;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// A transportation with a scheduled departure and arrival, as loaded into the timetable
+public record TimetableLeg(Long id, Long originLocationId, Long destinationLocationId,
+        TransportationType transportationType, Integer[] operatingDays, LocalTime departureTime,
+        LocalTime arrivalTime, LocalDate validFrom, LocalDate validTo, LocalDate[] exceptionDates) {
+}
@@ -0,0 +1,8 @@
+package com.turkishairlines.routeplanning.repository;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+
+// Endpoint ids and schedule of an active transportation, without loading the entity graph
+public record TransportationLeg(Long id, Long originLocationId, Long destinationLocationId,
+        TransportationType transportationType, Integer[] operatingDays) {
+}
@@ -3,37 +3,136 @@ package com.turkishairlines.routeplanning.repository;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TransportationRepository extends JpaRepository<Transportation, Long> {
 
+        // Route search queries go through the query cache; results are invalidated whenever the table changes
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByOriginLocationAndTransportationTypeNot(
                         Location origin, TransportationType type);
 
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByDestinationLocationAndTransportationTypeNot(
                         Location destination, TransportationType type);
 
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
                         TransportationType type,
                         Collection<Location> origins,
                         Collection<Location> destinations);
 
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByOriginLocation(Location originLocation);
 
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByDestinationLocation(Location destinationLocation);
 
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        List<Transportation> findByOriginLocationIn(Collection<Location> originLocations);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        List<Transportation> findByDestinationLocationIn(Collection<Location> destinationLocations);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         List<Transportation> findByOriginLocationAndDestinationLocation(Location originLocation,
                         Location destinationLocation);
 
+        // Id sets come from the hub index and rarely repeat, so they are kept out of the query cache
+        List<Transportation> findByIdIn(Collection<Long> ids);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        List<Transportation> findByTransportationTypeAndOriginLocationIdInAndDestinationLocationIdIn(
+                        TransportationType type, Collection<Long> originLocationIds,
+                        Collection<Long> destinationLocationIds);
+
+        // Legs valid on the date and without an exception on it; operating days are left to the caller
+        String VALID_ON = " AND (t.validFrom IS NULL OR t.validFrom <= :date)"
+                        + " AND (t.validTo IS NULL OR t.validTo >= :date)"
+                        + " AND coalesce(array_position(t.exceptionDates, :date), 0) = 0";
+
+        // Date-specific variants of the route search queries; the query cache keys them per date
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.originLocation = :origin "
+                        + "AND t.destinationLocation = :destination" + VALID_ON)
+        List<Transportation> findValidByOriginLocationAndDestinationLocation(@Param("origin") Location origin,
+                        @Param("destination") Location destination, @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.originLocation = :origin" + VALID_ON)
+        List<Transportation> findValidByOriginLocation(@Param("origin") Location origin,
+                        @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.destinationLocation = :destination" + VALID_ON)
+        List<Transportation> findValidByDestinationLocation(@Param("destination") Location destination,
+                        @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.originLocation = :origin "
+                        + "AND t.transportationType <> :type" + VALID_ON)
+        List<Transportation> findValidByOriginLocationAndTransportationTypeNot(@Param("origin") Location origin,
+                        @Param("type") TransportationType type, @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.destinationLocation = :destination "
+                        + "AND t.transportationType <> :type" + VALID_ON)
+        List<Transportation> findValidByDestinationLocationAndTransportationTypeNot(
+                        @Param("destination") Location destination, @Param("type") TransportationType type,
+                        @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.transportationType = :type "
+                        + "AND t.originLocation IN :origins AND t.destinationLocation IN :destinations" + VALID_ON)
+        List<Transportation> findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                        @Param("type") TransportationType type, @Param("origins") Collection<Location> origins,
+                        @Param("destinations") Collection<Location> destinations, @Param("date") LocalDate date);
+
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+        @Query("SELECT t FROM Transportation t WHERE t.transportationType = :type "
+                        + "AND t.originLocation.id IN :origins "
+                        + "AND t.destinationLocation.id IN :destinations" + VALID_ON)
+        List<Transportation> findValidByTransportationTypeAndOriginLocationIdInAndDestinationLocationIdIn(
+                        @Param("type") TransportationType type, @Param("origins") Collection<Long> originLocationIds,
+                        @Param("destinations") Collection<Long> destinationLocationIds, @Param("date") LocalDate date);
+
+        // Latest write to any transportation, soft deletes included; moves whenever a leg is added, edited or removed
+        @Query(value = "SELECT max(greatest(updated_at, deleted_at)) FROM transportations", nativeQuery = true)
+        Instant findLastChangedAt();
+
+        @Query(value = "SELECT greatest(updated_at, deleted_at) FROM transportations WHERE id = :id",
+                        nativeQuery = true)
+        Instant findChangedAt(@Param("id") Long id);
+
+        @Query(value = "SELECT count(*) FROM transportations WHERE greatest(updated_at, deleted_at) > :since",
+                        nativeQuery = true)
+        long countChangedSince(@Param("since") Instant since);
+
+        @Query("SELECT new com.turkishairlines.routeplanning.repository.TransportationLeg(" +
+                        "t.id, t.originLocation.id, t.destinationLocation.id, t.transportationType, t.operatingDays) " +
+                        "FROM Transportation t")
+        List<TransportationLeg> findAllLegs();
+
+        @Query("SELECT new com.turkishairlines.routeplanning.repository.TimetableLeg(" +
+                        "t.id, t.originLocation.id, t.destinationLocation.id, t.transportationType, t.operatingDays, " +
+                        "t.departureTime, t.arrivalTime, t.validFrom, t.validTo, t.exceptionDates) " +
+                        "FROM Transportation t WHERE t.departureTime IS NOT NULL AND t.arrivalTime IS NOT NULL")
+        List<TimetableLeg> findAllTimetableLegs();
+
         @Query("SELECT t FROM Transportation t " +
                         "INNER JOIN t.originLocation ol " +
                         "INNER JOIN t.destinationLocation dl " +
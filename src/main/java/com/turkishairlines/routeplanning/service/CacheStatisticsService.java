@@ -0,0 +1,79 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.dto.CacheRegionStatisticsDTO;
+import com.turkishairlines.routeplanning.model.dto.CacheStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reports Hibernate second-level and query cache effectiveness so the reduction in
+ * database reads can be observed. Counters are cumulative since startup or the last reset.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsDTO getStatistics() {
+        Statistics statistics = statistics();
+
+        List<CacheRegionStatisticsDTO> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(this::convertRegionToDTO)
+                .toList();
+
+        return CacheStatisticsDTO.builder()
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .secondLevelCacheHits(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMisses(statistics.getSecondLevelCacheMissCount())
+                .secondLevelCachePuts(statistics.getSecondLevelCachePutCount())
+                .secondLevelCacheHitRatio(hitRatio(statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount()))
+                .queryCacheHits(statistics.getQueryCacheHitCount())
+                .queryCacheMisses(statistics.getQueryCacheMissCount())
+                .queryCachePuts(statistics.getQueryCachePutCount())
+                .queryCacheHitRatio(hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()))
+                .queryExecutions(statistics.getQueryExecutionCount())
+                .entityLoadsFromDatabase(statistics.getEntityLoadCount())
+                .jdbcStatements(statistics.getPrepareStatementCount())
+                .regions(regions)
+                .build();
+    }
+
+    public void reset() {
+        log.info("Resetting Hibernate cache statistics");
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private CacheRegionStatisticsDTO convertRegionToDTO(CacheRegionStatistics region) {
+        return CacheRegionStatisticsDTO.builder()
+                .region(region.getRegionName())
+                .hits(region.getHitCount())
+                .misses(region.getMissCount())
+                .puts(region.getPutCount())
+                .hitRatio(hitRatio(region.getHitCount(), region.getMissCount()))
+                .build();
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
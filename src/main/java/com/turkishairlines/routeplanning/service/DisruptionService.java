@@ -0,0 +1,100 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+import com.turkishairlines.routeplanning.model.entity.Disruption;
+import com.turkishairlines.routeplanning.repository.DisruptionRepository;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.event.DisruptionChangedEvent;
+import com.turkishairlines.routeplanning.service.event.DisruptionChangedEvent.ChangeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Closures of locations and legs for a date range. They are kept apart from the network:
+ * registering or lifting one never writes to the transportations, so the leg caches and
+ * indexes stay valid and route searches apply the closures on top of them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DisruptionService {
+
+    private final DisruptionRepository disruptionRepository;
+    private final LocationRepository locationRepository;
+    private final TransportationRepository transportationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<DisruptionDTO> findAll(LocalDate date) {
+        log.debug("Finding disruptions active on: {}", date);
+        List<Disruption> disruptions = date != null
+                ? disruptionRepository.findActiveOn(date)
+                : disruptionRepository.findAllByOrderByStartDateAscIdAsc();
+        return disruptions.stream().map(this::convertToDTO).toList();
+    }
+
+    public DisruptionDTO findById(Long id) {
+        log.debug("Finding disruption by id: {}", id);
+        Disruption disruption = disruptionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Disruption not found with id: " + id));
+        return convertToDTO(disruption);
+    }
+
+    @Transactional
+    public DisruptionDTO create(DisruptionDTO disruptionDTO) {
+        log.debug("Creating new disruption: {}", disruptionDTO);
+
+        Disruption.DisruptionBuilder builder = Disruption.builder()
+                .startDate(disruptionDTO.getStartDate())
+                .endDate(disruptionDTO.getEndDate())
+                .reason(disruptionDTO.getReason());
+        if (disruptionDTO.getLocationId() != null) {
+            builder.location(locationRepository.findById(disruptionDTO.getLocationId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Location not found with id: " + disruptionDTO.getLocationId())));
+        } else {
+            builder.transportation(transportationRepository.findById(disruptionDTO.getTransportationId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Transportation not found with id: " + disruptionDTO.getTransportationId())));
+        }
+
+        Disruption savedDisruption = disruptionRepository.save(builder.build());
+        log.info("Created disruption with id: {}", savedDisruption.getId());
+        DisruptionDTO savedDisruptionDTO = convertToDTO(savedDisruption);
+        eventPublisher.publishEvent(new DisruptionChangedEvent(ChangeType.CREATED, savedDisruptionDTO));
+        return savedDisruptionDTO;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        log.debug("Deleting disruption with id: {}", id);
+
+        Disruption disruption = disruptionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Disruption not found with id: " + id));
+
+        DisruptionDTO deletedDisruptionDTO = convertToDTO(disruption);
+        disruptionRepository.delete(disruption);
+        log.info("Soft deleted disruption with id: {}", id);
+        eventPublisher.publishEvent(new DisruptionChangedEvent(ChangeType.DELETED, deletedDisruptionDTO));
+    }
+
+    private DisruptionDTO convertToDTO(Disruption disruption) {
+        return DisruptionDTO.builder()
+                .id(disruption.getId())
+                .locationId(disruption.getLocation() != null ? disruption.getLocation().getId() : null)
+                .transportationId(disruption.getTransportation() != null
+                        ? disruption.getTransportation().getId() : null)
+                .startDate(disruption.getStartDate())
+                .endDate(disruption.getEndDate())
+                .reason(disruption.getReason())
+                .build();
+    }
+}
@@ -1,18 +1,27 @@
 package com.turkishairlines.routeplanning.service;
 
 import com.turkishairlines.routeplanning.exception.DuplicateResourceException;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
 import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
 import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.NearbyLocationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent.ChangeType;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import com.turkishairlines.routeplanning.service.index.LocationSearchIndex;
+import com.turkishairlines.routeplanning.service.index.LocationSpatialIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -21,30 +30,66 @@ import java.time.Instant;
 public class LocationService {
 
     private final LocationRepository locationRepository;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    private final LocationCodeIndex locationCodeIndex;
+    private final LocationSearchIndex locationSearchIndex;
+    private final LocationSpatialIndex locationSpatialIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<LocationDTO> findAll(Pageable pageable) {
         log.debug("Finding all locations with pagination: {}", pageable);
         return locationRepository.findAll(pageable)
-                .map(this::convertToDTO);
+                .map(EntityMapper::toDTO);
     }
 
     public LocationDTO findById(Long id) {
         log.debug("Finding location by id: {}", id);
         Location location = locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
-        return convertToDTO(location);
+        return EntityMapper.toDTO(location);
     }
 
     public LocationDTO findByLocationCode(String locationCode) {
         log.debug("Finding location by location code: {}", locationCode);
-        Location location = locationRepository.findByLocationCode(locationCode)
+        return locationCodeIndex.find(locationCode)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with code: " + locationCode));
-        return convertToDTO(location);
+    }
+
+    public List<LocationDTO> findByLocationCodes(List<String> locationCodes) {
+        log.debug("Finding locations by location codes: {}", locationCodes);
+        return locationCodeIndex.resolveAll(locationCodes).values().stream()
+                .distinct()
+                .toList();
+    }
+
+    public List<LocationDTO> search(String query, int limit) {
+        log.debug("Searching locations for '{}' with limit {}", query, limit);
+        return locationSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    public List<NearbyLocationDTO> findNearest(double latitude, double longitude, int limit, Double radiusKm) {
+        log.debug("Finding {} locations nearest to ({}, {}) within {} km", limit, latitude, longitude, radiusKm);
+        // Written so NaN fails every range check
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidRouteException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm != null && !(radiusKm > 0 && Double.isFinite(radiusKm))) {
+            throw new InvalidRouteException("Radius must be a positive number of kilometres");
+        }
+        return locationSpatialIndex.nearest(latitude, longitude, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS),
+                        radiusKm).stream()
+                .map(nearby -> NearbyLocationDTO.builder()
+                        .location(nearby.location())
+                        .distanceKm(nearby.distanceKm())
+                        .build())
+                .toList();
     }
 
     @Transactional
     public LocationDTO create(LocationDTO locationDTO) {
         log.debug("Creating new location: {}", locationDTO);
+        locationDTO.setLocationCode(LocationCodeIndex.normalize(locationDTO.getLocationCode()));
 
         if (locationRepository.existsByLocationCode(locationDTO.getLocationCode())) {
             throw new DuplicateResourceException(
@@ -54,8 +99,10 @@ public class LocationService {
         Location location = convertToEntity(locationDTO);
         Location savedLocation = locationRepository.save(location);
         log.info("Created location with id: {}", savedLocation.getId());
+        LocationDTO savedLocationDTO = EntityMapper.toDTO(savedLocation);
+        eventPublisher.publishEvent(new LocationChangedEvent(ChangeType.CREATED, null, savedLocationDTO));
 
-        return convertToDTO(savedLocation);
+        return savedLocationDTO;
     }
 
     @Transactional
@@ -64,6 +111,7 @@ public class LocationService {
 
         Location existingLocation = locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
+        locationDTO.setLocationCode(LocationCodeIndex.normalize(locationDTO.getLocationCode()));
 
         if (!existingLocation.getLocationCode().equals(locationDTO.getLocationCode()) &&
                 locationRepository.existsByLocationCode(locationDTO.getLocationCode())) {
@@ -71,15 +119,23 @@ public class LocationService {
                     "Location with code '" + locationDTO.getLocationCode() + "' already exists");
         }
 
+        String previousLocationCode = existingLocation.getLocationCode();
         existingLocation.setName(locationDTO.getName());
         existingLocation.setCountry(locationDTO.getCountry());
         existingLocation.setCity(locationDTO.getCity());
         existingLocation.setLocationCode(locationDTO.getLocationCode());
+        existingLocation.setLatitude(locationDTO.getLatitude());
+        existingLocation.setLongitude(locationDTO.getLongitude());
+        existingLocation.setMinTransferMinutes(locationDTO.getMinTransferMinutes());
 
-        Location updatedLocation = locationRepository.save(existingLocation);
+        // Flushing assigns the new updated_at before it is copied into the DTO
+        Location updatedLocation = locationRepository.saveAndFlush(existingLocation);
         log.info("Updated location with id: {}", updatedLocation.getId());
+        LocationDTO updatedLocationDTO = EntityMapper.toDTO(updatedLocation);
+        eventPublisher.publishEvent(new LocationChangedEvent(ChangeType.UPDATED, previousLocationCode,
+                updatedLocationDTO));
 
-        return convertToDTO(updatedLocation);
+        return updatedLocationDTO;
     }
 
     @Transactional
@@ -89,19 +145,11 @@ public class LocationService {
         Location location = locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
 
-        location.setDeletedAt(Instant.now());
-        locationRepository.save(location);
+        // Removing through the entity manager runs @SQLDelete and evicts the second-level cache entry
+        locationRepository.delete(location);
         log.info("Soft deleted location with id: {}", id);
-    }
-
-    private LocationDTO convertToDTO(Location location) {
-        return LocationDTO.builder()
-                .id(location.getId())
-                .name(location.getName())
-                .country(location.getCountry())
-                .city(location.getCity())
-                .locationCode(location.getLocationCode())
-                .build();
+        eventPublisher.publishEvent(new LocationChangedEvent(ChangeType.DELETED, location.getLocationCode(),
+                EntityMapper.toDTO(location)));
     }
 
     private Location convertToEntity(LocationDTO locationDTO) {
@@ -110,6 +158,9 @@ public class LocationService {
                 .country(locationDTO.getCountry())
                 .city(locationDTO.getCity())
                 .locationCode(locationDTO.getLocationCode())
+                .latitude(locationDTO.getLatitude())
+                .longitude(locationDTO.getLongitude())
+                .minTransferMinutes(locationDTO.getMinTransferMinutes())
                 .build();
     }
 }
@@ -0,0 +1,100 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.dto.CompactLocationDTO;
+import com.turkishairlines.routeplanning.model.dto.CompactRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.CompactTransportationDTO;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.NormalizedRoutesDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The valid routes with every location and leg listed once and referenced by id.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class NormalizedRouteService {
+
+    private final RouteService routeService;
+
+    public NormalizedRoutesDTO findNormalizedRoutes(String originLocationCode, String destinationLocationCode,
+            LocalDate date, RouteSearchContext context) {
+        List<RouteDTO> routes = routeService.findValidRoutes(originLocationCode, destinationLocationCode, date,
+                context);
+
+        Map<Long, CompactLocationDTO> locations = new LinkedHashMap<>();
+        Map<Long, CompactTransportationDTO> transportations = new LinkedHashMap<>();
+        List<CompactRouteDTO> compactRoutes = new ArrayList<>(routes.size());
+
+        for (RouteDTO route : routes) {
+            locations.computeIfAbsent(route.getOriginLocation().getId(),
+                    id -> convertToCompactDTO(route.getOriginLocation()));
+            locations.computeIfAbsent(route.getDestinationLocation().getId(),
+                    id -> convertToCompactDTO(route.getDestinationLocation()));
+
+            List<Long> transportationIds = new ArrayList<>(route.getTransportations().size());
+            for (TransportationDTO transportation : route.getTransportations()) {
+                transportationIds.add(transportation.getId());
+                if (!transportations.containsKey(transportation.getId())) {
+                    transportations.put(transportation.getId(), convertToCompactDTO(transportation));
+                    locations.computeIfAbsent(transportation.getOriginLocationId(),
+                            id -> convertToCompactDTO(transportation.getOriginLocation()));
+                    locations.computeIfAbsent(transportation.getDestinationLocationId(),
+                            id -> convertToCompactDTO(transportation.getDestinationLocation()));
+                }
+            }
+
+            compactRoutes.add(CompactRouteDTO.builder()
+                    .originLocationId(route.getOriginLocation().getId())
+                    .destinationLocationId(route.getDestinationLocation().getId())
+                    .transportationIds(transportationIds)
+                    .build());
+        }
+
+        return NormalizedRoutesDTO.builder()
+                .routes(compactRoutes)
+                .totalRoutes(compactRoutes.size())
+                .locations(locations)
+                .transportations(transportations)
+                .build();
+    }
+
+    private CompactLocationDTO convertToCompactDTO(LocationDTO location) {
+        return CompactLocationDTO.builder()
+                .name(location.getName())
+                .country(location.getCountry())
+                .city(location.getCity())
+                .locationCode(location.getLocationCode())
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .minTransferMinutes(location.getMinTransferMinutes())
+                .build();
+    }
+
+    private CompactTransportationDTO convertToCompactDTO(TransportationDTO transportation) {
+        return CompactTransportationDTO.builder()
+                .originLocationId(transportation.getOriginLocationId())
+                .destinationLocationId(transportation.getDestinationLocationId())
+                .transportationType(transportation.getTransportationType())
+                .operatingDays(transportation.getOperatingDays())
+                .durationMinutes(transportation.getDurationMinutes())
+                .cost(transportation.getCost())
+                .departureTime(transportation.getDepartureTime())
+                .arrivalTime(transportation.getArrivalTime())
+                .validFrom(transportation.getValidFrom())
+                .validTo(transportation.getValidTo())
+                .exceptionDates(transportation.getExceptionDates())
+                .build();
+    }
+}
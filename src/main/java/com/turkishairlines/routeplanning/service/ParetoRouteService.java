@@ -0,0 +1,71 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.ParetoRouteDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.service.strategy.ParetoRouteSearch;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import com.turkishairlines.routeplanning.service.strategy.StrategyStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ParetoRouteService {
+
+    private final RouteService routeService;
+    private final ParetoRouteSearch paretoRouteSearch;
+
+    /**
+     * Every route not beaten on all of leg count, duration, cost and avoided ground legs
+     * by another route, fewest legs first. Dominated partial routes are dropped while the
+     * search expands, so no other route is ever built.
+     */
+    public List<ParetoRouteDTO> findParetoRoutes(String originLocationCode, String destinationLocationCode,
+            LocalDate date, Set<TransportationType> avoidedTypes, RouteSearchContext context) {
+        log.debug("Finding Pareto-optimal routes from {} to {} on date {} avoiding {}", originLocationCode,
+                destinationLocationCode, date, avoidedTypes);
+        if (avoidedTypes.contains(TransportationType.FLIGHT)) {
+            throw new InvalidRouteException("Only ground transportation types can be avoided");
+        }
+
+        RouteService.Endpoints endpoints = routeService.resolveEndpoints(originLocationCode, destinationLocationCode,
+                context);
+        if (!routeService.mayHaveRoute(endpoints.origin(), endpoints.destination(), date, context)) {
+            return List.of();
+        }
+
+        StrategyStats stats = new StrategyStats(ParetoRouteSearch.class.getSimpleName());
+        long searchStart = System.nanoTime();
+        List<ParetoRouteSearch.ParetoRoute> frontier = paretoRouteSearch.search(endpoints.origin(),
+                endpoints.destination(), date, avoidedTypes, context.closuresOn(date), stats);
+        stats.addTotalNanos(System.nanoTime() - searchStart);
+        context.recordPhase(RouteSearchContext.PHASE_DB, stats.getFetchNanos());
+        context.recordPhase(RouteSearchContext.PHASE_COMBINE, stats.getCombineNanos());
+
+        LocationDTO origin = EntityMapper.toDTO(endpoints.origin());
+        LocationDTO destination = EntityMapper.toDTO(endpoints.destination());
+        List<ParetoRouteDTO> routes = frontier.stream()
+                .map(route -> ParetoRouteDTO.builder()
+                        .totalDurationMinutes(RouteTotals.totalDuration(route.transportations()))
+                        .totalCost(RouteTotals.totalCost(route.transportations()))
+                        .avoidedTransportations(route.avoidedTransportations())
+                        .route(EntityMapper.toRouteDTO(origin, destination, route.transportations()))
+                        .build())
+                .toList();
+
+        log.info("Found {} Pareto-optimal routes from {} to {}, {} partial routes dominated", routes.size(),
+                originLocationCode, destinationLocationCode, stats.getPrunedAsDominated());
+        return routes;
+    }
+}
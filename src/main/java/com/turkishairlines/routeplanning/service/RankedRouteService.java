@@ -0,0 +1,72 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RankedRouteDTO;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.service.strategy.RankedRouteSearch;
+import com.turkishairlines.routeplanning.service.strategy.RouteObjective;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import com.turkishairlines.routeplanning.service.strategy.StrategyStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RankedRouteService {
+
+    private final RouteService routeService;
+    private final RankedRouteSearch rankedRouteSearch;
+
+    /**
+     * The best routes by the weighted objective, best first. The search stops once the
+     * first {@code limit} routes are complete, so the remaining routes are never built.
+     */
+    public List<RankedRouteDTO> findRankedRoutes(String originLocationCode, String destinationLocationCode,
+            LocalDate date, int limit, RouteObjective objective, RouteSearchContext context) {
+        log.debug("Finding {} best routes from {} to {} on date {} by {}", limit, originLocationCode,
+                destinationLocationCode, date, objective);
+        if (!objective.isValid()) {
+            throw new InvalidRouteException("Objective weights must be non-negative numbers");
+        }
+
+        RouteService.Endpoints endpoints = routeService.resolveEndpoints(originLocationCode, destinationLocationCode,
+                context);
+        if (!routeService.mayHaveRoute(endpoints.origin(), endpoints.destination(), date, context)) {
+            return List.of();
+        }
+
+        StrategyStats stats = new StrategyStats(RankedRouteSearch.class.getSimpleName());
+        long searchStart = System.nanoTime();
+        List<RankedRouteSearch.RankedRoute> ranked = rankedRouteSearch.search(endpoints.origin(),
+                endpoints.destination(), date, limit, objective, context.closuresOn(date), stats);
+        stats.addTotalNanos(System.nanoTime() - searchStart);
+        context.recordPhase(RouteSearchContext.PHASE_DB, stats.getFetchNanos());
+        context.recordPhase(RouteSearchContext.PHASE_COMBINE, stats.getCombineNanos());
+
+        LocationDTO origin = EntityMapper.toDTO(endpoints.origin());
+        LocationDTO destination = EntityMapper.toDTO(endpoints.destination());
+        List<RankedRouteDTO> routes = new ArrayList<>(ranked.size());
+        for (RankedRouteSearch.RankedRoute route : ranked) {
+            routes.add(RankedRouteDTO.builder()
+                    .rank(routes.size() + 1)
+                    .score(route.score())
+                    .totalDurationMinutes(RouteTotals.totalDuration(route.transportations()))
+                    .totalCost(RouteTotals.totalCost(route.transportations()))
+                    .route(EntityMapper.toRouteDTO(origin, destination, route.transportations()))
+                    .build());
+        }
+
+        log.info("Found {} best routes from {} to {} in {} queries", routes.size(), originLocationCode,
+                destinationLocationCode, stats.getQueriesIssued());
+        return routes;
+    }
+}
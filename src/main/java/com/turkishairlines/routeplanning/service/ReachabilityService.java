@@ -0,0 +1,73 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.ReachabilityDTO;
+import com.turkishairlines.routeplanning.model.dto.ReachableLocationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import com.turkishairlines.routeplanning.service.strategy.ReachabilitySearch;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import com.turkishairlines.routeplanning.service.strategy.StrategyStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReachabilityService {
+
+    private final RouteService routeService;
+    private final LocationCodeIndex locationCodeIndex;
+    private final ReachabilitySearch reachabilitySearch;
+
+    /**
+     * Every location reachable from (FORWARD) or able to reach (BACKWARD) the given location
+     * on the date, with the fewest legs of any valid route, from one traversal of the network.
+     */
+    public ReachabilityDTO findReachableLocations(String locationCode, ReachabilityDirection direction,
+            LocalDate date, RouteSearchContext context) {
+        log.debug("Finding locations reachable {} from {} on date {}", direction, locationCode, date);
+
+        long lookupStart = System.nanoTime();
+        LocationDTO start = locationCodeIndex.find(locationCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found with code: " + locationCode));
+        context.recordPhase(RouteSearchContext.PHASE_LOOKUP, System.nanoTime() - lookupStart);
+        routeService.applyDisruptions(context);
+
+        StrategyStats stats = new StrategyStats(ReachabilitySearch.class.getSimpleName());
+        long searchStart = System.nanoTime();
+        List<ReachableLocationDTO> reachable = reachabilitySearch
+                .search(EntityMapper.toEntity(start), direction, date, context.closuresOn(date),
+                        context.getScenario(), stats)
+                .stream()
+                .map(reached -> ReachableLocationDTO.builder()
+                        .location(EntityMapper.toDTO(reached.location()))
+                        .minTransportations(reached.transportations())
+                        .build())
+                .sorted(Comparator.comparingInt(ReachableLocationDTO::getMinTransportations)
+                        .thenComparing(reached -> reached.getLocation().getLocationCode()))
+                .toList();
+        stats.addTotalNanos(System.nanoTime() - searchStart);
+        context.recordPhase(RouteSearchContext.PHASE_DB, stats.getFetchNanos());
+        context.recordPhase(RouteSearchContext.PHASE_COMBINE, stats.getCombineNanos());
+
+        log.info("Found {} locations reachable {} from {} in {} queries", reachable.size(), direction,
+                locationCode, stats.getQueriesIssued());
+        return ReachabilityDTO.builder()
+                .location(start)
+                .direction(direction)
+                .date(date)
+                .totalLocations(reachable.size())
+                .reachableLocations(reachable)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.ReactiveTransportationRepository;
+import com.turkishairlines.routeplanning.service.strategy.RouteRules;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reactive route search. The direct, two-step and three-step searches are subscribed to
+ * concurrently and their routes are emitted in that order as soon as each is available;
+ * downstream demand is propagated to the database cursors. Disruptions apply as in the
+ * servlet searches; scenarios are not supported, and locations are resolved straight from
+ * the database rather than through the code index and its caches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouteService {
+
+    private final ReactiveTransportationRepository transportationRepository;
+
+    public record RouteEndpoints(LocationDTO origin, LocationDTO destination) {
+    }
+
+    public Flux<RouteDTO> findValidRoutes(String originLocationCode, String destinationLocationCode,
+            LocalDate date) {
+        return resolveEndpoints(originLocationCode, destinationLocationCode)
+                .flatMapMany(endpoints -> findRoutes(endpoints, date));
+    }
+
+    public Mono<RouteEndpoints> resolveEndpoints(String originLocationCode, String destinationLocationCode) {
+        return Mono.zip(findLocation(originLocationCode, "Origin"), findLocation(destinationLocationCode, "Destination"))
+                .flatMap(locations -> locations.getT1().getId().equals(locations.getT2().getId())
+                        ? Mono.error(new InvalidRouteException("Origin and destination cannot be the same location"))
+                        : Mono.just(new RouteEndpoints(locations.getT1(), locations.getT2())));
+    }
+
+    public Flux<RouteDTO> findRoutes(RouteEndpoints endpoints, LocalDate date) {
+        log.debug("Finding reactive routes from {} to {} on date {}", endpoints.origin().getLocationCode(),
+                endpoints.destination().getLocationCode(), date);
+        return Flux.mergeSequential(
+                directRoutes(endpoints, date),
+                twoStepRoutes(endpoints, date),
+                threeStepRoutes(endpoints, date));
+    }
+
+    private Mono<LocationDTO> findLocation(String locationCode, String role) {
+        return transportationRepository.findLocationByCode(locationCode)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        role + " location not found with code: " + locationCode)));
+    }
+
+    private Flux<RouteDTO> directRoutes(RouteEndpoints endpoints, LocalDate date) {
+        return transportationRepository
+                .findByOriginAndDestination(endpoints.origin().getId(), endpoints.destination().getId(), date)
+                .filter(transportation -> operatesOn(transportation, date))
+                .filter(transportation -> transportation.getTransportationType() == TransportationType.FLIGHT)
+                .map(transportation -> route(endpoints, List.of(transportation)));
+    }
+
+    private Flux<RouteDTO> twoStepRoutes(RouteEndpoints endpoints, LocalDate date) {
+        Mono<List<TransportationDTO>> fromOrigin = transportationRepository
+                .findByOrigin(endpoints.origin().getId(), date)
+                .filter(transportation -> operatesOn(transportation, date))
+                .collectList();
+        Mono<Map<Long, Collection<TransportationDTO>>> intoDestinationByOrigin = transportationRepository
+                .findByDestination(endpoints.destination().getId(), date)
+                .filter(transportation -> operatesOn(transportation, date))
+                .collectMultimap(TransportationDTO::getOriginLocationId);
+
+        return Mono.zip(fromOrigin, intoDestinationByOrigin)
+                .flatMapIterable(legs -> legs.getT1().stream()
+                        .flatMap(first -> legs.getT2().getOrDefault(first.getDestinationLocationId(), List.of())
+                                .stream()
+                                .map(second -> List.of(first, second)))
+                        .filter(ReactiveRouteService::isValidRoute)
+                        .map(route -> route(endpoints, route))
+                        .toList());
+    }
+
+    private Flux<RouteDTO> threeStepRoutes(RouteEndpoints endpoints, LocalDate date) {
+        Mono<Map<Long, Collection<TransportationDTO>>> accessByHub = transportationRepository
+                .findByOriginAndTypeNot(endpoints.origin().getId(), TransportationType.FLIGHT, date)
+                .filter(transportation -> operatesOn(transportation, date))
+                .collectMultimap(TransportationDTO::getDestinationLocationId);
+        Mono<Map<Long, Collection<TransportationDTO>>> egressByHub = transportationRepository
+                .findByDestinationAndTypeNot(endpoints.destination().getId(), TransportationType.FLIGHT, date)
+                .filter(transportation -> operatesOn(transportation, date))
+                .collectMultimap(TransportationDTO::getOriginLocationId);
+
+        return Mono.zip(accessByHub, egressByHub)
+                .filter(hubs -> !hubs.getT1().isEmpty() && !hubs.getT2().isEmpty())
+                .flatMapMany(hubs -> transportationRepository
+                        .findByTypeAndOriginInAndDestinationIn(TransportationType.FLIGHT,
+                                Set.copyOf(hubs.getT1().keySet()), Set.copyOf(hubs.getT2().keySet()), date)
+                        .filter(flight -> operatesOn(flight, date))
+                        .concatMapIterable(flight -> hubs.getT1().get(flight.getOriginLocationId()).stream()
+                                .flatMap(access -> hubs.getT2().get(flight.getDestinationLocationId()).stream()
+                                        .map(egress -> List.of(access, flight, egress)))
+                                .filter(ReactiveRouteService::isValidRoute)
+                                .map(route -> route(endpoints, route))
+                                .toList()));
+    }
+
+    private static boolean operatesOn(TransportationDTO transportation, LocalDate date) {
+        return RouteRules.operatesOn(transportation.getOperatingDays(), transportation.getValidFrom(),
+                transportation.getValidTo(), transportation.getExceptionDates(), date);
+    }
+
+    private static boolean isValidRoute(List<TransportationDTO> legs) {
+        return RouteRules.isValidSequence(legs.stream().map(TransportationDTO::getTransportationType).toList());
+    }
+
+    private static RouteDTO route(RouteEndpoints endpoints, List<TransportationDTO> legs) {
+        return RouteDTO.builder()
+                .originLocation(endpoints.origin())
+                .destinationLocation(endpoints.destination())
+                .transportations(legs)
+                .totalTransportations(legs.size())
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.dto.RoundTripDTO;
+import com.turkishairlines.routeplanning.model.dto.RoundTripPairDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.strategy.FrontierLegSource;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RoundTripService {
+
+    private final RouteService routeService;
+    private final TransportationRepository transportationRepository;
+
+    /**
+     * Outbound and return searches in one go. Both directions touch the same two endpoints,
+     * so their frontiers are loaded once and shared, together with the flights around them.
+     */
+    public RoundTripDTO findRoundTrip(String originLocationCode, String destinationLocationCode,
+            LocalDate departureDate, LocalDate returnDate, boolean pair, int pairLimit, RouteSearchContext context) {
+        log.debug("Finding round trip {} <-> {} on {} / {}", originLocationCode, destinationLocationCode,
+                departureDate, returnDate);
+
+        RouteService.Endpoints endpoints = routeService.resolveEndpoints(originLocationCode, destinationLocationCode,
+                context);
+
+        long preloadStart = System.nanoTime();
+        FrontierLegSource frontier = new FrontierLegSource(transportationRepository);
+        frontier.preload(List.of(endpoints.origin(), endpoints.destination()));
+        context.setLegSource(frontier);
+        context.recordPhase(RouteSearchContext.PHASE_DB, System.nanoTime() - preloadStart);
+
+        List<RouteDTO> outboundRoutes = routeService.runStrategies(endpoints.origin(), endpoints.destination(),
+                departureDate, context);
+        List<RouteDTO> returnRoutes = routeService.runStrategies(endpoints.destination(), endpoints.origin(),
+                returnDate, context);
+        context.completeStrategies();
+
+        log.info("Found {} outbound and {} return routes between {} and {} in {} queries", outboundRoutes.size(),
+                returnRoutes.size(), originLocationCode, destinationLocationCode, frontier.getQueriesIssued());
+        return RoundTripDTO.builder()
+                .outboundRoutes(outboundRoutes)
+                .returnRoutes(returnRoutes)
+                .totalPairs((long) outboundRoutes.size() * returnRoutes.size())
+                .pairs(pair ? pairRoutes(outboundRoutes, returnRoutes, pairLimit) : null)
+                .build();
+    }
+
+    // Pairs with the fewest legs overall; ties keep outbound then return order
+    private static List<RoundTripPairDTO> pairRoutes(List<RouteDTO> outboundRoutes, List<RouteDTO> returnRoutes,
+            int pairLimit) {
+        List<Integer> outboundOrder = orderByLegs(outboundRoutes);
+        List<Integer> returnOrder = orderByLegs(returnRoutes);
+
+        // Best-first merge over the two sorted lists instead of sorting the full cross product
+        PriorityQueue<int[]> frontier = new PriorityQueue<>(Comparator
+                .<int[]>comparingInt(cell -> totalLegs(outboundRoutes, returnRoutes, outboundOrder.get(cell[0]),
+                        returnOrder.get(cell[1])))
+                .thenComparingInt(cell -> outboundOrder.get(cell[0]))
+                .thenComparingInt(cell -> returnOrder.get(cell[1])));
+        Set<Long> seen = new HashSet<>();
+        List<RoundTripPairDTO> pairs = new ArrayList<>();
+        if (!outboundRoutes.isEmpty() && !returnRoutes.isEmpty()) {
+            frontier.add(new int[] {0, 0});
+            seen.add(0L);
+        }
+        while (!frontier.isEmpty() && pairs.size() < pairLimit) {
+            int[] cell = frontier.poll();
+            int outboundIndex = outboundOrder.get(cell[0]);
+            int returnIndex = returnOrder.get(cell[1]);
+            pairs.add(RoundTripPairDTO.builder()
+                    .outboundIndex(outboundIndex)
+                    .returnIndex(returnIndex)
+                    .totalTransportations(totalLegs(outboundRoutes, returnRoutes, outboundIndex, returnIndex))
+                    .build());
+            if (cell[0] + 1 < outboundOrder.size() && seen.add(((long) (cell[0] + 1) << 32) | cell[1])) {
+                frontier.add(new int[] {cell[0] + 1, cell[1]});
+            }
+            if (cell[1] + 1 < returnOrder.size() && seen.add(((long) cell[0] << 32) | (cell[1] + 1))) {
+                frontier.add(new int[] {cell[0], cell[1] + 1});
+            }
+        }
+        return pairs;
+    }
+
+    private static List<Integer> orderByLegs(List<RouteDTO> routes) {
+        List<Integer> order = new ArrayList<>(routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> routes.get(i).getTotalTransportations()));
+        return order;
+    }
+
+    private static int totalLegs(List<RouteDTO> outboundRoutes, List<RouteDTO> returnRoutes, int outboundIndex,
+            int returnIndex) {
+        return outboundRoutes.get(outboundIndex).getTotalTransportations()
+                + returnRoutes.get(returnIndex).getTotalTransportations();
+    }
+}
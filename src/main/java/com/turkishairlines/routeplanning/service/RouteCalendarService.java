@@ -0,0 +1,79 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.model.dto.RouteCalendarDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteCalendarDayDTO;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import com.turkishairlines.routeplanning.service.strategy.RouteStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RouteCalendarService {
+
+    static final int MAX_CALENDAR_DAYS = 366;
+
+    private final RouteService routeService;
+
+    /**
+     * Days in the range with at least one valid route. The strategies read their legs once
+     * without a date and each day then counts the legs operating and open on it.
+     */
+    public RouteCalendarDTO getRouteCalendar(String originLocationCode, String destinationLocationCode,
+            LocalDate from, LocalDate to, boolean includeCounts, RouteSearchContext context) {
+        if (to.isBefore(from)) {
+            throw new InvalidRouteException("Calendar end date must not be before its start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new InvalidRouteException("Calendar range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+
+        RouteService.Endpoints endpoints = routeService.resolveEndpoints(originLocationCode, destinationLocationCode,
+                context);
+
+        long[] countsByDate = new long[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        List<RouteStrategy> strategies = routeService.candidateStrategies(endpoints.origin(),
+                endpoints.destination(), null, context);
+        for (RouteStrategy strategy : strategies) {
+            long strategyStart = System.nanoTime();
+            long[] strategyCounts = strategy.countRoutesByDate(endpoints.origin(), endpoints.destination(),
+                    from, to, context);
+            context.statsFor(strategy).addTotalNanos(System.nanoTime() - strategyStart);
+            for (int index = 0; index < countsByDate.length; index++) {
+                countsByDate[index] += strategyCounts[index];
+            }
+        }
+        context.completeStrategies();
+
+        List<RouteCalendarDayDTO> availableDays = new ArrayList<>();
+        for (int index = 0; index < countsByDate.length; index++) {
+            long count = countsByDate[index];
+            if (count > 0) {
+                availableDays.add(RouteCalendarDayDTO.builder()
+                        .date(from.plusDays(index))
+                        .totalRoutes(includeCounts ? count : null)
+                        .build());
+            }
+        }
+
+        log.debug("Found {} days with routes from {} to {} between {} and {}", availableDays.size(),
+                originLocationCode, destinationLocationCode, from, to);
+        return RouteCalendarDTO.builder()
+                .originLocationCode(endpoints.origin().getLocationCode())
+                .destinationLocationCode(endpoints.destination().getLocationCode())
+                .from(from)
+                .to(to)
+                .availableDays(availableDays)
+                .build();
+    }
+}
@@ -1,11 +1,20 @@
 package com.turkishairlines.routeplanning.service;
 
-import com.turkishairlines.routeplanning.model.dto.RouteDTO;
 import com.turkishairlines.routeplanning.exception.InvalidRouteException;
 import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteExplainDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupsDTO;
+import com.turkishairlines.routeplanning.model.dto.StrategyStatsDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
-import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.service.index.DisruptionOverlay;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import com.turkishairlines.routeplanning.service.index.RouteReachabilityIndex;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
 import com.turkishairlines.routeplanning.service.strategy.RouteStrategy;
+import com.turkishairlines.routeplanning.service.strategy.StrategyStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,42 +22,199 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Runs the route strategies between two locations and owns what every search mode shares:
+ * endpoint resolution, the disruption snapshot and the reachability pre-check. Modes with a
+ * search of their own live in their own services and call back into this one.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RouteService {
 
-    private final LocationRepository locationRepository;
+    private final LocationCodeIndex locationCodeIndex;
     private final List<RouteStrategy> routeStrategies;
+    private final RouteReachabilityIndex reachabilityIndex;
+    private final DisruptionOverlay disruptionOverlay;
 
     public List<RouteDTO> findValidRoutes(String originLocationCode, String destinationLocationCode, LocalDate date) {
+        return findValidRoutes(originLocationCode, destinationLocationCode, date, new RouteSearchContext());
+    }
+
+    public List<RouteDTO> findValidRoutes(String originLocationCode, String destinationLocationCode, LocalDate date,
+            RouteSearchContext context) {
         log.debug("Finding valid routes from {} to {} on date {}", originLocationCode, destinationLocationCode, date);
 
-        Location originLocation = locationRepository.findByLocationCode(originLocationCode)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Origin location not found with code: " + originLocationCode));
+        Endpoints endpoints = resolveEndpoints(originLocationCode, destinationLocationCode, context);
 
-        Location destinationLocation = locationRepository.findByLocationCode(destinationLocationCode)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Destination location not found with code: " + destinationLocationCode));
+        List<RouteDTO> validRoutes = runStrategies(endpoints.origin(), endpoints.destination(), date, context);
+        context.completeStrategies();
 
-        if (originLocation.getId().equals(destinationLocation.getId())) {
-            throw new InvalidRouteException("Origin and destination cannot be the same location");
+        log.info("Found {} valid routes from {} to {}", validRoutes.size(), originLocationCode,
+                destinationLocationCode);
+        return validRoutes;
+    }
+
+    public RouteGroupsDTO findRouteGroups(String originLocationCode, String destinationLocationCode, LocalDate date,
+            RouteSearchContext context) {
+        log.debug("Finding route groups from {} to {} on date {}", originLocationCode, destinationLocationCode, date);
+
+        Endpoints endpoints = resolveEndpoints(originLocationCode, destinationLocationCode, context);
+
+        List<RouteGroupDTO> groups = new ArrayList<>();
+        List<RouteStrategy> strategies = candidateStrategies(endpoints.origin(), endpoints.destination(), date,
+                context);
+
+        for (RouteStrategy strategy : strategies) {
+            long strategyStart = System.nanoTime();
+            groups.addAll(strategy.findRouteGroups(endpoints.origin(), endpoints.destination(), date, context));
+            context.statsFor(strategy).addTotalNanos(System.nanoTime() - strategyStart);
+        }
+        context.completeStrategies();
+
+        int totalRoutes = groups.stream().mapToInt(RouteGroupDTO::getTotalRoutes).sum();
+        log.info("Found {} route groups ({} routes) from {} to {}", groups.size(), totalRoutes,
+                originLocationCode, destinationLocationCode);
+        return RouteGroupsDTO.builder()
+                .groups(groups)
+                .totalGroups(groups.size())
+                .totalRoutes(totalRoutes)
+                .build();
+    }
+
+    public long countRoutes(String originLocationCode, String destinationLocationCode, LocalDate date,
+            RouteSearchContext context) {
+        Endpoints endpoints = resolveEndpoints(originLocationCode, destinationLocationCode, context);
+
+        long count = 0;
+        List<RouteStrategy> strategies = candidateStrategies(endpoints.origin(), endpoints.destination(), date,
+                context);
+        for (RouteStrategy strategy : strategies) {
+            long strategyStart = System.nanoTime();
+            count += strategy.countRoutes(endpoints.origin(), endpoints.destination(), date, context);
+            context.statsFor(strategy).addTotalNanos(System.nanoTime() - strategyStart);
         }
+        context.completeStrategies();
+
+        log.debug("Counted {} routes from {} to {}", count, originLocationCode, destinationLocationCode);
+        return count;
+    }
+
+    // Stops at the first strategy that finds a route
+    public boolean hasRoutes(String originLocationCode, String destinationLocationCode, LocalDate date,
+            RouteSearchContext context) {
+        Endpoints endpoints = resolveEndpoints(originLocationCode, destinationLocationCode, context);
+
+        boolean found = false;
+        List<RouteStrategy> strategies = candidateStrategies(endpoints.origin(), endpoints.destination(), date,
+                context);
+        for (RouteStrategy strategy : strategies) {
+            long strategyStart = System.nanoTime();
+            found = strategy.hasRoutes(endpoints.origin(), endpoints.destination(), date, context);
+            context.statsFor(strategy).addTotalNanos(System.nanoTime() - strategyStart);
+            if (found) {
+                break;
+            }
+        }
+        context.completeStrategies();
+        return found;
+    }
 
-        List<RouteDTO> validRoutes = new ArrayList<>();
+    public RouteExplainDTO explainValidRoutes(String originLocationCode, String destinationLocationCode,
+            LocalDate date, RouteSearchContext context) {
+        List<RouteDTO> routes = findValidRoutes(originLocationCode, destinationLocationCode, date, context);
 
-        for (RouteStrategy strategy : routeStrategies) {
-            List<RouteDTO> strategyRoutes = strategy.findRoutes(originLocation, destinationLocation, date);
-            validRoutes.addAll(strategyRoutes);
+        Map<String, Double> phases = new LinkedHashMap<>();
+        context.getPhaseNanos().forEach((phase, nanos) -> phases.put(phase, RouteSearchContext.toMillis(nanos)));
+
+        return RouteExplainDTO.builder()
+                .routes(routes)
+                .totalRoutes(routes.size())
+                .phases(phases)
+                .strategies(context.getStrategyStats().stream().map(this::convertStatsToDTO).toList())
+                .build();
+    }
+
+    public List<RouteDTO> runStrategies(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        List<RouteDTO> routes = new ArrayList<>();
+        for (RouteStrategy strategy : candidateStrategies(origin, destination, date, context)) {
+            long strategyStart = System.nanoTime();
+            List<RouteDTO> strategyRoutes = strategy.findRoutes(origin, destination, date, context);
+            context.statsFor(strategy).addTotalNanos(System.nanoTime() - strategyStart);
+            routes.addAll(strategyRoutes);
             log.debug("Strategy {} found {} routes", strategy.getClass().getSimpleName(), strategyRoutes.size());
         }
+        return routes;
+    }
 
-        log.info("Found {} valid routes from {} to {}", validRoutes.size(), originLocationCode,
-                destinationLocationCode);
-        return validRoutes;
+    // No strategy runs when the reachability index rules out every route between the locations
+    public List<RouteStrategy> candidateStrategies(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        return mayHaveRoute(origin, destination, date, context) ? routeStrategies : List.of();
+    }
+
+    public boolean mayHaveRoute(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        // The index is built from the live legs, so it cannot rule out routes that use a scenario's added legs
+        if (context.getScenario() != null) {
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean candidate = reachabilityIndex.mayHaveRoute(origin.getId(), destination.getId(), date);
+        context.recordPhase(RouteSearchContext.PHASE_PRECHECK, System.nanoTime() - start);
+        if (!candidate) {
+            log.debug("No route can exist from {} to {} on {}; skipping search", origin.getLocationCode(),
+                    destination.getLocationCode(), date);
+        }
+        return candidate;
+    }
+
+    public Endpoints resolveEndpoints(String originLocationCode, String destinationLocationCode,
+            RouteSearchContext context) {
+        long lookupStart = System.nanoTime();
+        Location originLocation = findLocationByCode(originLocationCode, "Origin");
+        Location destinationLocation = findLocationByCode(destinationLocationCode, "Destination");
+        context.recordPhase(RouteSearchContext.PHASE_LOOKUP, System.nanoTime() - lookupStart);
+
+        if (originLocation.getId().equals(destinationLocation.getId())) {
+            throw new InvalidRouteException("Origin and destination cannot be the same location");
+        }
+        applyDisruptions(context);
+        return new Endpoints(originLocation, destinationLocation);
+    }
+
+    // Every date the search touches reads its closures from the same overlay snapshot
+    public void applyDisruptions(RouteSearchContext context) {
+        context.setClosures(disruptionOverlay.current()::closuresOn);
+    }
+
+    public Location findLocationByCode(String locationCode, String role) {
+        return locationCodeIndex.find(locationCode)
+                .map(EntityMapper::toEntity)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        role + " location not found with code: " + locationCode));
+    }
+
+    private StrategyStatsDTO convertStatsToDTO(StrategyStats stats) {
+        return StrategyStatsDTO.builder()
+                .strategy(stats.getStrategy())
+                .queriesIssued(stats.getQueriesIssued())
+                .rowsFetched(stats.getRowsFetched())
+                .prunedByDate(stats.getPrunedByDate())
+                .prunedByRules(stats.getPrunedByRules())
+                .prunedAsDuplicate(stats.getPrunedAsDuplicate())
+                .prunedAsDominated(stats.getPrunedAsDominated())
+                .routesEmitted(stats.getRoutesEmitted())
+                .fetchMillis(RouteSearchContext.toMillis(stats.getFetchNanos()))
+                .combineMillis(RouteSearchContext.toMillis(stats.getCombineNanos()))
+                .build();
+    }
+
+    public record Endpoints(Location origin, Location destination) {
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Route totals are unknown as soon as one leg lacks the value
+final class RouteTotals {
+
+    private RouteTotals() {
+    }
+
+    static Integer totalDuration(List<Transportation> transportations) {
+        int total = 0;
+        for (Transportation transportation : transportations) {
+            if (transportation.getDurationMinutes() == null) {
+                return null;
+            }
+            total += transportation.getDurationMinutes();
+        }
+        return total;
+    }
+
+    static BigDecimal totalCost(List<Transportation> transportations) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transportation transportation : transportations) {
+            if (transportation.getCost() == null) {
+                return null;
+            }
+            total = total.add(transportation.getCost());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,207 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.config.ScenarioProperties;
+import com.turkishairlines.routeplanning.exception.DuplicateResourceException;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.ScenarioDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.strategy.Scenario;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named what-if scenarios for network planning. Each is held in memory on this instance
+ * as a delta over the live legs and never written to the database, so route searches
+ * run against it without touching production data. Scenarios are lost on restart, expire
+ * once they have not been written for the configured TTL, and are capped in number.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ScenarioService {
+
+    private final TransportationRepository transportationRepository;
+    private final LocationRepository locationRepository;
+    private final ScenarioProperties scenarioProperties;
+
+    private final Map<String, StoredScenario> scenarios = new ConcurrentHashMap<>();
+    private final AtomicLong lastAddedId = new AtomicLong();
+
+    public List<ScenarioDTO> findAll() {
+        Instant now = Instant.now();
+        return scenarios.values().stream()
+                .filter(stored -> !stored.isExpiredAt(now))
+                .map(StoredScenario::scenario)
+                .sorted(Comparator.comparing(Scenario::getName))
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    public ScenarioDTO findByName(String name) {
+        log.debug("Finding scenario by name: {}", name);
+        return convertToDTO(resolve(name));
+    }
+
+    /**
+     * The scenario a route search should run against; {@code null} for the live network.
+     */
+    public Scenario resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        return find(name).scenario();
+    }
+
+    public ScenarioDTO create(ScenarioDTO scenarioDTO) {
+        log.debug("Creating new scenario: {}", scenarioDTO.getName());
+        Scenario scenario = buildScenario(scenarioDTO.getName(), scenarioDTO);
+        store(scenario);
+        log.info("Created scenario {} with {} added, {} removed and {} modified transportations", scenario.getName(),
+                scenario.getAddedTransportations().size(), scenario.getRemovedTransportationIds().size(),
+                scenario.getModifiedTransportations().size());
+        return convertToDTO(scenario);
+    }
+
+    public ScenarioDTO update(String name, ScenarioDTO scenarioDTO) {
+        log.debug("Updating scenario: {}", name);
+        StoredScenario current = find(name);
+        Scenario scenario = buildScenario(name, scenarioDTO);
+        if (!scenarios.replace(name, current, new StoredScenario(scenario, expiry()))) {
+            throw new DuplicateResourceException("Scenario was changed concurrently, retry the update: " + name);
+        }
+        log.info("Updated scenario {}", name);
+        return convertToDTO(scenario);
+    }
+
+    public void delete(String name) {
+        log.debug("Deleting scenario: {}", name);
+        if (scenarios.remove(name) == null) {
+            throw new ResourceNotFoundException("Scenario not found with name: " + name);
+        }
+        log.info("Deleted scenario {}", name);
+    }
+
+    private StoredScenario find(String name) {
+        StoredScenario stored = scenarios.get(name);
+        if (stored != null && stored.isExpiredAt(Instant.now())) {
+            scenarios.remove(name, stored);
+            stored = null;
+        }
+        if (stored == null) {
+            throw new ResourceNotFoundException("Scenario not found with name: " + name);
+        }
+        return stored;
+    }
+
+    // Serialized so that concurrent creates cannot overshoot the cap
+    private synchronized void store(Scenario scenario) {
+        Instant now = Instant.now();
+        scenarios.values().removeIf(stored -> stored.isExpiredAt(now));
+        if (scenarios.containsKey(scenario.getName())) {
+            throw new DuplicateResourceException("Scenario already exists with name: " + scenario.getName());
+        }
+        if (scenarios.size() >= scenarioProperties.getMaxScenarios()) {
+            throw new InvalidRouteException("Scenario limit of " + scenarioProperties.getMaxScenarios()
+                    + " reached, delete a scenario before creating another");
+        }
+        scenarios.put(scenario.getName(), new StoredScenario(scenario, expiry()));
+    }
+
+    private Instant expiry() {
+        return Instant.now().plus(scenarioProperties.getTtl());
+    }
+
+    private Scenario buildScenario(String name, ScenarioDTO scenarioDTO) {
+        Set<Long> removedIds = new LinkedHashSet<>();
+        if (scenarioDTO.getRemovedTransportationIds() != null) {
+            for (Long id : scenarioDTO.getRemovedTransportationIds()) {
+                requireTransportation(id);
+                removedIds.add(id);
+            }
+        }
+        List<Transportation> added = new ArrayList<>();
+        if (scenarioDTO.getAddedTransportations() != null) {
+            for (TransportationDTO transportationDTO : scenarioDTO.getAddedTransportations()) {
+                added.add(convertToEntity(-lastAddedId.incrementAndGet(), transportationDTO));
+            }
+        }
+        List<Transportation> modified = new ArrayList<>();
+        if (scenarioDTO.getModifiedTransportations() != null) {
+            for (TransportationDTO transportationDTO : scenarioDTO.getModifiedTransportations()) {
+                requireTransportation(transportationDTO.getId());
+                modified.add(convertToEntity(transportationDTO.getId(), transportationDTO));
+            }
+        }
+        return new Scenario(name, scenarioDTO.getDescription(), removedIds, added, modified);
+    }
+
+    private void requireTransportation(Long id) {
+        if (!transportationRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Transportation not found with id: " + id);
+        }
+    }
+
+    // No updated_at, so serialized scenario legs never reuse the cached JSON of the live leg with the same id
+    private Transportation convertToEntity(Long id, TransportationDTO transportationDTO) {
+        Location originLocation = locationRepository.findById(transportationDTO.getOriginLocationId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Origin location not found with id: " + transportationDTO.getOriginLocationId()));
+        Location destinationLocation = locationRepository.findById(transportationDTO.getDestinationLocationId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Destination location not found with id: " + transportationDTO.getDestinationLocationId()));
+
+        Transportation transportation = Transportation.builder()
+                .originLocation(originLocation)
+                .destinationLocation(destinationLocation)
+                .transportationType(transportationDTO.getTransportationType())
+                .operatingDays(transportationDTO.getOperatingDays())
+                .durationMinutes(transportationDTO.getDurationMinutes())
+                .cost(transportationDTO.getCost())
+                .departureTime(transportationDTO.getDepartureTime())
+                .arrivalTime(transportationDTO.getArrivalTime())
+                .validFrom(transportationDTO.getValidFrom())
+                .validTo(transportationDTO.getValidTo())
+                .exceptionDates(TransportationService.sortedExceptionDates(transportationDTO.getExceptionDates()))
+                .build();
+        transportation.setId(id);
+        return transportation;
+    }
+
+    private ScenarioDTO convertToDTO(Scenario scenario) {
+        return ScenarioDTO.builder()
+                .name(scenario.getName())
+                .description(scenario.getDescription())
+                .addedTransportations(scenario.getAddedTransportations().stream().map(EntityMapper::toDTO).toList())
+                .removedTransportationIds(scenario.getRemovedTransportationIds())
+                .modifiedTransportations(scenario.getModifiedTransportations().stream()
+                        .map(EntityMapper::toDTO)
+                        .toList())
+                .build();
+    }
+
+    private record StoredScenario(Scenario scenario, Instant expiresAt) {
+
+        boolean isExpiredAt(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.config.ScopedSearchProperties;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.enumaration.LocationScope;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.LocationSpatialIndex;
+import com.turkishairlines.routeplanning.service.strategy.FrontierLegSource;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ScopedRouteService {
+
+    private final RouteService routeService;
+    private final LocationRepository locationRepository;
+    private final TransportationRepository transportationRepository;
+    private final LocationSpatialIndex locationSpatialIndex;
+    private final ScopedSearchProperties scopedSearchProperties;
+
+    /**
+     * Routes between any location of the origin scope and any location of the destination
+     * scope. All member frontiers are loaded together, so the database work is that of one
+     * search, but the strategies still run once per origin and destination pair, which is why
+     * the number of pairs is capped. Sources and targets count as equivalent, so routes that
+     * pass through another origin or destination member are dropped in favour of the shorter
+     * route from or to it.
+     */
+    public List<RouteDTO> findScopedRoutes(String origin, LocationScope originScope, String destination,
+            LocationScope destinationScope, LocalDate date, RouteSearchContext context) {
+        log.debug("Finding routes from {} {} to {} {} on date {}", originScope, origin, destinationScope,
+                destination, date);
+
+        long lookupStart = System.nanoTime();
+        List<Location> origins = findLocationsInScope(origin, originScope, "Origin");
+        List<Location> destinations = findLocationsInScope(destination, destinationScope, "Destination");
+        context.recordPhase(RouteSearchContext.PHASE_LOOKUP, System.nanoTime() - lookupStart);
+
+        return findRoutesBetween(origins, destinations, date, context);
+    }
+
+    /**
+     * Routes from the locations nearest to a point, searched like an origin scope: every
+     * candidate within the radius is a possible start and the shortest way out wins.
+     */
+    public List<RouteDTO> findRoutesNear(double latitude, double longitude, double radiusKm, int limit,
+            String destination, LocationScope destinationScope, LocalDate date, RouteSearchContext context) {
+        log.debug("Finding routes from within {} km of ({}, {}) to {} {} on date {}", radiusKm, latitude, longitude,
+                destinationScope, destination, date);
+        checkCoordinates(latitude, longitude, radiusKm);
+
+        long lookupStart = System.nanoTime();
+        List<Location> origins = locationSpatialIndex.nearest(latitude, longitude, limit, radiusKm).stream()
+                .map(nearby -> EntityMapper.toEntity(nearby.location()))
+                .toList();
+        if (origins.isEmpty()) {
+            throw new ResourceNotFoundException("No origin locations found within " + radiusKm + " km of ("
+                    + latitude + ", " + longitude + ")");
+        }
+        List<Location> destinations = findLocationsInScope(destination, destinationScope, "Destination");
+        context.recordPhase(RouteSearchContext.PHASE_LOOKUP, System.nanoTime() - lookupStart);
+
+        return findRoutesBetween(origins, destinations, date, context);
+    }
+
+    private List<RouteDTO> findRoutesBetween(List<Location> origins, List<Location> destinations, LocalDate date,
+            RouteSearchContext context) {
+        Set<Long> originIds = new HashSet<>();
+        origins.forEach(location -> originIds.add(location.getId()));
+        Set<Long> destinationIds = new HashSet<>();
+        destinations.forEach(location -> destinationIds.add(location.getId()));
+        if (originIds.equals(destinationIds) && originIds.size() == 1) {
+            throw new InvalidRouteException("Origin and destination cannot be the same location");
+        }
+        long pairs = (long) origins.size() * destinations.size();
+        if (pairs > scopedSearchProperties.getMaxPairs()) {
+            throw new InvalidRouteException("Search covers " + pairs + " origin and destination pairs, more than the "
+                    + scopedSearchProperties.getMaxPairs() + " allowed; narrow the origin or destination scope");
+        }
+        routeService.applyDisruptions(context);
+
+        long preloadStart = System.nanoTime();
+        Set<Location> endpoints = new LinkedHashSet<>(origins);
+        endpoints.addAll(destinations);
+        FrontierLegSource frontier = new FrontierLegSource(transportationRepository);
+        frontier.preload(endpoints);
+        context.setLegSource(frontier);
+        context.recordPhase(RouteSearchContext.PHASE_DB, System.nanoTime() - preloadStart);
+
+        List<RouteDTO> routes = new ArrayList<>();
+        for (Location originLocation : origins) {
+            for (Location destinationLocation : destinations) {
+                if (originLocation.getId().equals(destinationLocation.getId())) {
+                    continue;
+                }
+                for (RouteDTO route : routeService.runStrategies(originLocation, destinationLocation, date,
+                        context)) {
+                    if (!passesThroughScope(route, originIds, destinationIds)) {
+                        routes.add(route);
+                    }
+                }
+            }
+        }
+        context.completeStrategies();
+
+        log.info("Found {} routes between {} origin and {} destination locations in {} queries", routes.size(),
+                origins.size(), destinations.size(), frontier.getQueriesIssued());
+        return routes;
+    }
+
+    // Written so NaN fails every range check
+    private static void checkCoordinates(double latitude, double longitude, double radiusKm) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new InvalidRouteException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidRouteException("Longitude must be between -180 and 180");
+        }
+        if (!(radiusKm > 0 && Double.isFinite(radiusKm))) {
+            throw new InvalidRouteException("Radius must be a positive number of kilometres");
+        }
+    }
+
+    private List<Location> findLocationsInScope(String value, LocationScope scope, String role) {
+        List<Location> locations = switch (scope) {
+            case LOCATION -> List.of(routeService.findLocationByCode(value, role));
+            case CITY -> locationRepository.findByCityIgnoreCaseOrderByLocationCode(value.trim());
+            case COUNTRY -> locationRepository.findByCountryIgnoreCaseOrderByLocationCode(value.trim());
+        };
+        if (locations.isEmpty()) {
+            throw new ResourceNotFoundException(role + " locations not found in " + scope.name().toLowerCase()
+                    + ": " + value);
+        }
+        return locations;
+    }
+
+    // Only the first leg may start in the origin scope and only the last may end in the destination scope
+    private static boolean passesThroughScope(RouteDTO route, Set<Long> originIds, Set<Long> destinationIds) {
+        List<TransportationDTO> legs = route.getTransportations();
+        for (int i = 0; i < legs.size() - 1; i++) {
+            Long stopId = legs.get(i).getDestinationLocationId();
+            if (originIds.contains(stopId) || destinationIds.contains(stopId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.dto.JourneyDTO;
+import com.turkishairlines.routeplanning.model.dto.JourneyLegDTO;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.TimetableIndex;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TimetableJourneyService {
+
+    private final RouteService routeService;
+    private final TimetableIndex timetableIndex;
+    private final TransportationRepository transportationRepository;
+
+    /**
+     * The scheduled journey arriving first after {@code departAfter}, or leaving last before
+     * {@code arriveBy}, honouring departure and arrival times and the minimum transfer time
+     * at each location. Only legs with a timetable take part. Answered from the in-memory
+     * timetable; the database is only read for the legs of the journey.
+     */
+    public Optional<JourneyDTO> findTimetableJourney(String originLocationCode, String destinationLocationCode,
+            LocalDate date, LocalTime departAfter, LocalTime arriveBy, RouteSearchContext context) {
+        log.debug("Finding timetabled journey from {} to {} on {} departing after {} arriving by {}",
+                originLocationCode, destinationLocationCode, date, departAfter, arriveBy);
+
+        RouteService.Endpoints endpoints = routeService.resolveEndpoints(originLocationCode, destinationLocationCode,
+                context);
+
+        long scanStart = System.nanoTime();
+        Optional<TimetableIndex.Journey> journey = arriveBy != null
+                ? timetableIndex.latestDeparture(endpoints.origin().getId(), endpoints.destination().getId(), date,
+                        arriveBy, context::closuresOn)
+                : timetableIndex.earliestArrival(endpoints.origin().getId(), endpoints.destination().getId(), date,
+                        departAfter != null ? departAfter : LocalTime.MIDNIGHT, context::closuresOn);
+        context.recordPhase(RouteSearchContext.PHASE_COMBINE, System.nanoTime() - scanStart);
+        if (journey.isEmpty()) {
+            log.info("No timetabled journey from {} to {} on {}", originLocationCode, destinationLocationCode, date);
+            return Optional.empty();
+        }
+
+        long fetchStart = System.nanoTime();
+        Map<Long, Transportation> transportations = new HashMap<>();
+        transportationRepository.findByIdIn(journey.get().legs().stream()
+                        .map(TimetableIndex.JourneyLeg::transportationId)
+                        .toList())
+                .forEach(transportation -> transportations.put(transportation.getId(), transportation));
+        context.recordPhase(RouteSearchContext.PHASE_DB, System.nanoTime() - fetchStart);
+
+        List<JourneyLegDTO> legs = new ArrayList<>();
+        for (TimetableIndex.JourneyLeg leg : journey.get().legs()) {
+            Transportation transportation = transportations.get(leg.transportationId());
+            if (transportation == null) {
+                // Deleted since the timetable was built; the next rebuild drops it
+                return Optional.empty();
+            }
+            legs.add(JourneyLegDTO.builder()
+                    .departureTime(leg.departure())
+                    .arrivalTime(leg.arrival())
+                    .transportation(EntityMapper.toDTO(transportation))
+                    .build());
+        }
+        LocalDateTime departure = journey.get().departure();
+        LocalDateTime arrival = journey.get().arrival();
+        log.info("Found timetabled journey from {} to {} departing {} arriving {}", originLocationCode,
+                destinationLocationCode, departure, arrival);
+        return Optional.of(JourneyDTO.builder()
+                .originLocation(EntityMapper.toDTO(endpoints.origin()))
+                .destinationLocation(EntityMapper.toDTO(endpoints.destination()))
+                .departureTime(departure)
+                .arrivalTime(arrival)
+                .durationMinutes(ChronoUnit.MINUTES.between(departure, arrival))
+                .legs(legs)
+                .build());
+    }
+}
@@ -1,21 +1,27 @@
 package com.turkishairlines.routeplanning.service;
 
-import com.turkishairlines.routeplanning.model.dto.LocationDTO;
 import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
 import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.LocationRepository;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent.ChangeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
 
 @Slf4j
 @Service
@@ -25,6 +31,7 @@ public class TransportationService {
 
         private final TransportationRepository transportationRepository;
         private final LocationRepository locationRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         public Page<TransportationDTO> findAllWithFilters(Pageable pageable, Long originLocationId,
                         Long destinationLocationId, TransportationType transportationType) {
@@ -34,7 +41,7 @@ public class TransportationService {
                 Page<Transportation> transportations = transportationRepository.findAllWithFilters(
                                 originLocationId, destinationLocationId, transportationType, pageable);
 
-                return transportations.map(this::convertToDTO);
+                return transportations.map(EntityMapper::toDTO);
         }
 
         public TransportationDTO findById(Long id) {
@@ -42,7 +49,7 @@ public class TransportationService {
                 Transportation transportation = transportationRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Transportation not found with id: " + id));
-                return convertToDTO(transportation);
+                return EntityMapper.toDTO(transportation);
         }
 
         @Transactional
@@ -64,12 +71,20 @@ public class TransportationService {
                                 .destinationLocation(destinationLocation)
                                 .transportationType(transportationDTO.getTransportationType())
                                 .operatingDays(transportationDTO.getOperatingDays())
+                                .durationMinutes(transportationDTO.getDurationMinutes())
+                                .cost(transportationDTO.getCost())
+                                .departureTime(transportationDTO.getDepartureTime())
+                                .arrivalTime(transportationDTO.getArrivalTime())
+                                .validFrom(transportationDTO.getValidFrom())
+                                .validTo(transportationDTO.getValidTo())
+                                .exceptionDates(sortedExceptionDates(transportationDTO.getExceptionDates()))
                                 .build();
 
                 Transportation savedTransportation = transportationRepository.save(transportation);
                 log.info("Created transportation with id: {}", savedTransportation.getId());
-
-                return convertToDTO(savedTransportation);
+                TransportationDTO savedTransportationDTO = EntityMapper.toDTO(savedTransportation);
+                eventPublisher.publishEvent(new TransportationChangedEvent(ChangeType.CREATED, savedTransportationDTO));
+                return savedTransportationDTO;
         }
 
         @Transactional
@@ -94,11 +109,21 @@ public class TransportationService {
                 existingTransportation.setDestinationLocation(destinationLocation);
                 existingTransportation.setTransportationType(transportationDTO.getTransportationType());
                 existingTransportation.setOperatingDays(transportationDTO.getOperatingDays());
-
-                Transportation updatedTransportation = transportationRepository.save(existingTransportation);
+                existingTransportation.setDurationMinutes(transportationDTO.getDurationMinutes());
+                existingTransportation.setCost(transportationDTO.getCost());
+                existingTransportation.setDepartureTime(transportationDTO.getDepartureTime());
+                existingTransportation.setArrivalTime(transportationDTO.getArrivalTime());
+                existingTransportation.setValidFrom(transportationDTO.getValidFrom());
+                existingTransportation.setValidTo(transportationDTO.getValidTo());
+                existingTransportation.setExceptionDates(sortedExceptionDates(transportationDTO.getExceptionDates()));
+
+                // Flushing assigns the new updated_at before it is copied into the DTO
+                Transportation updatedTransportation = transportationRepository.saveAndFlush(existingTransportation);
                 log.info("Updated transportation with id: {}", updatedTransportation.getId());
-
-                return convertToDTO(updatedTransportation);
+                TransportationDTO updatedTransportationDTO = EntityMapper.toDTO(updatedTransportation);
+                eventPublisher.publishEvent(new TransportationChangedEvent(ChangeType.UPDATED,
+                                updatedTransportationDTO));
+                return updatedTransportationDTO;
         }
 
         @Transactional
@@ -109,30 +134,22 @@ public class TransportationService {
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Transportation not found with id: " + id));
 
-                transportation.setDeletedAt(Instant.now());
-                transportationRepository.save(transportation);
+                TransportationDTO deletedTransportationDTO = EntityMapper.toDTO(transportation);
+                // Removing through the entity manager runs @SQLDelete and evicts the second-level cache entry
+                transportationRepository.delete(transportation);
                 log.info("Soft deleted transportation with id: {}", id);
+                eventPublisher.publishEvent(new TransportationChangedEvent(ChangeType.DELETED, deletedTransportationDTO));
         }
 
-        private TransportationDTO convertToDTO(Transportation transportation) {
-                return TransportationDTO.builder()
-                                .id(transportation.getId())
-                                .originLocationId(transportation.getOriginLocation().getId())
-                                .destinationLocationId(transportation.getDestinationLocation().getId())
-                                .transportationType(transportation.getTransportationType())
-                                .operatingDays(transportation.getOperatingDays())
-                                .originLocation(convertLocationToDTO(transportation.getOriginLocation()))
-                                .destinationLocation(convertLocationToDTO(transportation.getDestinationLocation()))
-                                .build();
-        }
-
-        private LocationDTO convertLocationToDTO(Location location) {
-                return LocationDTO.builder()
-                                .id(location.getId())
-                                .name(location.getName())
-                                .country(location.getCountry())
-                                .city(location.getCity())
-                                .locationCode(location.getLocationCode())
-                                .build();
+        // Route searches binary-search the exception dates, so they are stored sorted and without repeats
+        static LocalDate[] sortedExceptionDates(LocalDate[] exceptionDates) {
+                if (exceptionDates == null) {
+                        return null;
+                }
+                return Arrays.stream(exceptionDates)
+                                .filter(Objects::nonNull)
+                                .distinct()
+                                .sorted()
+                                .toArray(LocalDate[]::new);
         }
 }
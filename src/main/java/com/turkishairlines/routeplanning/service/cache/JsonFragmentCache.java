@@ -0,0 +1,100 @@
+package com.turkishairlines.routeplanning.service.cache;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import jakarta.annotation.PreDestroy;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Pre-encoded JSON of locations and legs, keyed by entity id and {@code updated_at}.
+ * A new version of an entity gets a new key, so entries never need invalidating; once
+ * full, a rarely used fragment is evicted, which also ages out superseded versions. Held
+ * in an on-heap Ehcache store, which reads and evicts without a global lock.
+ */
+@Component
+public class JsonFragmentCache {
+
+    private final CacheManager cacheManager;
+    private final Cache<Object, SerializedString> fragments;
+
+    public JsonFragmentCache(@Value("${route-planning.json-fragment-cache.max-entries:50000}") int maxEntries) {
+        this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build(true);
+        this.fragments = cacheManager.createCache("json-fragments", CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, SerializedString.class,
+                        ResourcePoolsBuilder.heap(maxEntries)));
+    }
+
+    /**
+     * Returns the cached fragment for the key, rendering and storing it on a miss.
+     */
+    public SerializedString get(Object key, FragmentRenderer renderer) throws IOException {
+        SerializedString fragment = fragments.get(key);
+        if (fragment != null) {
+            return fragment;
+        }
+        fragment = new SerializedString(renderer.render());
+        // Encode eagerly so every reader copies the same byte array
+        fragment.asUnquotedUTF8();
+        fragments.put(key, fragment);
+        return fragment;
+    }
+
+    // Walks the whole store; for diagnostics and tests only
+    public int size() {
+        int size = 0;
+        for (Cache.Entry<Object, SerializedString> ignored : fragments) {
+            size++;
+        }
+        return size;
+    }
+
+    public void clear() {
+        fragments.clear();
+    }
+
+    @PreDestroy
+    public void close() {
+        cacheManager.close();
+    }
+
+    public static LocationKey keyOf(LocationDTO location) {
+        if (location == null || location.getId() == null || location.getUpdatedAt() == null) {
+            return null;
+        }
+        return new LocationKey(location.getId(), location.getUpdatedAt());
+    }
+
+    // The leg fragment embeds both endpoints, so their versions are part of its key
+    public static LegKey keyOf(TransportationDTO transportation) {
+        if (transportation == null || transportation.getId() == null || transportation.getUpdatedAt() == null) {
+            return null;
+        }
+        LocationKey origin = keyOf(transportation.getOriginLocation());
+        LocationKey destination = keyOf(transportation.getDestinationLocation());
+        if (origin == null || destination == null) {
+            return null;
+        }
+        return new LegKey(transportation.getId(), transportation.getUpdatedAt(), origin, destination);
+    }
+
+    @FunctionalInterface
+    public interface FragmentRenderer {
+        String render() throws IOException;
+    }
+
+    public record LocationKey(long id, Instant version) {
+    }
+
+    public record LegKey(long id, Instant version, LocationKey origin, LocationKey destination) {
+    }
+}
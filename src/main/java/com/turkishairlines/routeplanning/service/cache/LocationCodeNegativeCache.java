@@ -0,0 +1,97 @@
+package com.turkishairlines.routeplanning.service.cache;
+
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers location codes that recently resolved to nothing, so repeated lookups
+ * of unknown codes skip the database. Codes are expected in normalized form. Entries expire after a TTL and are dropped
+ * as soon as a location with that code is created or renamed. Every invalidation starts a new generation, and a miss
+ * read in an earlier generation is not cached, so a lookup racing a create cannot hide the new code.
+ */
+@Slf4j
+@Component
+public class LocationCodeNegativeCache {
+
+    private final Map<String, Long> expiresAtByCode = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public LocationCodeNegativeCache(
+            @Value("${route-planning.location-negative-cache.ttl:PT5M}") Duration ttl,
+            @Value("${route-planning.location-negative-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isKnownMissing(String locationCode) {
+        Long expiresAt = expiresAtByCode.get(locationCode);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            expiresAtByCode.remove(locationCode, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The generation to pass to {@link #markMissing} for a lookup about to read the database.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void markMissing(String locationCode, long readGeneration) {
+        if (!TransactionalCacheSupport.isReadCacheable() || readGeneration != generation.get()) {
+            return;
+        }
+        if (expiresAtByCode.size() >= maxEntries) {
+            evictExpired();
+            if (expiresAtByCode.size() >= maxEntries) {
+                return;
+            }
+        }
+        Long expiresAt = System.nanoTime() + ttlNanos;
+        expiresAtByCode.put(locationCode, expiresAt);
+        // An invalidation between the check above and the put may have missed the entry
+        if (readGeneration != generation.get()) {
+            expiresAtByCode.remove(locationCode, expiresAt);
+        }
+    }
+
+    public void invalidate(String locationCode) {
+        if (locationCode != null) {
+            generation.incrementAndGet();
+            expiresAtByCode.remove(locationCode);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        if (event.changeType() != LocationChangedEvent.ChangeType.DELETED) {
+            log.debug("Invalidating negative cache entry for location code {}", event.locationCode());
+            invalidate(LocationCodeIndex.normalize(event.locationCode()));
+        }
+    }
+
+    public int size() {
+        return expiresAtByCode.size();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        expiresAtByCode.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.turkishairlines.routeplanning.service.cache;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+public final class TransactionalCacheSupport {
+
+    private static final Object REPLICA_READ = new Object();
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private TransactionalCacheSupport() {
+    }
+
+    /**
+     * Whether what the current thread just read may be published to a shared cache.
+     * Reads inside a writing transaction can observe uncommitted rows (or miss rows
+     * it deleted) and would poison the cache if that transaction rolls back. Reads
+     * served by a read replica may predate a change the primary has already
+     * invalidated, and would put it back.
+     */
+    public static boolean isReadCacheable() {
+        if (TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Runs reads that fill a shared cache or index against the primary, so they never
+     * load rows a lagging replica has not caught up on.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_READ.get();
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READ.remove();
+            }
+        }
+    }
+
+    public static boolean isPrimaryReadRequired() {
+        return PRIMARY_READ.get() != null;
+    }
+
+    /**
+     * Records that the current transaction reads a replica: nothing it reads is published
+     * to the shared caches, including the Hibernate second-level and query caches, which
+     * are only consulted for the rest of the transaction.
+     */
+    public static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        Session session = null;
+        CacheMode previousCacheMode = null;
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                session = holder.getEntityManager().unwrap(Session.class);
+                previousCacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+            }
+        }
+        Session replicaSession = session;
+        CacheMode restoredCacheMode = previousCacheMode;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+                // The session outlives the transaction when it is bound to the request
+                if (replicaSession != null && replicaSession.isOpen()) {
+                    replicaSession.setCacheMode(restoredCacheMode);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.turkishairlines.routeplanning.service.event;
+
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+
+public record DisruptionChangedEvent(ChangeType changeType, DisruptionDTO disruption) {
+
+    public enum ChangeType {
+        CREATED, DELETED
+    }
+
+    public Long disruptionId() {
+        return disruption.getId();
+    }
+}
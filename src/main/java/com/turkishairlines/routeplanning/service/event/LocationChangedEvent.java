@@ -0,0 +1,18 @@
+package com.turkishairlines.routeplanning.service.event;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+
+public record LocationChangedEvent(ChangeType changeType, String previousLocationCode, LocationDTO location) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public Long locationId() {
+        return location.getId();
+    }
+
+    public String locationCode() {
+        return location.getLocationCode();
+    }
+}
@@ -0,0 +1,14 @@
+package com.turkishairlines.routeplanning.service.event;
+
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+
+public record TransportationChangedEvent(ChangeType changeType, TransportationDTO transportation) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public Long transportationId() {
+        return transportation.getId();
+    }
+}
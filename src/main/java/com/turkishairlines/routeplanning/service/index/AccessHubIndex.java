@@ -0,0 +1,253 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.strategy.RouteRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ground legs around every location, split into access legs (to a hub with a departing
+ * flight) and egress legs (from a hub with an arriving flight), each with the weekdays it
+ * operates. The three-step search reads its two candidate hub lists from here instead of
+ * querying all ground legs of the origin and destination, and drops legs outside their
+ * validity range when it loads them by id. Kept current incrementally from
+ * {@link TransportationChangedEvent}s and reloaded periodically. Between reloads the latest
+ * transportation write time is polled; once it moves past the one the tables were loaded at
+ * for a write this instance has not applied, or when they have not been confirmed current
+ * within the refresh interval, the index stops answering and the search reads ground legs
+ * from the repository until the reload lands.
+ */
+@Slf4j
+@Component
+public class AccessHubIndex {
+
+    private static final Duration REBUILD_DELAY = Duration.ofMillis(200);
+
+    private final TransportationRepository transportationRepository;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile Tables tables;
+    private volatile boolean outdated;
+    private volatile long confirmedAt;
+
+    public AccessHubIndex(TransportationRepository transportationRepository, TaskScheduler taskScheduler,
+            @Value("${route-planning.access-hub-index.enabled:true}") boolean enabled,
+            @Value("${route-planning.access-hub-index.refresh-interval:PT5M}") Duration refreshInterval) {
+        this.transportationRepository = transportationRepository;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.maxAgeNanos = refreshInterval.toNanos();
+    }
+
+    public boolean isLoaded() {
+        return tables != null;
+    }
+
+    /**
+     * Whether the tables are loaded and no transportation is known to have changed since.
+     */
+    public boolean isCurrent() {
+        return tables != null && !outdated && System.nanoTime() - confirmedAt <= maxAgeNanos;
+    }
+
+    /**
+     * Ground legs from the location, operating on the date, to hubs with a departing flight.
+     */
+    public List<HubLink> accessHubs(Long locationId, LocalDate date) {
+        Tables current = tables;
+        return links(current.groundFrom.get(locationId), current.flightsFrom, date);
+    }
+
+    /**
+     * Ground legs into the location, operating on the date, from hubs with an arriving flight.
+     */
+    public List<HubLink> egressHubs(Long locationId, LocalDate date) {
+        Tables current = tables;
+        return links(current.groundInto.get(locationId), current.flightsInto, date);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route-planning.access-hub-index.refresh-interval:PT5M}",
+            initialDelayString = "${route-planning.access-hub-index.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        // Read before the legs, so a change racing the load moves the mark past this one
+        Tables loaded = new Tables(TransactionalCacheSupport.readFromPrimary(
+                transportationRepository::findLastChangedAt));
+        List<TransportationLeg> legs = TransactionalCacheSupport.readFromPrimary(transportationRepository::findAllLegs);
+        legs.forEach(loaded::add);
+        confirmedAt = System.nanoTime();
+        tables = loaded;
+        outdated = false;
+        log.info("Loaded {} legs into the access hub index", legs.size());
+    }
+
+    @Scheduled(fixedDelayString = "${route-planning.access-hub-index.change-check-interval:PT5S}",
+            initialDelayString = "${route-planning.access-hub-index.change-check-interval:PT5S}")
+    public synchronized void checkForChanges() {
+        Tables current = tables;
+        if (!enabled || current == null || outdated) {
+            return;
+        }
+        Instant lastChangedAt = TransactionalCacheSupport.readFromPrimary(
+                transportationRepository::findLastChangedAt);
+        if (Objects.equals(lastChangedAt, current.lastChangedAt) || isAppliedLocally(current, lastChangedAt)) {
+            confirmedAt = System.nanoTime();
+            return;
+        }
+        log.debug("Transportations changed at {}, reloading the access hub index", lastChangedAt);
+        outdated = true;
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransportationChanged(TransportationChangedEvent event) {
+        Tables current = tables;
+        if (current == null) {
+            return;
+        }
+        current.remove(event.transportationId());
+        if (event.changeType() != TransportationChangedEvent.ChangeType.DELETED) {
+            current.add(toLeg(event.transportation()));
+        }
+        Instant changedAt = TransactionalCacheSupport.readFromPrimary(
+                () -> transportationRepository.findChangedAt(event.transportationId()));
+        if (changedAt != null) {
+            current.appliedChanges.merge(event.transportationId(), changedAt, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+
+    // Every write since the load was applied here: the latest one is ours, and no other leg changed
+    private boolean isAppliedLocally(Tables current, Instant lastChangedAt) {
+        Instant since = current.lastChangedAt != null ? current.lastChangedAt : Instant.EPOCH;
+        List<Instant> applied = current.appliedChanges.values().stream()
+                .filter(changedAt -> changedAt.isAfter(since))
+                .toList();
+        if (applied.isEmpty() || !lastChangedAt.equals(Collections.max(applied))) {
+            return false;
+        }
+        return TransactionalCacheSupport.readFromPrimary(
+                () -> transportationRepository.countChangedSince(since)) == applied.size();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                reload();
+            }, Instant.now().plus(REBUILD_DELAY));
+        }
+    }
+
+    private static List<HubLink> links(List<HubLeg> legs, Map<Long, Integer> flightsAtHub, LocalDate date) {
+        if (legs == null) {
+            return List.of();
+        }
+        int day = date == null ? RouteRules.ALL_DAYS : 1 << (date.getDayOfWeek().getValue() - 1);
+        List<HubLink> links = new ArrayList<>();
+        for (HubLeg leg : legs) {
+            if ((leg.dayMask() & day) != 0 && flightsAtHub.getOrDefault(leg.hubLocationId(), 0) > 0) {
+                links.add(new HubLink(leg.transportationId(), leg.hubLocationId()));
+            }
+        }
+        return links;
+    }
+
+    private static TransportationLeg toLeg(TransportationDTO transportation) {
+        return new TransportationLeg(transportation.getId(), transportation.getOriginLocationId(),
+                transportation.getDestinationLocationId(), transportation.getTransportationType(),
+                transportation.getOperatingDays());
+    }
+
+    public record HubLink(Long transportationId, Long hubLocationId) {
+    }
+
+    private record HubLeg(Long transportationId, Long hubLocationId, int dayMask) {
+    }
+
+    // Per-location lists are replaced rather than mutated, so readers never see a partial update
+    private static final class Tables {
+
+        private final Instant lastChangedAt;
+        // Write time of each leg changed through this instance since the load, guarded by the index
+        private final Map<Long, Instant> appliedChanges = new HashMap<>();
+        private final Map<Long, TransportationLeg> legsById = new ConcurrentHashMap<>();
+        private final Map<Long, List<HubLeg>> groundFrom = new ConcurrentHashMap<>();
+        private final Map<Long, List<HubLeg>> groundInto = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> flightsFrom = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> flightsInto = new ConcurrentHashMap<>();
+
+        Tables(Instant lastChangedAt) {
+            this.lastChangedAt = lastChangedAt;
+        }
+
+        void add(TransportationLeg leg) {
+            legsById.put(leg.id(), leg);
+            if (leg.transportationType() == TransportationType.FLIGHT) {
+                flightsFrom.merge(leg.originLocationId(), 1, Integer::sum);
+                flightsInto.merge(leg.destinationLocationId(), 1, Integer::sum);
+                return;
+            }
+            int dayMask = RouteRules.dayMask(leg.operatingDays());
+            groundFrom.compute(leg.originLocationId(), (id, legs) ->
+                    with(legs, new HubLeg(leg.id(), leg.destinationLocationId(), dayMask)));
+            groundInto.compute(leg.destinationLocationId(), (id, legs) ->
+                    with(legs, new HubLeg(leg.id(), leg.originLocationId(), dayMask)));
+        }
+
+        void remove(Long transportationId) {
+            TransportationLeg leg = legsById.remove(transportationId);
+            if (leg == null) {
+                return;
+            }
+            if (leg.transportationType() == TransportationType.FLIGHT) {
+                flightsFrom.computeIfPresent(leg.originLocationId(), (id, count) -> count > 1 ? count - 1 : null);
+                flightsInto.computeIfPresent(leg.destinationLocationId(), (id, count) -> count > 1 ? count - 1 : null);
+                return;
+            }
+            groundFrom.computeIfPresent(leg.originLocationId(), (id, legs) -> without(legs, transportationId));
+            groundInto.computeIfPresent(leg.destinationLocationId(), (id, legs) -> without(legs, transportationId));
+        }
+
+        private static List<HubLeg> with(List<HubLeg> legs, HubLeg leg) {
+            List<HubLeg> updated = legs == null ? new ArrayList<>() : new ArrayList<>(legs);
+            updated.add(leg);
+            return List.copyOf(updated);
+        }
+
+        private static List<HubLeg> without(List<HubLeg> legs, Long transportationId) {
+            List<HubLeg> updated = legs.stream()
+                    .filter(leg -> !leg.transportationId().equals(transportationId))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        }
+    }
+}
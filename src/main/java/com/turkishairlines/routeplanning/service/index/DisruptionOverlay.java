@@ -0,0 +1,131 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+import com.turkishairlines.routeplanning.repository.DisruptionRepository;
+import com.turkishairlines.routeplanning.repository.DisruptionWindow;
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import com.turkishairlines.routeplanning.service.event.DisruptionChangedEvent;
+import com.turkishairlines.routeplanning.service.strategy.Closures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Disruption windows held in memory, with the closures of each searched date built once
+ * as sets of the closed ids and shared by every search on that date; dates without an
+ * active disruption all share {@link Closures#NONE}. Searches apply the closures on top
+ * of the legs they read, so a disruption never touches the transportation caches or the
+ * other indexes. A change through this instance reloads the windows but keeps the built
+ * closures of every date outside the changed range; a periodic reload picks up changes
+ * made by other instances. When disabled, every search reads the windows from the
+ * database instead.
+ */
+@Slf4j
+@Component
+public class DisruptionOverlay {
+
+    // Past this many dates the built closures are dropped and rebuilt on demand
+    private static final int MAX_CACHED_DATES = 1024;
+
+    private final DisruptionRepository disruptionRepository;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    public DisruptionOverlay(DisruptionRepository disruptionRepository,
+            @Value("${route-planning.disruption-overlay.enabled:true}") boolean enabled) {
+        this.disruptionRepository = disruptionRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * The disruptions as of now; one search reads every date it needs from the same snapshot.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : new Snapshot(disruptionRepository.findAllWindows());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route-planning.disruption-overlay.refresh-interval:PT1M}",
+            initialDelayString = "${route-planning.disruption-overlay.refresh-interval:PT1M}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        List<DisruptionWindow> windows =
+                TransactionalCacheSupport.readFromPrimary(disruptionRepository::findAllWindows);
+        snapshot = new Snapshot(windows);
+        log.info("Loaded {} disruptions into the disruption overlay", windows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDisruptionChanged(DisruptionChangedEvent event) {
+        Snapshot previous = snapshot;
+        if (previous == null) {
+            return;
+        }
+        Snapshot updated =
+                new Snapshot(TransactionalCacheSupport.readFromPrimary(disruptionRepository::findAllWindows));
+        DisruptionDTO disruption = event.disruption();
+        previous.closuresByDate.forEach((date, closures) -> {
+            if (date.isBefore(disruption.getStartDate()) || date.isAfter(disruption.getEndDate())) {
+                updated.closuresByDate.put(date, closures);
+            }
+        });
+        snapshot = updated;
+        log.debug("Disruption {} {}; rebuilding closures from {} to {}", event.disruptionId(),
+                event.changeType(), disruption.getStartDate(), disruption.getEndDate());
+    }
+
+    public static final class Snapshot {
+
+        private final List<DisruptionWindow> windows;
+        private final Map<LocalDate, Closures> closuresByDate = new ConcurrentHashMap<>();
+
+        Snapshot(List<DisruptionWindow> windows) {
+            this.windows = windows;
+        }
+
+        /**
+         * Locations and legs closed on the date; {@link Closures#NONE} without a date.
+         */
+        public Closures closuresOn(LocalDate date) {
+            if (date == null || windows.isEmpty()) {
+                return Closures.NONE;
+            }
+            Closures closures = closuresByDate.get(date);
+            if (closures != null) {
+                return closures;
+            }
+            if (closuresByDate.size() >= MAX_CACHED_DATES) {
+                closuresByDate.clear();
+            }
+            return closuresByDate.computeIfAbsent(date, this::build);
+        }
+
+        private Closures build(LocalDate date) {
+            Closures.Builder closures = Closures.builder();
+            for (DisruptionWindow window : windows) {
+                if (!window.isActiveOn(date)) {
+                    continue;
+                }
+                if (window.locationId() != null) {
+                    closures.location(window.locationId());
+                } else {
+                    closures.transportation(window.transportationId());
+                }
+            }
+            return closures.build();
+        }
+    }
+}
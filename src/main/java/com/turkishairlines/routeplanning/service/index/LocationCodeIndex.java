@@ -0,0 +1,212 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.service.cache.LocationCodeNegativeCache;
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory dictionary of all active locations keyed by normalized (trimmed,
+ * upper-case) location code and by id. Loaded at startup, kept current through
+ * {@link LocationChangedEvent}s and reloaded periodically to pick up changes made
+ * by other instances. Misses fall back to the database but are not added to the
+ * dictionary, since a read racing a delete or rename could bring an old code back.
+ * Both maps are replaced as a whole on every change, and changes applied while a reload
+ * reads are applied again to its result; the derived indexes are rebuilt off the request
+ * thread shortly after a burst of changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationCodeIndex {
+
+    private static final Duration REBUILD_DELAY = Duration.ofMillis(200);
+
+    private final LocationRepository locationRepository;
+    private final LocationCodeNegativeCache negativeCache;
+    private final List<LocationSnapshotListener> snapshotListeners;
+    private final TaskScheduler taskScheduler;
+
+    private final Object reloadLock = new Object();
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+    // Changes applied while a reload is reading, guarded by this
+    private List<LocationChangedEvent> changesDuringReload;
+
+    public static String normalize(String locationCode) {
+        return locationCode == null ? null : locationCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public Optional<LocationDTO> find(String locationCode) {
+        return Optional.ofNullable(resolveAll(List.of(locationCode)).get(locationCode));
+    }
+
+    /**
+     * Resolves many codes at once; codes missing from memory are loaded with a single query.
+     * The result is keyed by the codes as given and omits codes that do not exist.
+     */
+    public Map<String, LocationDTO> resolveAll(Collection<String> locationCodes) {
+        Snapshot current = snapshot;
+        Map<String, LocationDTO> resolved = new LinkedHashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+
+        for (String code : locationCodes) {
+            String normalized = normalize(code);
+            LocationDTO location = current.byCode().get(normalized);
+            if (location != null) {
+                resolved.put(code, location);
+            } else if (!negativeCache.isKnownMissing(normalized)) {
+                misses.add(normalized);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return resolved;
+        }
+
+        log.debug("Location code index miss for {}", misses);
+        long negativeGeneration = negativeCache.generation();
+        Map<String, LocationDTO> loaded = new LinkedHashMap<>();
+        for (Location location : locationRepository.findByLocationCodeIn(misses)) {
+            loaded.putIfAbsent(normalize(location.getLocationCode()), EntityMapper.toDTO(location));
+        }
+
+        for (String normalized : misses) {
+            if (!loaded.containsKey(normalized)) {
+                negativeCache.markMissing(normalized, negativeGeneration);
+            }
+        }
+        for (String code : locationCodes) {
+            LocationDTO location = loaded.get(normalize(code));
+            if (location != null) {
+                resolved.put(code, location);
+            }
+        }
+        return resolved;
+    }
+
+    public Optional<LocationDTO> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    public Collection<LocationDTO> all() {
+        return snapshot.byId().values();
+    }
+
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route-planning.location-index.refresh-interval:PT5M}",
+            initialDelayString = "${route-planning.location-index.refresh-interval:PT5M}")
+    public void reload() {
+        synchronized (reloadLock) {
+            List<LocationChangedEvent> changes = new ArrayList<>();
+            synchronized (this) {
+                changesDuringReload = changes;
+            }
+            Map<String, LocationDTO> byCode = new HashMap<>();
+            Map<Long, LocationDTO> byId = new HashMap<>();
+            try {
+                for (Location location : TransactionalCacheSupport.readFromPrimary(locationRepository::findAll)) {
+                    LocationDTO dto = EntityMapper.toDTO(location);
+                    byCode.putIfAbsent(normalize(dto.getLocationCode()), dto);
+                    byId.put(dto.getId(), dto);
+                }
+                // Changes committed while the load ran may be missing from it, so they are applied again
+                synchronized (this) {
+                    changes.forEach(change -> apply(change, byCode, byId));
+                    snapshot = new Snapshot(byCode, byId);
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringReload = null;
+                }
+            }
+            log.info("Loaded {} locations into the location code index", byId.size());
+        }
+        notifyListeners();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        synchronized (this) {
+            Map<String, LocationDTO> byCode = new HashMap<>(snapshot.byCode());
+            Map<Long, LocationDTO> byId = new HashMap<>(snapshot.byId());
+            apply(event, byCode, byId);
+            snapshot = new Snapshot(byCode, byId);
+            if (changesDuringReload != null) {
+                changesDuringReload.add(event);
+            }
+        }
+        scheduleRebuild();
+    }
+
+    private static void apply(LocationChangedEvent event, Map<String, LocationDTO> byCode,
+            Map<Long, LocationDTO> byId) {
+        LocationDTO previous = byId.get(event.locationId());
+        if (previous != null) {
+            byCode.remove(normalize(previous.getLocationCode()), previous);
+        }
+        if (event.previousLocationCode() != null) {
+            byCode.computeIfPresent(normalize(event.previousLocationCode()),
+                    (code, location) -> location.getId().equals(event.locationId()) ? null : location);
+        }
+
+        if (event.changeType() == LocationChangedEvent.ChangeType.DELETED) {
+            byId.remove(event.locationId());
+        } else {
+            byId.put(event.locationId(), event.location());
+            byCode.put(normalize(event.location().getLocationCode()), event.location());
+        }
+    }
+
+    // Coalesces the changes of the next moment into one rebuild of the derived indexes
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                notifyListeners();
+            }, Instant.now().plus(REBUILD_DELAY));
+        }
+    }
+
+    private void notifyListeners() {
+        synchronized (rebuildLock) {
+            List<LocationDTO> locations = List.copyOf(snapshot.byId().values());
+            for (LocationSnapshotListener listener : snapshotListeners) {
+                listener.onLocationsChanged(locations);
+            }
+        }
+    }
+
+    private record Snapshot(Map<String, LocationDTO> byCode, Map<Long, LocationDTO> byId) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead index over location name, city, country and code. Prefix matches come
+ * from a trie over the individual words; typo-tolerant matches from a trigram index.
+ * Results are ranked exact code, then code prefix, then word prefix, then fuzzy.
+ * The index is immutable and swapped as a whole whenever locations change.
+ */
+@Slf4j
+@Component
+public class LocationSearchIndex implements LocationSnapshotListener {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private static final int TIER_EXACT_CODE = 0;
+    private static final int TIER_CODE_PREFIX = 1;
+    private static final int TIER_WORD_PREFIX = 2;
+    private static final int TIER_FUZZY = 3;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+
+    @Override
+    public void onLocationsChanged(Collection<LocationDTO> locations) {
+        long start = System.nanoTime();
+        snapshot = Snapshot.build(locations);
+        log.debug("Rebuilt location search index with {} locations in {} µs", locations.size(),
+                (System.nanoTime() - start) / 1_000);
+    }
+
+    public List<LocationDTO> search(String query, int limit) {
+        String normalized = normalize(query);
+        List<String> tokens = tokenize(normalized);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        Map<Integer, Double> scores = new HashMap<>();
+        String compactQuery = String.join("", tokens);
+
+        for (int entry : current.codeTrie.exact(compactQuery)) {
+            scores.merge(entry, tieBreak(current, entry, TIER_EXACT_CODE), Math::min);
+        }
+        for (int entry : current.codeTrie.withPrefix(compactQuery)) {
+            scores.merge(entry, tieBreak(current, entry, TIER_CODE_PREFIX), Math::min);
+        }
+        for (int entry : current.wordPrefixMatches(tokens)) {
+            scores.merge(entry, tieBreak(current, entry, TIER_WORD_PREFIX), Math::min);
+        }
+        if (scores.size() < limit) {
+            current.fuzzyMatches(tokens, (entry, similarity) ->
+                    scores.merge(entry, TIER_FUZZY + (1.0 - similarity) * 0.5, Math::min));
+        }
+
+        // Bounded max-heap keeps only the best `limit` candidates
+        Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(limit + 1, byScore.reversed());
+        for (Map.Entry<Integer, Double> scored : scores.entrySet()) {
+            best.offer(scored);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(byScore.thenComparing(scored -> current.entries[scored.getKey()].getName()));
+        return ranked.stream().map(scored -> current.entries[scored.getKey()]).toList();
+    }
+
+    public int size() {
+        return snapshot.entries.length;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.replace('ı', 'i').replace('İ', 'I').toLowerCase(Locale.ROOT);
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    static List<String> tokenize(String normalized) {
+        return Arrays.stream(NON_ALPHANUMERIC.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    // Shorter names win ties inside a tier
+    private static double tieBreak(Snapshot current, int entry, int tier) {
+        return tier + Math.min(current.entries[entry].getName().length(), 999) / 10_000.0;
+    }
+
+    private static Set<String> trigrams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (padded.length() < 3) {
+            trigrams.add(padded);
+            return trigrams;
+        }
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    @FunctionalInterface
+    private interface FuzzyMatchConsumer {
+        void accept(int entry, double similarity);
+    }
+
+    private static final class Snapshot {
+
+        private final LocationDTO[] entries;
+        private final Trie codeTrie = new Trie();
+        private final Trie wordTrie = new Trie();
+        private final Map<String, int[]> trigramPostings;
+        private final int[] trigramCounts;
+
+        private Snapshot(LocationDTO[] entries, Map<String, int[]> trigramPostings, int[] trigramCounts) {
+            this.entries = entries;
+            this.trigramPostings = trigramPostings;
+            this.trigramCounts = trigramCounts;
+        }
+
+        static Snapshot build(Collection<LocationDTO> locations) {
+            LocationDTO[] entries = locations.toArray(LocationDTO[]::new);
+            Map<String, IntList> postings = new HashMap<>();
+            int[] trigramCounts = new int[entries.length];
+
+            Snapshot snapshot = new Snapshot(entries, new HashMap<>(), trigramCounts);
+            for (int entry = 0; entry < entries.length; entry++) {
+                LocationDTO location = entries[entry];
+                String code = String.join("", tokenize(normalize(location.getLocationCode())));
+                snapshot.codeTrie.insert(code, entry);
+
+                Set<String> words = new LinkedHashSet<>();
+                words.addAll(tokenize(normalize(location.getName())));
+                words.addAll(tokenize(normalize(location.getCity())));
+                words.addAll(tokenize(normalize(location.getCountry())));
+                words.add(code);
+
+                Set<String> entryTrigrams = new LinkedHashSet<>();
+                for (String word : words) {
+                    snapshot.wordTrie.insert(word, entry);
+                    entryTrigrams.addAll(trigrams(word));
+                }
+                for (String trigram : entryTrigrams) {
+                    postings.computeIfAbsent(trigram, key -> new IntList()).add(entry);
+                }
+                trigramCounts[entry] = entryTrigrams.size();
+            }
+            postings.forEach((trigram, list) -> snapshot.trigramPostings.put(trigram, list.toArray()));
+            snapshot.codeTrie.freeze();
+            snapshot.wordTrie.freeze();
+            return snapshot;
+        }
+
+        // Entries where every query token is a prefix of one of their words
+        int[] wordPrefixMatches(List<String> tokens) {
+            int[] matches = null;
+            for (String token : tokens) {
+                int[] postings = wordTrie.withPrefix(token);
+                matches = matches == null ? postings : intersect(matches, postings);
+                if (matches.length == 0) {
+                    break;
+                }
+            }
+            return matches == null ? new int[0] : matches;
+        }
+
+        void fuzzyMatches(List<String> tokens, FuzzyMatchConsumer consumer) {
+            Set<String> queryTrigrams = new LinkedHashSet<>();
+            tokens.forEach(token -> queryTrigrams.addAll(trigrams(token)));
+
+            int[] shared = new int[entries.length];
+            for (String trigram : queryTrigrams) {
+                for (int entry : trigramPostings.getOrDefault(trigram, new int[0])) {
+                    shared[entry]++;
+                }
+            }
+            for (int entry = 0; entry < shared.length; entry++) {
+                if (shared[entry] == 0) {
+                    continue;
+                }
+                // Overlap coefficient against the query: how much of what was typed appears in the entry
+                double similarity = (double) shared[entry]
+                        / Math.min(queryTrigrams.size(), trigramCounts[entry]);
+                if (similarity >= MIN_SIMILARITY) {
+                    consumer.accept(entry, Math.min(similarity, 1.0));
+                }
+            }
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+    }
+
+    /**
+     * Character trie whose nodes carry the sorted entries of every word below them,
+     * so a prefix lookup costs the length of the prefix.
+     */
+    private static final class Trie {
+
+        private final Node root = new Node();
+
+        void insert(String word, int entry) {
+            if (word.isEmpty()) {
+                return;
+            }
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), key -> new Node());
+                node.subtree.addIfLast(entry);
+            }
+            node.terminal.addIfLast(entry);
+        }
+
+        int[] withPrefix(String prefix) {
+            Node node = find(prefix);
+            return node == null ? new int[0] : node.subtreeEntries;
+        }
+
+        int[] exact(String word) {
+            Node node = find(word);
+            return node == null ? new int[0] : node.terminalEntries;
+        }
+
+        void freeze() {
+            root.freeze();
+        }
+
+        private Node find(String prefix) {
+            if (prefix.isEmpty()) {
+                return null;
+            }
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        private static final class Node {
+            private final Map<Character, Node> children = new HashMap<>();
+            private IntList subtree = new IntList();
+            private IntList terminal = new IntList();
+            private int[] subtreeEntries;
+            private int[] terminalEntries;
+
+            void freeze() {
+                subtreeEntries = subtree.toArray();
+                terminalEntries = terminal.toArray();
+                subtree = null;
+                terminal = null;
+                children.values().forEach(Node::freeze);
+            }
+        }
+    }
+
+    // Entries are inserted in ascending order, so skipping repeats of the last value keeps lists sorted and unique
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addIfLast(int value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+
+import java.util.Collection;
+
+/**
+ * Derived in-memory indexes that rebuild from the full location set whenever
+ * {@link LocationCodeIndex} changes.
+ */
+public interface LocationSnapshotListener {
+
+    void onLocationsChanged(Collection<LocationDTO> locations);
+}
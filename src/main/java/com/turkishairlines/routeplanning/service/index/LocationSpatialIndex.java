@@ -0,0 +1,179 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * k-d tree over the locations that have coordinates, answering k-nearest and radius
+ * queries in memory. Points are stored as unit vectors, so straight-line (chord) distance
+ * orders them exactly like great-circle distance and nothing special happens at the
+ * antimeridian or the poles. The tree is immutable and swapped as a whole whenever
+ * locations change.
+ */
+@Slf4j
+@Component
+public class LocationSpatialIndex implements LocationSnapshotListener {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private volatile Tree tree = Tree.build(List.of());
+
+    @Override
+    public void onLocationsChanged(Collection<LocationDTO> locations) {
+        long start = System.nanoTime();
+        List<LocationDTO> located = locations.stream()
+                .filter(location -> location.getLatitude() != null && location.getLongitude() != null)
+                .toList();
+        tree = Tree.build(located);
+        log.debug("Rebuilt location spatial index with {} of {} locations in {} µs", located.size(),
+                locations.size(), (System.nanoTime() - start) / 1_000);
+    }
+
+    /**
+     * Up to {@code limit} locations closest to the point, nearest first; a null radius means
+     * no distance bound.
+     */
+    public List<NearbyLocation> nearest(double latitude, double longitude, int limit, Double radiusKm) {
+        Tree current = tree;
+        if (limit <= 0 || current.size() == 0) {
+            return List.of();
+        }
+        double[] target = toUnitVector(latitude, longitude);
+        double maxChordSquared = radiusKm == null ? Double.MAX_VALUE : square(chordOf(radiusKm));
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Candidate::chordSquared).reversed());
+        current.search(0, current.size(), 0, target, limit, maxChordSquared, best);
+
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(Candidate::chordSquared)
+                .thenComparing(candidate -> current.locations[candidate.index()].getLocationCode()));
+        return ranked.stream()
+                .map(candidate -> new NearbyLocation(current.locations[candidate.index()],
+                        distanceOf(Math.sqrt(candidate.chordSquared()))))
+                .toList();
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude,
+            double toLongitude) {
+        double[] from = toUnitVector(fromLatitude, fromLongitude);
+        double[] to = toUnitVector(toLatitude, toLongitude);
+        return distanceOf(Math.sqrt(square(from[0] - to[0]) + square(from[1] - to[1]) + square(from[2] - to[2])));
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        return new double[] {
+                Math.cos(phi) * Math.cos(lambda),
+                Math.cos(phi) * Math.sin(lambda),
+                Math.sin(phi)
+        };
+    }
+
+    private static double chordOf(double distanceKm) {
+        return 2 * Math.sin(Math.min(distanceKm / EARTH_RADIUS_KM, Math.PI) / 2);
+    }
+
+    private static double distanceOf(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(chord / 2, 1.0));
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    public record NearbyLocation(LocationDTO location, double distanceKm) {
+    }
+
+    private record Candidate(int index, double chordSquared) {
+    }
+
+    // Implicit balanced tree: the median of [from, to) is the node, split on axis depth % 3
+    private static final class Tree {
+
+        private final LocationDTO[] locations;
+        private final double[][] points;
+
+        private Tree(LocationDTO[] locations, double[][] points) {
+            this.locations = locations;
+            this.points = points;
+        }
+
+        static Tree build(List<LocationDTO> located) {
+            Integer[] order = new Integer[located.size()];
+            double[][] vectors = new double[located.size()][];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                vectors[i] = toUnitVector(located.get(i).getLatitude(), located.get(i).getLongitude());
+            }
+            arrange(order, vectors, 0, order.length, 0);
+
+            LocationDTO[] locations = new LocationDTO[order.length];
+            double[][] points = new double[order.length][];
+            for (int i = 0; i < order.length; i++) {
+                locations[i] = located.get(order[i]);
+                points[i] = vectors[order[i]];
+            }
+            return new Tree(locations, points);
+        }
+
+        private static void arrange(Integer[] order, double[][] vectors, int from, int to, int depth) {
+            if (to - from <= 1) {
+                return;
+            }
+            int axis = depth % 3;
+            Arrays.sort(order, from, to, Comparator.comparingDouble(i -> vectors[i][axis]));
+            int mid = (from + to) >>> 1;
+            arrange(order, vectors, from, mid, depth + 1);
+            arrange(order, vectors, mid + 1, to, depth + 1);
+        }
+
+        int size() {
+            return locations.length;
+        }
+
+        void search(int from, int to, int depth, double[] target, int limit, double maxChordSquared,
+                PriorityQueue<Candidate> best) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            double[] point = points[mid];
+            double chordSquared = square(point[0] - target[0]) + square(point[1] - target[1])
+                    + square(point[2] - target[2]);
+            if (chordSquared <= maxChordSquared) {
+                best.offer(new Candidate(mid, chordSquared));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            int axis = depth % 3;
+            double offset = target[axis] - point[axis];
+            boolean nearLeft = offset < 0;
+            search(nearLeft ? from : mid + 1, nearLeft ? mid : to, depth + 1, target, limit, maxChordSquared, best);
+
+            // The far side can only help if the splitting plane is closer than the current bound
+            double bound = best.size() < limit
+                    ? maxChordSquared
+                    : Math.min(maxChordSquared, best.peek().chordSquared());
+            if (square(offset) <= bound) {
+                search(nearLeft ? mid + 1 : from, nearLeft ? to : mid, depth + 1, target, limit, maxChordSquared,
+                        best);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.strategy.RouteRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bit sets over airports (locations served by a flight) that decide whether a route can
+ * exist before any strategy runs. Every valid route is [ground] flight [ground], so one
+ * exists only if an airport the origin reaches in at most one ground leg has a flight to an
+ * airport that reaches the destination in at most one ground leg. A positive answer may
+ * still yield no route; a negative one is exact while the index is current. One view is
+ * kept per weekday plus one for searches without a date; validity ranges and exception
+ * dates are ignored, which only adds positives.
+ * <p>
+ * Rebuilt after transportation changes made through this instance and periodically. Changes
+ * made by other instances are caught between rebuilds by polling the latest transportation
+ * write time; once it moves, or when the index has not been confirmed current within the
+ * refresh interval, every pair is a candidate until the next build lands, as before the first.
+ */
+@Slf4j
+@Component
+public class RouteReachabilityIndex {
+
+    private static final int ANY_DAY = 7;
+    private static final Duration REBUILD_DELAY = Duration.ofMillis(200);
+
+    private final TransportationRepository transportationRepository;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    // Bumped by every local change; a build that started before one is dropped, guarded by publishLock
+    private final AtomicLong changes = new AtomicLong();
+    private final Object publishLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile long confirmedAt;
+
+    public RouteReachabilityIndex(TransportationRepository transportationRepository, TaskScheduler taskScheduler,
+            @Value("${route-planning.reachability-index.enabled:true}") boolean enabled,
+            @Value("${route-planning.reachability-index.refresh-interval:PT1M}") Duration refreshInterval) {
+        this.transportationRepository = transportationRepository;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.maxAgeNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * False only when no 1-3 leg route between the locations can operate on the date.
+     */
+    public boolean mayHaveRoute(Long originLocationId, Long destinationLocationId, LocalDate date) {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - confirmedAt > maxAgeNanos) {
+            return true;
+        }
+        View view = current.views()[date == null ? ANY_DAY : date.getDayOfWeek().getValue() - 1];
+        long[] access = view.access().get(originLocationId);
+        long[] egress = view.egress().get(destinationLocationId);
+        if (access == null || egress == null) {
+            return false;
+        }
+        for (int word = 0; word < access.length; word++) {
+            long bits = access[word];
+            while (bits != 0) {
+                long[] flights = view.flights()[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                if (flights != null && intersects(flights, egress)) {
+                    return true;
+                }
+                bits &= bits - 1;
+            }
+        }
+        return false;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route-planning.reachability-index.refresh-interval:PT1M}",
+            initialDelayString = "${route-planning.reachability-index.refresh-interval:PT1M}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        long changesBefore = changes.get();
+        // Read before the legs, so a change racing the load moves the mark past this one
+        Instant lastChangedAt = TransactionalCacheSupport.readFromPrimary(
+                transportationRepository::findLastChangedAt);
+        List<TransportationLeg> legs = TransactionalCacheSupport.readFromPrimary(transportationRepository::findAllLegs);
+        Snapshot loaded = build(legs, lastChangedAt);
+        synchronized (publishLock) {
+            if (changes.get() != changesBefore) {
+                log.debug("Transportations changed while the route reachability index was loading, dropping it");
+                return;
+            }
+            confirmedAt = System.nanoTime();
+            snapshot = loaded;
+        }
+        log.info("Loaded {} legs over {} airports into the route reachability index", legs.size(),
+                loaded.airportCount());
+    }
+
+    /**
+     * Confirms the index still matches the database, dropping it when a transportation was
+     * written since it was built.
+     */
+    @Scheduled(fixedDelayString = "${route-planning.reachability-index.change-check-interval:PT5S}",
+            initialDelayString = "${route-planning.reachability-index.change-check-interval:PT5S}")
+    public synchronized void checkForChanges() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return;
+        }
+        Instant lastChangedAt = TransactionalCacheSupport.readFromPrimary(
+                transportationRepository::findLastChangedAt);
+        if (Objects.equals(lastChangedAt, current.lastChangedAt())) {
+            confirmedAt = System.nanoTime();
+            return;
+        }
+        log.debug("Transportations changed at {}, rebuilding the route reachability index", lastChangedAt);
+        snapshot = null;
+        scheduleRebuild();
+    }
+
+    // Answers "maybe" until the rebuild lands, so a new leg is never reported unreachable
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (publishLock) {
+            changes.incrementAndGet();
+            snapshot = null;
+        }
+        scheduleRebuild();
+    }
+
+    // Coalesces a burst of changes into one rebuild, off the thread that committed them
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                reload();
+            }, Instant.now().plus(REBUILD_DELAY));
+        }
+    }
+
+    private static Snapshot build(List<TransportationLeg> legs, Instant lastChangedAt) {
+        Map<Long, Integer> airports = new HashMap<>();
+        for (TransportationLeg leg : legs) {
+            if (leg.transportationType() == TransportationType.FLIGHT) {
+                airports.putIfAbsent(leg.originLocationId(), airports.size());
+                airports.putIfAbsent(leg.destinationLocationId(), airports.size());
+            }
+        }
+
+        int words = (airports.size() + 63) >>> 6;
+        View[] views = new View[ANY_DAY + 1];
+        for (int day = 0; day < views.length; day++) {
+            views[day] = new View(new long[airports.size()][], new HashMap<>(), new HashMap<>());
+            // An airport is its own access and egress point, with no ground leg
+            for (Map.Entry<Long, Integer> airport : airports.entrySet()) {
+                set(views[day].access().computeIfAbsent(airport.getKey(), id -> new long[words]), airport.getValue());
+                set(views[day].egress().computeIfAbsent(airport.getKey(), id -> new long[words]), airport.getValue());
+            }
+        }
+
+        for (TransportationLeg leg : legs) {
+            int days = RouteRules.dayMask(leg.operatingDays());
+            Integer origin = airports.get(leg.originLocationId());
+            Integer destination = airports.get(leg.destinationLocationId());
+            for (int day = 0; day < views.length; day++) {
+                if (day != ANY_DAY && (days & (1 << day)) == 0) {
+                    continue;
+                }
+                View view = views[day];
+                if (leg.transportationType() == TransportationType.FLIGHT) {
+                    if (view.flights()[origin] == null) {
+                        view.flights()[origin] = new long[words];
+                    }
+                    set(view.flights()[origin], destination);
+                    continue;
+                }
+                if (destination != null) {
+                    set(view.access().computeIfAbsent(leg.originLocationId(), id -> new long[words]), destination);
+                }
+                if (origin != null) {
+                    set(view.egress().computeIfAbsent(leg.destinationLocationId(), id -> new long[words]), origin);
+                }
+            }
+        }
+        return new Snapshot(views, airports.size(), lastChangedAt);
+    }
+
+    // Branch-free OR reduction over the words, which C2 compiles to SIMD
+    private static boolean intersects(long[] left, long[] right) {
+        long any = 0;
+        for (int i = 0; i < left.length; i++) {
+            any |= left[i] & right[i];
+        }
+        return any != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private record Snapshot(View[] views, int airportCount, Instant lastChangedAt) {
+    }
+
+    // Flight rows are indexed by airport slot; access and egress rows by location id
+    private record View(long[][] flights, Map<Long, long[]> access, Map<Long, long[]> egress) {
+    }
+}
@@ -0,0 +1,534 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.LocationTransferTime;
+import com.turkishairlines.routeplanning.repository.TimetableLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.strategy.Closures;
+import com.turkishairlines.routeplanning.service.strategy.RouteRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Connection-scan timetable over every leg with a scheduled departure and arrival. For each
+ * weekday the legs of that day and the next are flattened into primitive arrays sorted by
+ * departure, with an arrival-ordered permutation for backward scans, so earliest-arrival
+ * and latest-departure queries are one linear pass without touching the database. The
+ * route rules are tracked per location as the position in the leg sequence, and changing
+ * legs at a location takes at least its minimum transfer time. Legs with a validity range
+ * or exception dates are checked against the date they depart on as the scan reaches them,
+ * and so are disruption closures when a query passes them in.
+ * <p>
+ * Rebuilt shortly after a burst of transportation and location changes made through this
+ * instance, off the thread that committed them, and periodically. Changes made by other
+ * instances are caught between rebuilds by polling the latest transportation and location
+ * write times. Until a rebuild lands after a change, or when the timetable has not been
+ * confirmed current within the refresh interval, queries build a throwaway timetable from
+ * the database, as they always do when the index is disabled.
+ */
+@Slf4j
+@Component
+public class TimetableIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Duration REBUILD_DELAY = Duration.ofMillis(200);
+
+    // Position in the leg sequence; both flight states allow the same single ground leg, so they share one
+    private static final int START = 0;
+    private static final int GROUND = 1;
+    private static final int FLOWN = 2;
+    private static final int COMPLETE = 3;
+    private static final int STATES = 4;
+
+    private final TransportationRepository transportationRepository;
+    private final LocationRepository locationRepository;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int defaultTransferMinutes;
+    private final long maxAgeNanos;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    // Bumped by every local change, so a reload that read before the change does not count as current
+    private final AtomicLong changes = new AtomicLong();
+    private final Object publishLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile boolean outdated;
+    private volatile long confirmedAt;
+
+    public TimetableIndex(TransportationRepository transportationRepository, LocationRepository locationRepository,
+            TaskScheduler taskScheduler,
+            @Value("${route-planning.timetable-index.enabled:true}") boolean enabled,
+            @Value("${route-planning.timetable-index.default-transfer-minutes:30}") int defaultTransferMinutes,
+            @Value("${route-planning.timetable-index.refresh-interval:PT5M}") Duration refreshInterval) {
+        this.transportationRepository = transportationRepository;
+        this.locationRepository = locationRepository;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.defaultTransferMinutes = defaultTransferMinutes;
+        this.maxAgeNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * The journey leaving the origin no earlier than {@code departAfter} on the date that
+     * arrives first, departing as late as that arrival allows.
+     */
+    public Optional<Journey> earliestArrival(Long originLocationId, Long destinationLocationId, LocalDate date,
+            LocalTime departAfter) {
+        return earliestArrival(originLocationId, destinationLocationId, date, departAfter, day -> Closures.NONE);
+    }
+
+    public Optional<Journey> earliestArrival(Long originLocationId, Long destinationLocationId, LocalDate date,
+            LocalTime departAfter, Function<LocalDate, Closures> closures) {
+        Snapshot current = current();
+        Integer origin = current.stops().get(originLocationId);
+        Integer destination = current.stops().get(destinationLocationId);
+        if (origin == null || destination == null) {
+            return Optional.empty();
+        }
+        Optional<Journey> earliest = scanForward(current, origin, destination, date, minutes(departAfter),
+                closures);
+        // The forward scan keeps the first departure that reaches the best arrival; tighten it from the back
+        return earliest.map(journey -> {
+            LocalDateTime arrival = journey.arrival();
+            return scanBackward(current, origin, destination, arrival.toLocalDate().minusDays(1),
+                    MINUTES_PER_DAY + minutes(arrival.toLocalTime()), closures)
+                    .filter(latest -> !latest.departure().isBefore(journey.departure()))
+                    .orElse(journey);
+        });
+    }
+
+    /**
+     * The journey arriving at the destination no later than {@code arriveBy} on the date
+     * that leaves the origin last.
+     */
+    public Optional<Journey> latestDeparture(Long originLocationId, Long destinationLocationId, LocalDate date,
+            LocalTime arriveBy) {
+        return latestDeparture(originLocationId, destinationLocationId, date, arriveBy, day -> Closures.NONE);
+    }
+
+    public Optional<Journey> latestDeparture(Long originLocationId, Long destinationLocationId, LocalDate date,
+            LocalTime arriveBy, Function<LocalDate, Closures> closures) {
+        Snapshot current = current();
+        Integer origin = current.stops().get(originLocationId);
+        Integer destination = current.stops().get(destinationLocationId);
+        if (origin == null || destination == null) {
+            return Optional.empty();
+        }
+        // The previous day's timetable also holds this day's legs, shifted by a day
+        return scanBackward(current, origin, destination, date.minusDays(1), MINUTES_PER_DAY + minutes(arriveBy),
+                closures);
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Whether the timetable is loaded and no transportation or location is known to have changed since.
+     */
+    public boolean isCurrent() {
+        return snapshot != null && !outdated && System.nanoTime() - confirmedAt <= maxAgeNanos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route-planning.timetable-index.refresh-interval:PT5M}",
+            initialDelayString = "${route-planning.timetable-index.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        long changesBefore = changes.get();
+        // Read before the legs, so a change racing the load moves the marks past these
+        WriteMarks marks = TransactionalCacheSupport.readFromPrimary(this::readWriteMarks);
+        Snapshot loaded = TransactionalCacheSupport.readFromPrimary(() -> load(marks));
+        synchronized (publishLock) {
+            confirmedAt = System.nanoTime();
+            snapshot = loaded;
+            outdated = changes.get() != changesBefore;
+        }
+        log.info("Loaded {} timetabled connections over {} locations into the timetable index",
+                loaded.connectionCount(), loaded.stops().size());
+    }
+
+    @Scheduled(fixedDelayString = "${route-planning.timetable-index.change-check-interval:PT5S}",
+            initialDelayString = "${route-planning.timetable-index.change-check-interval:PT5S}")
+    public synchronized void checkForChanges() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null || outdated) {
+            return;
+        }
+        WriteMarks marks = TransactionalCacheSupport.readFromPrimary(this::readWriteMarks);
+        if (marks.equals(current.marks())) {
+            confirmedAt = System.nanoTime();
+            return;
+        }
+        log.debug("Transportations or locations changed at {}, rebuilding the timetable index", marks);
+        outdated = true;
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        changed();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(LocationChangedEvent event) {
+        changed();
+    }
+
+    private void changed() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (publishLock) {
+            changes.incrementAndGet();
+            outdated = true;
+        }
+        scheduleRebuild();
+    }
+
+    // Coalesces a burst of changes into one rebuild, off the thread that committed them
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                reload();
+            }, Instant.now().plus(REBUILD_DELAY));
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null && isCurrent() ? current : load(null);
+    }
+
+    private WriteMarks readWriteMarks() {
+        return new WriteMarks(transportationRepository.findLastChangedAt(), locationRepository.findLastChangedAt());
+    }
+
+    private Snapshot load(WriteMarks marks) {
+        return build(transportationRepository.findAllTimetableLegs(), locationRepository.findAllTransferTimes(),
+                defaultTransferMinutes, marks);
+    }
+
+    private static Optional<Journey> scanForward(Snapshot snapshot, int origin, int destination, LocalDate date,
+            int departAfter, Function<LocalDate, Closures> closures) {
+        Day day = snapshot.days()[date.getDayOfWeek().getValue() - 1];
+        Closures[] closed = closuresByServiceDay(closures, date);
+        int stops = snapshot.stops().size();
+        int[][] arrival = filled(stops, Integer.MAX_VALUE);
+        int[][] via = filled(stops, -1);
+        int[][] previous = filled(stops, -1);
+        arrival[START][origin] = departAfter;
+
+        int best = Integer.MAX_VALUE;
+        for (int i = firstAtOrAfter(day.departure(), departAfter); i < day.size(); i++) {
+            int departure = day.departure()[i];
+            if (departure >= best) {
+                break;
+            }
+            int from = day.from()[i];
+            int to = day.to()[i];
+            if (to == origin || from == destination || !runsOn(day, i, date) || isClosed(snapshot, day, i, closed)) {
+                continue;
+            }
+            for (int state = START; state < COMPLETE; state++) {
+                int reached = arrival[state][from];
+                if (reached == Integer.MAX_VALUE
+                        || (state == START ? reached : reached + snapshot.transfer()[from]) > departure) {
+                    continue;
+                }
+                int next = next(state, day.flight()[i]);
+                if (next >= 0 && day.arrival()[i] < arrival[next][to]) {
+                    arrival[next][to] = day.arrival()[i];
+                    via[next][to] = i;
+                    previous[next][to] = state;
+                    if (to == destination && next >= FLOWN) {
+                        best = Math.min(best, day.arrival()[i]);
+                    }
+                }
+            }
+        }
+        if (best == Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+
+        int state = arrival[FLOWN][destination] <= arrival[COMPLETE][destination] ? FLOWN : COMPLETE;
+        List<JourneyLeg> legs = new ArrayList<>();
+        for (int stop = destination; state != START; ) {
+            int connection = via[state][stop];
+            legs.add(0, leg(day, connection, date));
+            state = previous[state][stop];
+            stop = day.from()[connection];
+        }
+        return Optional.of(new Journey(legs));
+    }
+
+    private static Optional<Journey> scanBackward(Snapshot snapshot, int origin, int destination, LocalDate date,
+            int arriveBy, Function<LocalDate, Closures> closures) {
+        Day day = snapshot.days()[date.getDayOfWeek().getValue() - 1];
+        Closures[] closed = closuresByServiceDay(closures, date);
+        int stops = snapshot.stops().size();
+        int[][] departure = filled(stops, Integer.MIN_VALUE);
+        int[][] via = filled(stops, -1);
+        int[][] previous = filled(stops, -1);
+        departure[START][destination] = arriveBy;
+
+        int best = Integer.MIN_VALUE;
+        for (int k = firstAtOrAfter(day.sortedArrival(), arriveBy + 1) - 1; k >= 0; k--) {
+            int i = day.arrivalOrder()[k];
+            int arrival = day.arrival()[i];
+            if (arrival <= best) {
+                break;
+            }
+            int from = day.from()[i];
+            int to = day.to()[i];
+            if (from == destination || to == origin || !runsOn(day, i, date) || isClosed(snapshot, day, i, closed)) {
+                continue;
+            }
+            // Sequences read the same backwards, so the same state machine runs over the legs in reverse
+            for (int state = START; state < COMPLETE; state++) {
+                int latest = departure[state][to];
+                if (latest == Integer.MIN_VALUE
+                        || arrival > (state == START ? latest : latest - snapshot.transfer()[to])) {
+                    continue;
+                }
+                int next = next(state, day.flight()[i]);
+                if (next >= 0 && day.departure()[i] > departure[next][from]) {
+                    departure[next][from] = day.departure()[i];
+                    via[next][from] = i;
+                    previous[next][from] = state;
+                    if (from == origin && next >= FLOWN) {
+                        best = Math.max(best, day.departure()[i]);
+                    }
+                }
+            }
+        }
+        if (best == Integer.MIN_VALUE) {
+            return Optional.empty();
+        }
+
+        int state = departure[FLOWN][origin] >= departure[COMPLETE][origin] ? FLOWN : COMPLETE;
+        List<JourneyLeg> legs = new ArrayList<>();
+        for (int stop = origin; state != START; ) {
+            int connection = via[state][stop];
+            legs.add(leg(day, connection, date));
+            state = previous[state][stop];
+            stop = day.to()[connection];
+        }
+        return Optional.of(new Journey(legs));
+    }
+
+    private static int next(int state, boolean flight) {
+        return switch (state) {
+            case START -> flight ? FLOWN : GROUND;
+            case GROUND -> flight ? FLOWN : -1;
+            case FLOWN -> flight ? -1 : COMPLETE;
+            default -> -1;
+        };
+    }
+
+    // Connections departing after midnight belong to the next day's service
+    private static boolean runsOn(Day day, int connection, LocalDate date) {
+        Validity validity = day.validity()[connection];
+        if (validity == null) {
+            return true;
+        }
+        LocalDate serviceDate = day.departure()[connection] < MINUTES_PER_DAY ? date : date.plusDays(1);
+        return RouteRules.isValidOn(validity.validFrom(), validity.validTo(), validity.exceptionDates(),
+                serviceDate);
+    }
+
+    // Closures of the day and the next, as a connection departing after midnight runs on the next day
+    private static Closures[] closuresByServiceDay(Function<LocalDate, Closures> closures, LocalDate date) {
+        Closures today = closures.apply(date);
+        Closures tomorrow = closures.apply(date.plusDays(1));
+        return today.isEmpty() && tomorrow.isEmpty() ? null : new Closures[] { today, tomorrow };
+    }
+
+    private static boolean isClosed(Snapshot snapshot, Day day, int connection, Closures[] closed) {
+        if (closed == null) {
+            return false;
+        }
+        Closures closures = closed[day.departure()[connection] < MINUTES_PER_DAY ? 0 : 1];
+        return closures.closes(day.legIds()[connection], snapshot.locationIds()[day.from()[connection]],
+                snapshot.locationIds()[day.to()[connection]]);
+    }
+
+    private static JourneyLeg leg(Day day, int connection, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        return new JourneyLeg(day.legIds()[connection], start.plusMinutes(day.departure()[connection]),
+                start.plusMinutes(day.arrival()[connection]));
+    }
+
+    private static int[][] filled(int stops, int value) {
+        int[][] values = new int[STATES][stops];
+        for (int[] row : values) {
+            Arrays.fill(row, value);
+        }
+        return values;
+    }
+
+    // Index of the first element not below the key in an ascending array
+    private static int firstAtOrAfter(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static Snapshot build(List<TimetableLeg> legs, List<LocationTransferTime> transferTimes,
+            int defaultTransferMinutes, WriteMarks marks) {
+        Map<Long, Integer> stops = new HashMap<>();
+        for (TimetableLeg leg : legs) {
+            stops.putIfAbsent(leg.originLocationId(), stops.size());
+            stops.putIfAbsent(leg.destinationLocationId(), stops.size());
+        }
+        long[] locationIds = new long[stops.size()];
+        stops.forEach((locationId, stop) -> locationIds[stop] = locationId);
+        int[] transfer = new int[stops.size()];
+        Arrays.fill(transfer, defaultTransferMinutes);
+        for (LocationTransferTime transferTime : transferTimes) {
+            Integer stop = stops.get(transferTime.locationId());
+            if (stop != null) {
+                transfer[stop] = transferTime.minTransferMinutes();
+            }
+        }
+
+        Day[] days = new Day[7];
+        int connectionCount = 0;
+        for (int day = 0; day < days.length; day++) {
+            List<Connection> connections = new ArrayList<>();
+            for (TimetableLeg leg : legs) {
+                int mask = RouteRules.dayMask(leg.operatingDays());
+                Validity validity = Validity.of(leg);
+                int departure = minutes(leg.departureTime());
+                int duration = Math.floorMod(minutes(leg.arrivalTime()) - departure, MINUTES_PER_DAY);
+                for (int offset = 0; offset < 2; offset++) {
+                    if ((mask & (1 << ((day + offset) % 7))) != 0) {
+                        int start = offset * MINUTES_PER_DAY + departure;
+                        connections.add(new Connection(start, start + duration, stops.get(leg.originLocationId()),
+                                stops.get(leg.destinationLocationId()), leg.id(),
+                                leg.transportationType() == TransportationType.FLIGHT, validity));
+                    }
+                }
+            }
+            connections.sort(Comparator.comparingInt(Connection::departure)
+                    .thenComparingInt(Connection::arrival)
+                    .thenComparingLong(Connection::legId));
+            days[day] = Day.of(connections);
+            connectionCount += connections.size();
+        }
+        return new Snapshot(stops, locationIds, transfer, days, connectionCount, marks);
+    }
+
+    public record Journey(List<JourneyLeg> legs) {
+
+        public LocalDateTime departure() {
+            return legs.get(0).departure();
+        }
+
+        public LocalDateTime arrival() {
+            return legs.get(legs.size() - 1).arrival();
+        }
+    }
+
+    public record JourneyLeg(long transportationId, LocalDateTime departure, LocalDateTime arrival) {
+    }
+
+    private record Connection(int departure, int arrival, int from, int to, long legId, boolean flight,
+            Validity validity) {
+    }
+
+    private record Validity(LocalDate validFrom, LocalDate validTo, LocalDate[] exceptionDates) {
+
+        // Null for legs valid on every date, so the scan skips the check for them
+        static Validity of(TimetableLeg leg) {
+            if (leg.validFrom() == null && leg.validTo() == null
+                    && (leg.exceptionDates() == null || leg.exceptionDates().length == 0)) {
+                return null;
+            }
+            return new Validity(leg.validFrom(), leg.validTo(), leg.exceptionDates());
+        }
+    }
+
+    // Minutes are counted from the start of the weekday the arrays belong to
+    private record Day(int[] departure, int[] arrival, int[] from, int[] to, long[] legIds, boolean[] flight,
+            Validity[] validity, int[] arrivalOrder, int[] sortedArrival) {
+
+        static Day of(List<Connection> connections) {
+            int size = connections.size();
+            Day day = new Day(new int[size], new int[size], new int[size], new int[size], new long[size],
+                    new boolean[size], new Validity[size], new int[size], new int[size]);
+            for (int i = 0; i < size; i++) {
+                Connection connection = connections.get(i);
+                day.departure[i] = connection.departure();
+                day.arrival[i] = connection.arrival();
+                day.from[i] = connection.from();
+                day.to[i] = connection.to();
+                day.legIds[i] = connection.legId();
+                day.flight[i] = connection.flight();
+                day.validity[i] = connection.validity();
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> day.arrival[i]));
+            for (int k = 0; k < size; k++) {
+                day.arrivalOrder[k] = order[k];
+                day.sortedArrival[k] = day.arrival[order[k]];
+            }
+            return day;
+        }
+
+        int size() {
+            return departure.length;
+        }
+    }
+
+    private record Snapshot(Map<Long, Integer> stops, long[] locationIds, int[] transfer, Day[] days,
+            int connectionCount, WriteMarks marks) {
+    }
+
+    private record WriteMarks(Instant transportationsChangedAt, Instant locationsChangedAt) {
+    }
+}
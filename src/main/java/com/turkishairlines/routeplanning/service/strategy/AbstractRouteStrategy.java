@@ -1,87 +1,78 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
-import com.turkishairlines.routeplanning.model.dto.LocationDTO;
-import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
-import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
-import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
-@RequiredArgsConstructor
 public abstract class AbstractRouteStrategy implements RouteStrategy {
 
     protected final TransportationRepository transportationRepository;
+    private final RepositoryLegSource repositoryLegSource;
 
-    protected boolean isValidRoute(List<Transportation> transportations) {
-        if (transportations.isEmpty() || transportations.size() > 3) {
-            return false;
-        }
-
-        long flightCount = transportations.stream()
-                .mapToLong(t -> t.getTransportationType() == TransportationType.FLIGHT ? 1 : 0)
-                .sum();
+    protected AbstractRouteStrategy(TransportationRepository transportationRepository) {
+        this.transportationRepository = transportationRepository;
+        this.repositoryLegSource = new RepositoryLegSource(transportationRepository);
+    }
 
-        if (flightCount != 1) {
-            return false;
-        }
-        int flightIndex = -1;
-        for (int i = 0; i < transportations.size(); i++) {
-            if (transportations.get(i).getTransportationType() == TransportationType.FLIGHT) {
-                flightIndex = i;
-                break;
-            }
-        }
+    @Override
+    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date) {
+        return findRoutes(origin, destination, date, new RouteSearchContext());
+    }
 
-        return switch (transportations.size()) {
-            case 1 -> true;
-            case 2 -> flightIndex == 0 || flightIndex == 1;
-            case 3 -> {
-                if (flightIndex != 1) {
-                    yield false;
-                }
-                TransportationType beforeFlight = transportations.get(0).getTransportationType();
-                TransportationType afterFlight = transportations.get(2).getTransportationType();
-                yield  beforeFlight != TransportationType.FLIGHT && afterFlight != TransportationType.FLIGHT;
-            }
-            default -> false;
-        };
+    // The request's leg source when it shares loaded legs across searches, the date's repository queries otherwise,
+    // seen through the request's scenario if it has one
+    protected LegSource legs(RouteSearchContext context, LocalDate date) {
+        LegSource legs = context.getLegSource() != null ? context.getLegSource() : repositoryLegSource.on(date);
+        return context.getScenario() != null ? context.getScenario().over(legs) : legs;
     }
 
-    protected boolean isTransportationValidForDate(Transportation transportation, LocalDate date) {
-        if (date == null || transportation.getOperatingDays() == null
-                || transportation.getOperatingDays().length == 0) {
-            return true;
+    // Reads legs, records the read in the strategy stats when it reached the repository and drops legs not running
+    // on the date
+    protected List<Transportation> fetch(RouteSearchContext context, StrategyStats stats, LocalDate date,
+            Supplier<List<Transportation>> query) {
+        FrontierLegSource frontier = context.getLegSource() instanceof FrontierLegSource loaded ? loaded : null;
+        int queriesBefore = frontier != null ? frontier.getQueriesIssued() : 0;
+        long start = System.nanoTime();
+        List<Transportation> rows = query.get();
+        if (frontier == null || frontier.getQueriesIssued() > queriesBefore) {
+            stats.recordQuery(rows.size(), System.nanoTime() - start);
         }
 
-        int dayOfWeek = date.getDayOfWeek().getValue(); // pzt = 1, pazar = 7
-        return Arrays.stream(transportation.getOperatingDays())
-                .anyMatch(day -> day == dayOfWeek);
+        Closures closures = context.closuresOn(date);
+        List<Transportation> operating = rows.stream()
+                .filter(t -> isTransportationValidForDate(t, date))
+                .filter(t -> !closures.closes(t))
+                .toList();
+        stats.addPrunedByDate(rows.size() - operating.size());
+        return operating;
     }
 
-    protected LocationDTO convertLocationToDTO(Location location) {
-        return LocationDTO.builder()
-                .id(location.getId())
-                .name(location.getName())
-                .country(location.getCountry())
-                .city(location.getCity())
-                .locationCode(location.getLocationCode())
-                .build();
+    protected boolean isValidRoute(List<Transportation> transportations) {
+        return RouteRules.isValidSequence(transportations.stream()
+                .map(Transportation::getTransportationType)
+                .toList());
+    }
+
+    protected boolean isTransportationValidForDate(Transportation transportation, LocalDate date) {
+        return RouteRules.operatesOn(transportation, date);
     }
 
-    protected TransportationDTO convertTransportationToDTO(Transportation transportation) {
-        return TransportationDTO.builder()
-                .id(transportation.getId())
-                .originLocationId(transportation.getOriginLocation().getId())
-                .destinationLocationId(transportation.getDestinationLocation().getId())
-                .transportationType(transportation.getTransportationType())
-                .operatingDays(transportation.getOperatingDays())
-                .originLocation(convertLocationToDTO(transportation.getOriginLocation()))
-                .destinationLocation(convertLocationToDTO(transportation.getDestinationLocation()))
+    protected RouteGroupDTO buildRouteGroup(Location origin, Location destination, Transportation flight,
+            List<Transportation> accessLegs, List<Transportation> egressLegs) {
+        return RouteGroupDTO.builder()
+                .originLocation(EntityMapper.toDTO(origin))
+                .destinationLocation(EntityMapper.toDTO(destination))
+                .flight(EntityMapper.toDTO(flight))
+                .accessLegs(accessLegs.stream().map(EntityMapper::toDTO).toList())
+                .egressLegs(egressLegs.stream().map(EntityMapper::toDTO).toList())
+                .totalRoutes(Math.max(accessLegs.size(), 1) * Math.max(egressLegs.size(), 1))
                 .build();
     }
 }
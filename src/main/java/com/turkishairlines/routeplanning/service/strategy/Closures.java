@@ -0,0 +1,68 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Locations and legs closed by disruptions on one date, as sets of ids. A leg is closed
+ * when it is closed itself or either of its endpoints is; the searches drop such legs
+ * after reading them, so the network they read from is never rewritten. Immutable once
+ * built.
+ */
+public final class Closures {
+
+    public static final Closures NONE = new Closures(Set.of(), Set.of());
+
+    private final Set<Long> closedLocations;
+    private final Set<Long> closedTransportations;
+
+    private Closures(Set<Long> closedLocations, Set<Long> closedTransportations) {
+        this.closedLocations = closedLocations;
+        this.closedTransportations = closedTransportations;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return closedLocations.isEmpty() && closedTransportations.isEmpty();
+    }
+
+    public boolean closes(long transportationId, long originLocationId, long destinationLocationId) {
+        return closedTransportations.contains(transportationId)
+                || closedLocations.contains(originLocationId)
+                || closedLocations.contains(destinationLocationId);
+    }
+
+    public boolean closes(Transportation transportation) {
+        return !isEmpty() && closes(transportation.getId(), transportation.getOriginLocation().getId(),
+                transportation.getDestinationLocation().getId());
+    }
+
+    public static final class Builder {
+
+        private final Set<Long> closedLocations = new HashSet<>();
+        private final Set<Long> closedTransportations = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder location(Long locationId) {
+            closedLocations.add(locationId);
+            return this;
+        }
+
+        public Builder transportation(Long transportationId) {
+            closedTransportations.add(transportationId);
+            return this;
+        }
+
+        public Closures build() {
+            return closedLocations.isEmpty() && closedTransportations.isEmpty()
+                    ? NONE : new Closures(Set.copyOf(closedLocations), Set.copyOf(closedTransportations));
+        }
+    }
+}
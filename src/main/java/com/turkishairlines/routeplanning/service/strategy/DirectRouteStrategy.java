@@ -1,9 +1,11 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,22 +23,59 @@ public class DirectRouteStrategy extends AbstractRouteStrategy {
     }
 
     @Override
-    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date) {
+    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
         log.debug("Finding direct routes from {} to {}", origin.getLocationCode(), destination.getLocationCode());
+        StrategyStats stats = context.statsFor(this);
 
-        List<Transportation> directTransportations = transportationRepository
-                .findByOriginLocationAndDestinationLocation(origin, destination);
+        List<Transportation> directTransportations = fetch(context, stats, date,
+                () -> legs(context, date).direct(origin, destination));
 
-        return directTransportations.stream()
-                .filter(t -> isTransportationValidForDate(t, date))
+        List<RouteDTO> routes = directTransportations.stream()
                 .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
                 .map(transport -> RouteDTO.builder()
-                        .originLocation(convertLocationToDTO(origin))
-                        .destinationLocation(convertLocationToDTO(destination))
-                        .transportations(List.of(convertTransportationToDTO(transport)))
+                        .originLocation(EntityMapper.toDTO(origin))
+                        .destinationLocation(EntityMapper.toDTO(destination))
+                        .transportations(List.of(EntityMapper.toDTO(transport)))
                         .totalTransportations(1)
                         .build())
                 .collect(Collectors.toList());
+
+        stats.addPrunedByRules(directTransportations.size() - routes.size());
+        stats.addRoutesEmitted(routes.size());
+        return routes;
+    }
+
+    @Override
+    public List<RouteGroupDTO> findRouteGroups(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        StrategyStats stats = context.statsFor(this);
+
+        List<Transportation> directTransportations = fetch(context, stats, date,
+                () -> legs(context, date).direct(origin, destination));
+
+        List<RouteGroupDTO> groups = directTransportations.stream()
+                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
+                .map(flight -> buildRouteGroup(origin, destination, flight, List.of(), List.of()))
+                .toList();
+
+        stats.addPrunedByRules(directTransportations.size() - groups.size());
+        stats.addRoutesEmitted(groups.size());
+        return groups;
+    }
+
+    @Override
+    public long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        StrategyStats stats = context.statsFor(this);
+
+        long count = fetch(context, stats, date,
+                () -> legs(context, date).direct(origin, destination))
+                .stream()
+                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
+                .count();
+
+        stats.addRoutesEmitted(count);
+        return count;
     }
 
     @Override
@@ -0,0 +1,147 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leg source for searches that revisit the same endpoints, such as both directions of a
+ * round trip or every location pair of a city search. Everything leaving or entering the
+ * endpoints is loaded once and the direct, ground and frontier lookups are answered from
+ * it; the flights between the hubs around all endpoints are loaded in a single query.
+ * Lookups outside the loaded data fall back to the repository. Not thread-safe; one
+ * instance belongs to one request.
+ */
+@Slf4j
+public class FrontierLegSource implements LegSource {
+
+    private final TransportationRepository transportationRepository;
+    private final RepositoryLegSource repositoryLegSource;
+    private final Map<Long, List<Transportation>> fromByLocationId = new HashMap<>();
+    private final Map<Long, List<Transportation>> intoByLocationId = new HashMap<>();
+    private Set<Long> flightOriginIds = Set.of();
+    private Set<Long> flightDestinationIds = Set.of();
+    private List<Transportation> flights = List.of();
+    private int queriesIssued;
+
+    public FrontierLegSource(TransportationRepository transportationRepository) {
+        this.transportationRepository = transportationRepository;
+        this.repositoryLegSource = new RepositoryLegSource(transportationRepository);
+    }
+
+    /**
+     * Loads the frontier of every endpoint in two queries and then the flights that can
+     * connect any ground-reachable hub around them.
+     */
+    public void preload(Collection<Location> endpoints) {
+        for (Location endpoint : endpoints) {
+            fromByLocationId.putIfAbsent(endpoint.getId(), new ArrayList<>());
+            intoByLocationId.putIfAbsent(endpoint.getId(), new ArrayList<>());
+        }
+        queriesIssued += 2;
+        for (Transportation leg : transportationRepository.findByOriginLocationIn(endpoints)) {
+            fromByLocationId.get(leg.getOriginLocation().getId()).add(leg);
+        }
+        for (Transportation leg : transportationRepository.findByDestinationLocationIn(endpoints)) {
+            intoByLocationId.get(leg.getDestinationLocation().getId()).add(leg);
+        }
+
+        Set<Location> originHubs = new LinkedHashSet<>();
+        Set<Location> destinationHubs = new LinkedHashSet<>();
+        for (Location endpoint : endpoints) {
+            for (Transportation leg : from(endpoint)) {
+                if (leg.getTransportationType() != TransportationType.FLIGHT) {
+                    originHubs.add(leg.getDestinationLocation());
+                }
+            }
+            for (Transportation leg : into(endpoint)) {
+                if (leg.getTransportationType() != TransportationType.FLIGHT) {
+                    destinationHubs.add(leg.getOriginLocation());
+                }
+            }
+        }
+        if (originHubs.isEmpty() || destinationHubs.isEmpty()) {
+            return;
+        }
+        queriesIssued++;
+        flights = repositoryLegSource.flightsBetween(originHubs, destinationHubs);
+        flightOriginIds = ids(originHubs);
+        flightDestinationIds = ids(destinationHubs);
+        log.debug("Preloaded frontier of {} endpoints and {} flights in {} queries", endpoints.size(),
+                flights.size(), queriesIssued);
+    }
+
+    public int getQueriesIssued() {
+        return queriesIssued;
+    }
+
+    @Override
+    public List<Transportation> direct(Location origin, Location destination) {
+        return from(origin).stream()
+                .filter(t -> t.getDestinationLocation().getId().equals(destination.getId()))
+                .toList();
+    }
+
+    @Override
+    public List<Transportation> from(Location origin) {
+        return fromByLocationId.computeIfAbsent(origin.getId(), id -> {
+            queriesIssued++;
+            return repositoryLegSource.from(origin);
+        });
+    }
+
+    @Override
+    public List<Transportation> into(Location destination) {
+        return intoByLocationId.computeIfAbsent(destination.getId(), id -> {
+            queriesIssued++;
+            return repositoryLegSource.into(destination);
+        });
+    }
+
+    @Override
+    public List<Transportation> groundFrom(Location origin) {
+        return from(origin).stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .toList();
+    }
+
+    @Override
+    public List<Transportation> groundInto(Location destination) {
+        return into(destination).stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .toList();
+    }
+
+    @Override
+    public List<Transportation> flightsBetween(Collection<Location> origins, Collection<Location> destinations) {
+        Set<Long> originIds = ids(origins);
+        Set<Long> destinationIds = ids(destinations);
+        if (!flightOriginIds.containsAll(originIds) || !flightDestinationIds.containsAll(destinationIds)) {
+            queriesIssued++;
+            return repositoryLegSource.flightsBetween(origins, destinations);
+        }
+        return flights.stream()
+                .filter(t -> originIds.contains(t.getOriginLocation().getId()))
+                .filter(t -> destinationIds.contains(t.getDestinationLocation().getId()))
+                .toList();
+    }
+
+    private static Set<Long> ids(Collection<Location> locations) {
+        Set<Long> ids = new HashSet<>();
+        for (Location location : locations) {
+            ids.add(location.getId());
+        }
+        return ids;
+    }
+}
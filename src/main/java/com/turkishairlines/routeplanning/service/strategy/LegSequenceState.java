@@ -0,0 +1,43 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+
+/**
+ * Position within a valid leg sequence (F, GF, FG, GFG), read in the direction of travel
+ * of a search. The accepted sequences read the same in reverse, so backward searches run
+ * the same machine over incoming legs.
+ */
+enum LegSequenceState {
+    START(false, false),
+    GROUND(false, false),
+    FLIGHT(true, false),
+    GROUND_FLIGHT(true, false),
+    COMPLETE(true, true);
+
+    private final boolean accepting;
+    private final boolean terminal;
+
+    LegSequenceState(boolean accepting, boolean terminal) {
+        this.accepting = accepting;
+        this.terminal = terminal;
+    }
+
+    boolean isAccepting() {
+        return accepting;
+    }
+
+    boolean isTerminal() {
+        return terminal;
+    }
+
+    // The state after taking a leg of the given type, or null when the sequence would become invalid
+    LegSequenceState next(TransportationType type) {
+        boolean flight = type == TransportationType.FLIGHT;
+        return switch (this) {
+            case START -> flight ? FLIGHT : GROUND;
+            case GROUND -> flight ? GROUND_FLIGHT : null;
+            case FLIGHT, GROUND_FLIGHT -> flight ? null : COMPLETE;
+            case COMPLETE -> null;
+        };
+    }
+}
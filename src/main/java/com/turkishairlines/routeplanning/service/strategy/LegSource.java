@@ -0,0 +1,26 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Where the strategies read candidate legs from. Results are at most narrowed to a
+ * date's validity range; the strategies apply the full date check themselves.
+ */
+public interface LegSource {
+
+    List<Transportation> direct(Location origin, Location destination);
+
+    List<Transportation> from(Location origin);
+
+    List<Transportation> into(Location destination);
+
+    List<Transportation> groundFrom(Location origin);
+
+    List<Transportation> groundInto(Location destination);
+
+    List<Transportation> flightsBetween(Collection<Location> origins, Collection<Location> destinations);
+}
@@ -0,0 +1,181 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Multi-criteria search returning the Pareto frontier over leg count, total duration,
+ * total cost and the number of legs of avoided ground types. Labels are settled in
+ * lexicographic order of cost so far plus a per-criterion lower bound; a label is
+ * dropped as soon as a settled label at the same location and rule state, or a route
+ * already found, is at least as good in every criterion. Routes with identical criteria
+ * are reported once. A leg without a duration or cost counts as zero for that criterion.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParetoRouteSearch {
+
+    private static final int CRITERIA = 4;
+
+    private final TransportationRepository transportationRepository;
+
+    public List<ParetoRoute> search(Location origin, Location destination, LocalDate date,
+            Set<TransportationType> avoidedTypes, StrategyStats stats) {
+        return search(origin, destination, date, avoidedTypes, Closures.NONE, stats);
+    }
+
+    public List<ParetoRoute> search(Location origin, Location destination, LocalDate date,
+            Set<TransportationType> avoidedTypes, Closures closures, StrategyStats stats) {
+        RouteLegGraph graph = RouteLegGraph.load(transportationRepository, origin, destination, date, closures,
+                stats);
+        List<ToDoubleFunction<Transportation>> weights = List.of(
+                leg -> 1,
+                leg -> leg.getDurationMinutes() != null ? leg.getDurationMinutes() : 0,
+                leg -> leg.getCost() != null ? leg.getCost().doubleValue() : 0,
+                leg -> avoidedTypes.contains(leg.getTransportationType()) ? 1 : 0);
+        List<RouteLegGraph.CostToGo> bounds = weights.stream().map(graph::costToGo).toList();
+
+        Map<Node, List<double[]>> settled = new HashMap<>();
+        List<Label> routes = new ArrayList<>();
+        PriorityQueue<Label> queue = new PriorityQueue<>(Comparator.comparing(Label::estimate,
+                ParetoRouteSearch::compareLexicographically).thenComparingLong(Label::sequence));
+        long sequence = 0;
+        double[] startBound = estimate(new double[CRITERIA], bounds, origin.getId(), LegSequenceState.START);
+        if (startBound != null) {
+            queue.add(new Label(origin.getId(), LegSequenceState.START, null, null, new double[CRITERIA],
+                    startBound, 0, sequence++));
+        }
+
+        long dominated = 0;
+        while (!queue.isEmpty()) {
+            Label label = queue.poll();
+            Node node = Node.of(label, graph.getDestinationId());
+            List<double[]> settledAtNode = settled.computeIfAbsent(node, n -> new ArrayList<>());
+            if (isDominated(label.cost(), settledAtNode) || isDominatedByRoute(label.estimate(), routes)) {
+                dominated++;
+                continue;
+            }
+            settledAtNode.add(label.cost());
+            if (node.state() == null) {
+                routes.add(label);
+                continue;
+            }
+            for (Transportation leg : graph.next(label.locationId())) {
+                Long nextId = leg.getDestinationLocation().getId();
+                LegSequenceState next = label.state().next(leg.getTransportationType());
+                if (next == null) {
+                    continue;
+                }
+                double[] cost = label.cost().clone();
+                for (int i = 0; i < CRITERIA; i++) {
+                    cost[i] += weights.get(i).applyAsDouble(leg);
+                }
+                double[] estimate = estimate(cost, bounds, nextId, next);
+                if (estimate == null) {
+                    continue;
+                }
+                Label child = new Label(nextId, next, leg, label, cost, estimate, label.legs() + 1, sequence++);
+                if (isDominated(cost, settled.getOrDefault(Node.of(child, graph.getDestinationId()), List.of()))
+                        || isDominatedByRoute(estimate, routes)) {
+                    dominated++;
+                    continue;
+                }
+                queue.add(child);
+            }
+        }
+        stats.addPrunedAsDominated(dominated);
+        stats.addRoutesEmitted(routes.size());
+        return routes.stream()
+                .map(route -> new ParetoRoute(route.transportations(), (int) route.cost()[3]))
+                .toList();
+    }
+
+    // Cost so far plus the bound of every criterion; null when the route cannot be completed
+    private static double[] estimate(double[] cost, List<RouteLegGraph.CostToGo> bounds, Long locationId,
+            LegSequenceState state) {
+        double[] estimate = new double[CRITERIA];
+        for (int i = 0; i < CRITERIA; i++) {
+            double remaining = bounds.get(i).remaining(locationId, state);
+            if (remaining == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            estimate[i] = cost[i] + remaining;
+        }
+        return estimate;
+    }
+
+    private static boolean isDominated(double[] cost, List<double[]> others) {
+        for (double[] other : others) {
+            if (weaklyDominates(other, cost)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDominatedByRoute(double[] estimate, List<Label> routes) {
+        for (Label route : routes) {
+            if (weaklyDominates(route.cost(), estimate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < CRITERIA; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareLexicographically(double[] a, double[] b) {
+        for (int i = 0; i < CRITERIA; i++) {
+            int compared = Double.compare(a[i], b[i]);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    }
+
+    public record ParetoRoute(List<Transportation> transportations, int avoidedTransportations) {
+    }
+
+    // Every state at the destination is a complete route, so they share one node
+    private record Node(Long locationId, LegSequenceState state) {
+
+        static Node of(Label label, Long destinationId) {
+            return label.locationId().equals(destinationId)
+                    ? new Node(destinationId, null) : new Node(label.locationId(), label.state());
+        }
+    }
+
+    private record Label(Long locationId, LegSequenceState state, Transportation leg, Label parent, double[] cost,
+            double[] estimate, int legs, long sequence) {
+
+        List<Transportation> transportations() {
+            Transportation[] legs = new Transportation[this.legs];
+            for (Label label = this; label.leg != null; label = label.parent) {
+                legs[label.legs - 1] = label.leg;
+            }
+            return List.of(legs);
+        }
+    }
+}
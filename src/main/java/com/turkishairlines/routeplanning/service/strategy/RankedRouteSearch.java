@@ -0,0 +1,83 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Top-k search: best-first (A*) expansion over (location, rule state) labels ordered by
+ * cost so far plus a lower bound on the cost still to go. The bound comes from the legs
+ * around the destination, so a partial route that cannot be completed is never queued
+ * and complete routes leave the queue in score order; only the first k are built.
+ */
+@Component
+@RequiredArgsConstructor
+public class RankedRouteSearch {
+
+    private final TransportationRepository transportationRepository;
+
+    public List<RankedRoute> search(Location origin, Location destination, LocalDate date, int limit,
+            RouteObjective objective, StrategyStats stats) {
+        return search(origin, destination, date, limit, objective, Closures.NONE, stats);
+    }
+
+    public List<RankedRoute> search(Location origin, Location destination, LocalDate date, int limit,
+            RouteObjective objective, Closures closures, StrategyStats stats) {
+        RouteLegGraph graph = RouteLegGraph.load(transportationRepository, origin, destination, date, closures,
+                stats);
+        RouteLegGraph.CostToGo bounds = graph.costToGo(objective::weigh);
+
+        List<RankedRoute> routes = new ArrayList<>();
+        PriorityQueue<Label> queue = new PriorityQueue<>(Comparator.comparingDouble(Label::estimate)
+                .thenComparingInt(Label::legs)
+                .thenComparingLong(Label::sequence));
+        long sequence = 0;
+        double startBound = bounds.remaining(origin.getId(), LegSequenceState.START);
+        if (startBound < Double.POSITIVE_INFINITY) {
+            queue.add(new Label(origin.getId(), LegSequenceState.START, null, null, 0, startBound, 0, sequence++));
+        }
+
+        while (!queue.isEmpty() && routes.size() < limit) {
+            Label label = queue.poll();
+            if (label.locationId().equals(destination.getId())) {
+                routes.add(new RankedRoute(label.transportations(), label.cost()));
+                continue;
+            }
+            for (Transportation leg : graph.next(label.locationId())) {
+                Long nextId = leg.getDestinationLocation().getId();
+                LegSequenceState next = label.state().next(leg.getTransportationType());
+                double bound = next == null ? Double.POSITIVE_INFINITY : bounds.remaining(nextId, next);
+                if (bound == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                double cost = label.cost() + objective.weigh(leg);
+                queue.add(new Label(nextId, next, leg, label, cost, cost + bound, label.legs() + 1, sequence++));
+            }
+        }
+        stats.addRoutesEmitted(routes.size());
+        return routes;
+    }
+
+    public record RankedRoute(List<Transportation> transportations, double score) {
+    }
+
+    private record Label(Long locationId, LegSequenceState state, Transportation leg, Label parent, double cost,
+            double estimate, int legs, long sequence) {
+
+        List<Transportation> transportations() {
+            Transportation[] legs = new Transportation[this.legs];
+            for (Label label = this; label.leg != null; label = label.parent) {
+                legs[label.legs - 1] = label.leg;
+            }
+            return List.of(legs);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-to-all search: a breadth-first traversal over (location, rule state) pairs that
+ * expands a whole layer with a single query. The backward search runs the same
+ * {@link LegSequenceState} machine over incoming legs. Only the reachable subgraph is
+ * loaded, at most one query per leg.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReachabilitySearch {
+
+    private static final int MAX_LEGS = 3;
+
+    private final TransportationRepository transportationRepository;
+
+    /**
+     * Locations reachable from (or able to reach) the start under the route rules, in the
+     * order they were first reached, with the fewest legs of any valid route.
+     */
+    public List<ReachableLocation> search(Location start, ReachabilityDirection direction, LocalDate date,
+            StrategyStats stats) {
+        return search(start, direction, date, Closures.NONE, null, stats);
+    }
+
+    public List<ReachableLocation> search(Location start, ReachabilityDirection direction, LocalDate date,
+            Closures closures, Scenario scenario, StrategyStats stats) {
+        Map<Long, ReachableLocation> reached = new LinkedHashMap<>();
+        Map<LegSequenceState, Set<Long>> visited = new EnumMap<>(LegSequenceState.class);
+        Map<Long, Set<LegSequenceState>> frontier = new HashMap<>();
+        Map<Long, Location> frontierLocations = new HashMap<>();
+        frontier.put(start.getId(), Set.of(LegSequenceState.START));
+        frontierLocations.put(start.getId(), start);
+
+        for (int legs = 1; legs <= MAX_LEGS && !frontier.isEmpty(); legs++) {
+            List<Transportation> layer = fetchLayer(frontierLocations.values(), direction, date, closures,
+                    scenario, stats);
+            Map<Long, Set<LegSequenceState>> next = new HashMap<>();
+            Map<Long, Location> nextLocations = new HashMap<>();
+
+            for (Transportation leg : layer) {
+                Location from = direction == ReachabilityDirection.FORWARD
+                        ? leg.getOriginLocation() : leg.getDestinationLocation();
+                Location to = direction == ReachabilityDirection.FORWARD
+                        ? leg.getDestinationLocation() : leg.getOriginLocation();
+                for (LegSequenceState state : frontier.getOrDefault(from.getId(), Set.of())) {
+                    LegSequenceState target = state.next(leg.getTransportationType());
+                    if (target == null
+                            || !visited.computeIfAbsent(target, s -> new HashSet<>()).add(to.getId())) {
+                        continue;
+                    }
+                    if (target.isAccepting() && !to.getId().equals(start.getId())) {
+                        reached.putIfAbsent(to.getId(), new ReachableLocation(to, legs));
+                    }
+                    if (!target.isTerminal()) {
+                        next.computeIfAbsent(to.getId(), id -> new HashSet<>()).add(target);
+                        nextLocations.putIfAbsent(to.getId(), to);
+                    }
+                }
+            }
+            frontier = next;
+            frontierLocations = nextLocations;
+        }
+        return new ArrayList<>(reached.values());
+    }
+
+    private List<Transportation> fetchLayer(Iterable<Location> locations, ReachabilityDirection direction,
+            LocalDate date, Closures closures, Scenario scenario, StrategyStats stats) {
+        List<Location> batch = new ArrayList<>();
+        locations.forEach(batch::add);
+
+        long start = System.nanoTime();
+        List<Transportation> rows = direction == ReachabilityDirection.FORWARD
+                ? transportationRepository.findByOriginLocationIn(batch)
+                : transportationRepository.findByDestinationLocationIn(batch);
+        stats.recordQuery(rows.size(), System.nanoTime() - start);
+        if (scenario != null) {
+            Set<Long> batchIds = new HashSet<>();
+            batch.forEach(location -> batchIds.add(location.getId()));
+            rows = scenario.applyTo(rows, leg -> batchIds.contains(direction == ReachabilityDirection.FORWARD
+                    ? leg.getOriginLocation().getId() : leg.getDestinationLocation().getId()));
+        }
+
+        List<Transportation> operating = rows.stream()
+                .filter(t -> RouteRules.operatesOn(t, date))
+                .filter(t -> !closures.closes(t))
+                .toList();
+        stats.addPrunedByDate(rows.size() - operating.size());
+        return operating;
+    }
+
+    public record ReachableLocation(Location location, int transportations) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads legs straight from the repository. Given a date, the queries check each leg's
+ * validity range and exception dates in SQL; without one they return every leg.
+ */
+public class RepositoryLegSource implements LegSource {
+
+    private final TransportationRepository transportationRepository;
+    private final LocalDate date;
+
+    public RepositoryLegSource(TransportationRepository transportationRepository) {
+        this(transportationRepository, null);
+    }
+
+    private RepositoryLegSource(TransportationRepository transportationRepository, LocalDate date) {
+        this.transportationRepository = transportationRepository;
+        this.date = date;
+    }
+
+    public RepositoryLegSource on(LocalDate date) {
+        return date == null ? this : new RepositoryLegSource(transportationRepository, date);
+    }
+
+    @Override
+    public List<Transportation> direct(Location origin, Location destination) {
+        if (date != null) {
+            return transportationRepository.findValidByOriginLocationAndDestinationLocation(origin, destination,
+                    date);
+        }
+        return transportationRepository.findByOriginLocationAndDestinationLocation(origin, destination);
+    }
+
+    @Override
+    public List<Transportation> from(Location origin) {
+        if (date != null) {
+            return transportationRepository.findValidByOriginLocation(origin, date);
+        }
+        return transportationRepository.findByOriginLocation(origin);
+    }
+
+    @Override
+    public List<Transportation> into(Location destination) {
+        if (date != null) {
+            return transportationRepository.findValidByDestinationLocation(destination, date);
+        }
+        return transportationRepository.findByDestinationLocation(destination);
+    }
+
+    @Override
+    public List<Transportation> groundFrom(Location origin) {
+        if (date != null) {
+            return transportationRepository.findValidByOriginLocationAndTransportationTypeNot(origin,
+                    TransportationType.FLIGHT, date);
+        }
+        return transportationRepository.findByOriginLocationAndTransportationTypeNot(origin,
+                TransportationType.FLIGHT);
+    }
+
+    @Override
+    public List<Transportation> groundInto(Location destination) {
+        if (date != null) {
+            return transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(destination,
+                    TransportationType.FLIGHT, date);
+        }
+        return transportationRepository.findByDestinationLocationAndTransportationTypeNot(destination,
+                TransportationType.FLIGHT);
+    }
+
+    @Override
+    public List<Transportation> flightsBetween(Collection<Location> origins, Collection<Location> destinations) {
+        if (date != null) {
+            return transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                    TransportationType.FLIGHT, origins, destinations, date);
+        }
+        return transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                TransportationType.FLIGHT, origins, destinations);
+    }
+}
@@ -0,0 +1,176 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Every leg that can take part in a route between two locations on a date: the legs
+ * leaving the origin, the legs entering the destination and the flights between the
+ * ground-reachable hubs around them, loaded in at most three queries and indexed by
+ * origin for the best-first searches. Legs outside their validity range on the date are
+ * already left out by the queries; legs closed by a disruption are dropped as they load.
+ */
+final class RouteLegGraph {
+
+    private final Long originId;
+    private final Long destinationId;
+    private final Map<Long, List<Transportation>> outgoing = new HashMap<>();
+    private final List<Transportation> intoDestination;
+
+    private RouteLegGraph(Long originId, Long destinationId, List<Transportation> intoDestination) {
+        this.originId = originId;
+        this.destinationId = destinationId;
+        this.intoDestination = intoDestination;
+    }
+
+    static RouteLegGraph load(TransportationRepository transportationRepository, Location origin,
+            Location destination, LocalDate date, Closures closures, StrategyStats stats) {
+        LegSource legSource = new RepositoryLegSource(transportationRepository).on(date);
+        List<Transportation> fromOrigin = fetch(stats, date, closures, () -> legSource.from(origin));
+        List<Transportation> intoDestination = fetch(stats, date, closures, () -> legSource.into(destination));
+
+        Set<Location> accessHubs = new LinkedHashSet<>();
+        for (Transportation leg : fromOrigin) {
+            if (isGround(leg) && !leg.getDestinationLocation().getId().equals(destination.getId())) {
+                accessHubs.add(leg.getDestinationLocation());
+            }
+        }
+        Set<Location> egressHubs = new LinkedHashSet<>();
+        for (Transportation leg : intoDestination) {
+            if (isGround(leg) && !leg.getOriginLocation().getId().equals(origin.getId())) {
+                egressHubs.add(leg.getOriginLocation());
+            }
+        }
+        List<Transportation> hubFlights = accessHubs.isEmpty() || egressHubs.isEmpty() ? List.of()
+                : fetch(stats, date, closures, () -> legSource.flightsBetween(accessHubs, egressHubs));
+
+        RouteLegGraph graph = new RouteLegGraph(origin.getId(), destination.getId(), intoDestination);
+        Set<Long> seen = new HashSet<>();
+        for (List<Transportation> legs : List.of(fromOrigin, intoDestination, hubFlights)) {
+            for (Transportation leg : legs) {
+                if (seen.add(leg.getId())) {
+                    graph.outgoing.computeIfAbsent(leg.getOriginLocation().getId(), id -> new ArrayList<>())
+                            .add(leg);
+                }
+            }
+        }
+        // Id order, so labels with equal costs are expanded in a stable order
+        graph.outgoing.values().forEach(legs -> legs.sort(Comparator.comparing(Transportation::getId)));
+        return graph;
+    }
+
+    Long getOriginId() {
+        return originId;
+    }
+
+    Long getDestinationId() {
+        return destinationId;
+    }
+
+    /**
+     * Legs a route may take next from the location; routes never return to the origin and
+     * end on reaching the destination.
+     */
+    List<Transportation> next(Long locationId) {
+        if (locationId.equals(destinationId)) {
+            return List.of();
+        }
+        List<Transportation> legs = outgoing.getOrDefault(locationId, List.of());
+        return legs.stream()
+                .filter(leg -> !leg.getDestinationLocation().getId().equals(originId))
+                .toList();
+    }
+
+    CostToGo costToGo(ToDoubleFunction<Transportation> weight) {
+        return new CostToGo(weight);
+    }
+
+    private static List<Transportation> fetch(StrategyStats stats, LocalDate date, Closures closures,
+            Supplier<List<Transportation>> query) {
+        long start = System.nanoTime();
+        List<Transportation> rows = query.get();
+        stats.recordQuery(rows.size(), System.nanoTime() - start);
+
+        List<Transportation> operating = rows.stream()
+                .filter(t -> RouteRules.operatesOn(t, date))
+                .filter(t -> !closures.closes(t))
+                .toList();
+        stats.addPrunedByDate(rows.size() - operating.size());
+        return operating;
+    }
+
+    private static boolean isGround(Transportation leg) {
+        return leg.getTransportationType() != TransportationType.FLIGHT;
+    }
+
+    /**
+     * Cheapest completion under a non-negative leg weight from a location in a given state.
+     * After the flight only a ground leg into the destination may follow; before it, a
+     * flight to the destination or to a location with such a ground leg. Exact over the
+     * loaded legs, hence an admissible and consistent bound; infinite when the route
+     * cannot be completed.
+     */
+    final class CostToGo {
+
+        private final ToDoubleFunction<Transportation> weight;
+        private final Map<Long, Double> afterFlight = new HashMap<>();
+        private final Map<Long, Double> beforeFlight = new HashMap<>();
+
+        private CostToGo(ToDoubleFunction<Transportation> weight) {
+            this.weight = weight;
+            afterFlight.put(destinationId, 0.0);
+            for (Transportation leg : intoDestination) {
+                if (isGround(leg)) {
+                    afterFlight.merge(leg.getOriginLocation().getId(), weight.applyAsDouble(leg), Math::min);
+                }
+            }
+            for (List<Transportation> legs : outgoing.values()) {
+                for (Transportation leg : legs) {
+                    Double egress = afterFlight.get(leg.getDestinationLocation().getId());
+                    if (!isGround(leg) && egress != null) {
+                        beforeFlight.merge(leg.getOriginLocation().getId(), weight.applyAsDouble(leg) + egress,
+                                Math::min);
+                    }
+                }
+            }
+        }
+
+        double remaining(Long locationId, LegSequenceState state) {
+            return switch (state) {
+                case START -> Math.min(beforeFlight(locationId), accessThenFlight(locationId));
+                case GROUND -> beforeFlight(locationId);
+                case FLIGHT, GROUND_FLIGHT -> afterFlight.getOrDefault(locationId, Double.POSITIVE_INFINITY);
+                case COMPLETE -> locationId.equals(destinationId) ? 0 : Double.POSITIVE_INFINITY;
+            };
+        }
+
+        private double beforeFlight(Long locationId) {
+            return beforeFlight.getOrDefault(locationId, Double.POSITIVE_INFINITY);
+        }
+
+        private double accessThenFlight(Long locationId) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Transportation leg : outgoing.getOrDefault(locationId, List.of())) {
+                if (isGround(leg)) {
+                    best = Math.min(best,
+                            weight.applyAsDouble(leg) + beforeFlight(leg.getDestinationLocation().getId()));
+                }
+            }
+            return best;
+        }
+    }
+}
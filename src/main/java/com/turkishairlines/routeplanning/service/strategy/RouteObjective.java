@@ -0,0 +1,32 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+
+/**
+ * Weighted score of a route: the sum over its legs of duration, cost and a fixed
+ * per-leg penalty. A leg without a duration or cost adds nothing for that term.
+ */
+public record RouteObjective(double durationWeight, double costWeight, double legWeight) {
+
+    public static final RouteObjective FASTEST = new RouteObjective(1, 0, 0);
+
+    // Negative weights would break the lower bounds the ranked search relies on
+    public boolean isValid() {
+        return isNonNegative(durationWeight) && isNonNegative(costWeight) && isNonNegative(legWeight);
+    }
+
+    public double weigh(Transportation transportation) {
+        double weight = legWeight;
+        if (transportation.getDurationMinutes() != null) {
+            weight += durationWeight * transportation.getDurationMinutes();
+        }
+        if (transportation.getCost() != null) {
+            weight += costWeight * transportation.getCost().doubleValue();
+        }
+        return weight;
+    }
+
+    private static boolean isNonNegative(double weight) {
+        return Double.isFinite(weight) && weight >= 0;
+    }
+}
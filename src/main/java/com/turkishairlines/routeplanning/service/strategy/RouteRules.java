@@ -0,0 +1,95 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Route rules shared by the strategies and the reactive route search: a route has at most
+ * three legs, exactly one flight, and any ground legs sit directly before or after it.
+ */
+public final class RouteRules {
+
+    private RouteRules() {
+    }
+
+    public static boolean isValidSequence(List<TransportationType> types) {
+        if (types.isEmpty() || types.size() > 3) {
+            return false;
+        }
+
+        long flightCount = types.stream()
+                .filter(type -> type == TransportationType.FLIGHT)
+                .count();
+
+        if (flightCount != 1) {
+            return false;
+        }
+        int flightIndex = types.indexOf(TransportationType.FLIGHT);
+
+        return switch (types.size()) {
+            case 1 -> true;
+            case 2 -> flightIndex == 0 || flightIndex == 1;
+            case 3 -> flightIndex == 1
+                    && types.get(0) != TransportationType.FLIGHT
+                    && types.get(2) != TransportationType.FLIGHT;
+            default -> false;
+        };
+    }
+
+    public static final int ALL_DAYS = 0x7F;
+
+    /**
+     * Operating days as a bit set, bit 0 being Monday; no restriction means every day.
+     */
+    public static int dayMask(Integer[] operatingDays) {
+        if (operatingDays == null || operatingDays.length == 0) {
+            return ALL_DAYS;
+        }
+        int mask = 0;
+        for (Integer day : operatingDays) {
+            if (day != null && day >= 1 && day <= 7) {
+                mask |= 1 << (day - 1);
+            }
+        }
+        return mask;
+    }
+
+    public static boolean operatesOn(Integer[] operatingDays, LocalDate date) {
+        if (date == null || operatingDays == null || operatingDays.length == 0) {
+            return true;
+        }
+
+        int dayOfWeek = date.getDayOfWeek().getValue(); // pzt = 1, pazar = 7
+        return Arrays.stream(operatingDays)
+                .anyMatch(day -> day == dayOfWeek);
+    }
+
+    public static boolean operatesOn(Transportation transportation, LocalDate date) {
+        return operatesOn(transportation.getOperatingDays(), transportation.getValidFrom(),
+                transportation.getValidTo(), transportation.getExceptionDates(), date);
+    }
+
+    public static boolean operatesOn(Integer[] operatingDays, LocalDate validFrom, LocalDate validTo,
+            LocalDate[] exceptionDates, LocalDate date) {
+        return operatesOn(operatingDays, date) && isValidOn(validFrom, validTo, exceptionDates, date);
+    }
+
+    /**
+     * Whether the date lies in the inclusive validity range and is not an exception date.
+     * Exception dates are stored sorted, so the lookup is a binary search.
+     */
+    public static boolean isValidOn(LocalDate validFrom, LocalDate validTo, LocalDate[] exceptionDates,
+            LocalDate date) {
+        if (date == null) {
+            return true;
+        }
+        if ((validFrom != null && date.isBefore(validFrom)) || (validTo != null && date.isAfter(validTo))) {
+            return false;
+        }
+        return exceptionDates == null || Arrays.binarySearch(exceptionDates, date) < 0;
+    }
+}
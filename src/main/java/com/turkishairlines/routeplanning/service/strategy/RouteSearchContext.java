@@ -0,0 +1,117 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import org.springframework.util.ClassUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Per-request trace of a route search. Collects phase durations for the
+ * {@code Server-Timing} header and per-strategy statistics for explain mode.
+ * Not thread-safe; one instance belongs to one request.
+ */
+public class RouteSearchContext {
+
+    public static final String REQUEST_ATTRIBUTE = "routePlanning.routeSearchContext";
+
+    public static final String PHASE_LOOKUP = "lookup";
+    public static final String PHASE_PRECHECK = "precheck";
+    public static final String PHASE_DB = "db";
+    public static final String PHASE_COMBINE = "combine";
+    public static final String PHASE_SERIALIZE = "serialize";
+
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final Map<String, StrategyStats> strategyStats = new LinkedHashMap<>();
+    private long handlerCompletedAt;
+    private LegSource legSource;
+    private Function<LocalDate, Closures> closures;
+    private Scenario scenario;
+
+    public StrategyStats statsFor(RouteStrategy strategy) {
+        return strategyStats.computeIfAbsent(ClassUtils.getUserClass(strategy).getSimpleName(), StrategyStats::new);
+    }
+
+    public List<StrategyStats> getStrategyStats() {
+        return new ArrayList<>(strategyStats.values());
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    public Map<String, Long> getPhaseNanos() {
+        return phaseNanos;
+    }
+
+    public LegSource getLegSource() {
+        return legSource;
+    }
+
+    public void setLegSource(LegSource legSource) {
+        this.legSource = legSource;
+    }
+
+    /**
+     * Locations and legs closed by disruptions on the date; none when the search has no
+     * date or no disruptions were applied to it.
+     */
+    public Closures closuresOn(LocalDate date) {
+        return date != null && closures != null ? closures.apply(date) : Closures.NONE;
+    }
+
+    public void setClosures(Function<LocalDate, Closures> closures) {
+        this.closures = closures;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public void markHandlerCompleted() {
+        handlerCompletedAt = System.nanoTime();
+    }
+
+    public long getHandlerCompletedAt() {
+        return handlerCompletedAt;
+    }
+
+    /**
+     * Rolls the per-strategy fetch and combine times up into the db and combine phases.
+     */
+    public void completeStrategies() {
+        long fetch = 0;
+        long combine = 0;
+        for (StrategyStats stats : strategyStats.values()) {
+            fetch += stats.getFetchNanos();
+            combine += stats.getCombineNanos();
+        }
+        recordPhase(PHASE_DB, fetch);
+        recordPhase(PHASE_COMBINE, combine);
+    }
+
+    public String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(phase.getKey())
+                    .append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", toMillis(phase.getValue())));
+        }
+        return header.toString();
+    }
+
+    public static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -1,14 +1,114 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface RouteStrategy {
 
     List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date);
 
+    default List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        return findRoutes(origin, destination, date);
+    }
+
+    /**
+     * Same routes as {@link #findRoutes}, grouped per flight so the work and output grow
+     * with the number of access and egress legs rather than their product. Strategies
+     * override this to build groups directly; the default derives them from the expanded
+     * routes, one group per flight and access leg.
+     */
+    default List<RouteGroupDTO> findRouteGroups(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        Map<List<Long>, RouteGroupDTO> groups = new LinkedHashMap<>();
+        for (RouteDTO route : findRoutes(origin, destination, date, context)) {
+            List<TransportationDTO> legs = route.getTransportations();
+            int flightIndex = legs.stream().map(TransportationDTO::getTransportationType).toList()
+                    .indexOf(TransportationType.FLIGHT);
+            if (flightIndex < 0) {
+                continue;
+            }
+            TransportationDTO flight = legs.get(flightIndex);
+            TransportationDTO accessLeg = flightIndex > 0 ? legs.get(0) : null;
+            TransportationDTO egressLeg = flightIndex < legs.size() - 1 ? legs.get(legs.size() - 1) : null;
+
+            RouteGroupDTO group = groups.computeIfAbsent(
+                    Arrays.asList(flight.getId(), accessLeg == null ? null : accessLeg.getId()),
+                    key -> RouteGroupDTO.builder()
+                            .originLocation(route.getOriginLocation())
+                            .destinationLocation(route.getDestinationLocation())
+                            .flight(flight)
+                            .accessLegs(accessLeg == null ? List.of() : List.of(accessLeg))
+                            .egressLegs(new ArrayList<>())
+                            .build());
+            if (egressLeg != null) {
+                group.getEgressLegs().add(egressLeg);
+            }
+            group.setTotalRoutes(group.getTotalRoutes() + 1);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Number of routes {@link #findRoutes} would return. The default expands the groups.
+     */
+    default long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return findRouteGroups(origin, destination, date, context).stream()
+                .mapToLong(RouteGroupDTO::getTotalRoutes)
+                .sum();
+    }
+
+    default boolean hasRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return countRoutes(origin, destination, date, context) > 0;
+    }
+
+    /**
+     * Routes on each date from {@code from} to {@code to}, index 0 being {@code from}. The
+     * groups are read once without a date; a route runs on a date when all its legs operate
+     * then and none is closed, so per flight and date the count is the access legs running
+     * that date times the egress legs running that date.
+     */
+    default long[] countRoutesByDate(Location origin, Location destination, LocalDate from, LocalDate to,
+            RouteSearchContext context) {
+        List<RouteGroupDTO> groups = findRouteGroups(origin, destination, null, context);
+        long[] counts = new long[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        for (int index = 0; index < counts.length; index++) {
+            LocalDate date = from.plusDays(index);
+            Closures closures = context.closuresOn(date);
+            for (RouteGroupDTO group : groups) {
+                if (runsOn(group.getFlight(), date, closures)) {
+                    counts[index] += countRunning(group.getAccessLegs(), date, closures)
+                            * countRunning(group.getEgressLegs(), date, closures);
+                }
+            }
+        }
+        return counts;
+    }
+
+    // An empty leg list stands for "no leg needed" and so counts once on every date
+    private static long countRunning(List<TransportationDTO> legs, LocalDate date, Closures closures) {
+        if (legs.isEmpty()) {
+            return 1;
+        }
+        return legs.stream().filter(leg -> runsOn(leg, date, closures)).count();
+    }
+
+    private static boolean runsOn(TransportationDTO leg, LocalDate date, Closures closures) {
+        return RouteRules.operatesOn(leg.getOperatingDays(), leg.getValidFrom(), leg.getValidTo(),
+                leg.getExceptionDates(), date)
+                && !closures.closes(leg.getId(), leg.getOriginLocationId(), leg.getDestinationLocationId());
+    }
+
     int getMaxTransportations();
 }
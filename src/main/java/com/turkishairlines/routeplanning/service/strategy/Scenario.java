@@ -0,0 +1,141 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A what-if change to the network, kept as a delta over the live legs: base legs it
+ * removes or modifies are hidden from every read, and its added and modified legs are
+ * merged into the reads they match. Searches keep reading the shared base results, so a
+ * scenario costs only its own legs. Added legs carry negative ids. Immutable.
+ */
+@Getter
+public final class Scenario {
+
+    private final String name;
+    private final String description;
+    private final Set<Long> removedTransportationIds;
+    private final List<Transportation> addedTransportations;
+    private final List<Transportation> modifiedTransportations;
+    @Getter(AccessLevel.NONE)
+    private final Set<Long> hiddenIds;
+    @Getter(AccessLevel.NONE)
+    private final List<Transportation> legs;
+
+    public Scenario(String name, String description, Set<Long> removedTransportationIds,
+            List<Transportation> addedTransportations, List<Transportation> modifiedTransportations) {
+        this.name = name;
+        this.description = description;
+        this.removedTransportationIds = Set.copyOf(removedTransportationIds);
+        this.addedTransportations = List.copyOf(addedTransportations);
+        this.modifiedTransportations = List.copyOf(modifiedTransportations);
+
+        Set<Long> hidden = new HashSet<>(removedTransportationIds);
+        modifiedTransportations.forEach(leg -> hidden.add(leg.getId()));
+        this.hiddenIds = Set.copyOf(hidden);
+        List<Transportation> delta = new ArrayList<>(addedTransportations);
+        delta.addAll(modifiedTransportations);
+        this.legs = List.copyOf(delta);
+    }
+
+    /**
+     * The base legs of a read without the hidden ones, followed by the scenario legs the
+     * read selects. The base list itself is returned when the scenario changes nothing in it.
+     */
+    public List<Transportation> applyTo(List<Transportation> base, Predicate<Transportation> selects) {
+        List<Transportation> merged = null;
+        for (int i = 0; i < base.size(); i++) {
+            Transportation leg = base.get(i);
+            if (hiddenIds.contains(leg.getId())) {
+                if (merged == null) {
+                    merged = new ArrayList<>(base.subList(0, i));
+                }
+            } else if (merged != null) {
+                merged.add(leg);
+            }
+        }
+        for (Transportation leg : legs) {
+            if (selects.test(leg)) {
+                if (merged == null) {
+                    merged = new ArrayList<>(base);
+                }
+                merged.add(leg);
+            }
+        }
+        return merged != null ? merged : base;
+    }
+
+    public LegSource over(LegSource base) {
+        return new ScenarioLegSource(base);
+    }
+
+    private static boolean isFlight(Transportation leg) {
+        return leg.getTransportationType() == TransportationType.FLIGHT;
+    }
+
+    private static boolean isAt(Location location, Location other) {
+        return location.getId().equals(other.getId());
+    }
+
+    private static boolean isAtAny(Location location, Collection<Location> others) {
+        for (Location other : others) {
+            if (isAt(location, other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class ScenarioLegSource implements LegSource {
+
+        private final LegSource base;
+
+        private ScenarioLegSource(LegSource base) {
+            this.base = base;
+        }
+
+        @Override
+        public List<Transportation> direct(Location origin, Location destination) {
+            return applyTo(base.direct(origin, destination), leg -> isAt(leg.getOriginLocation(), origin)
+                    && isAt(leg.getDestinationLocation(), destination));
+        }
+
+        @Override
+        public List<Transportation> from(Location origin) {
+            return applyTo(base.from(origin), leg -> isAt(leg.getOriginLocation(), origin));
+        }
+
+        @Override
+        public List<Transportation> into(Location destination) {
+            return applyTo(base.into(destination), leg -> isAt(leg.getDestinationLocation(), destination));
+        }
+
+        @Override
+        public List<Transportation> groundFrom(Location origin) {
+            return applyTo(base.groundFrom(origin), leg -> !isFlight(leg) && isAt(leg.getOriginLocation(), origin));
+        }
+
+        @Override
+        public List<Transportation> groundInto(Location destination) {
+            return applyTo(base.groundInto(destination),
+                    leg -> !isFlight(leg) && isAt(leg.getDestinationLocation(), destination));
+        }
+
+        @Override
+        public List<Transportation> flightsBetween(Collection<Location> origins, Collection<Location> destinations) {
+            return applyTo(base.flightsBetween(origins, destinations), leg -> isFlight(leg)
+                    && isAtAny(leg.getOriginLocation(), origins)
+                    && isAtAny(leg.getDestinationLocation(), destinations));
+        }
+    }
+}
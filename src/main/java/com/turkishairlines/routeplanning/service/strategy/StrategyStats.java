@@ -0,0 +1,57 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import lombok.Getter;
+
+@Getter
+public class StrategyStats {
+
+    private final String strategy;
+    private int queriesIssued;
+    private long rowsFetched;
+    private long prunedByDate;
+    private long prunedByRules;
+    private long prunedAsDuplicate;
+    private long prunedAsDominated;
+    private long routesEmitted;
+    private long fetchNanos;
+    private long totalNanos;
+
+    public StrategyStats(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public void recordQuery(int rows, long nanos) {
+        queriesIssued++;
+        rowsFetched += rows;
+        fetchNanos += nanos;
+    }
+
+    public void addPrunedByDate(long count) {
+        prunedByDate += count;
+    }
+
+    public void addPrunedByRules(long count) {
+        prunedByRules += count;
+    }
+
+    public void addPrunedAsDuplicate(long count) {
+        prunedAsDuplicate += count;
+    }
+
+    public void addPrunedAsDominated(long count) {
+        prunedAsDominated += count;
+    }
+
+    public void addRoutesEmitted(long count) {
+        routesEmitted += count;
+    }
+
+    public void addTotalNanos(long nanos) {
+        totalNanos += nanos;
+    }
+
+    // Time spent combining candidates, i.e. everything that was not a repository call
+    public long getCombineNanos() {
+        return Math.max(0, totalNanos - fetchNanos);
+    }
+}
@@ -1,11 +1,14 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
 import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.AccessHubIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -17,53 +20,33 @@ import java.util.stream.Collectors;
 @Component
 public class ThreeStepRouteStrategy extends AbstractRouteStrategy {
 
-    public ThreeStepRouteStrategy(TransportationRepository repository) {
+    private final AccessHubIndex accessHubIndex;
+
+    public ThreeStepRouteStrategy(TransportationRepository repository, AccessHubIndex accessHubIndex) {
         super(repository);
+        this.accessHubIndex = accessHubIndex;
     }
 
     @Override
-    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date) {
+    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date,
+                                     RouteSearchContext context) {
         log.debug("3-step routes {} -> {}", origin.getLocationCode(), destination.getLocationCode());
+        StrategyStats stats = context.statsFor(this);
 
-        List<Transportation> nonFlightTransfersFromOrigin =
-                transportationRepository.findByOriginLocationAndTransportationTypeNot(origin, TransportationType.FLIGHT)
-                        .stream().filter(t -> isTransportationValidForDate(t, date)).toList();
-
-        Set<Location> candidateFlightOriginHubs =
-                nonFlightTransfersFromOrigin.stream()
-                        .map(Transportation::getDestinationLocation)
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        if (candidateFlightOriginHubs.isEmpty()) return List.of();
-
-        List<Transportation> nonFlightTransfersToDestination =
-                transportationRepository.findByDestinationLocationAndTransportationTypeNot(destination, TransportationType.FLIGHT)
-                        .stream().filter(t -> isTransportationValidForDate(t, date)).toList();
-
-        Set<Location> candidateFlightDestinationHubs =
-                nonFlightTransfersToDestination.stream()
-                        .map(Transportation::getOriginLocation)
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        if (candidateFlightDestinationHubs.isEmpty()) return List.of();
-
-        List<Transportation> flightsBetweenCandidateHubs =
-                transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
-                                TransportationType.FLIGHT, candidateFlightOriginHubs, candidateFlightDestinationHubs)
-                        .stream().filter(t -> isTransportationValidForDate(t, date)).toList();
+        Candidates candidates = loadCandidates(origin, destination, date, context, stats);
 
         Map<Long, List<Transportation>> beforeTransfersByFlightOriginId =
-                nonFlightTransfersFromOrigin.stream()
+                candidates.accessLegs().stream()
                         .collect(Collectors.groupingBy(t -> t.getDestinationLocation().getId()));
 
         Map<Long, List<Transportation>> afterTransfersByFlightDestinationId =
-                nonFlightTransfersToDestination.stream()
+                candidates.egressLegs().stream()
                         .collect(Collectors.groupingBy(t -> t.getOriginLocation().getId()));
 
         List<RouteDTO> routes = new ArrayList<>();
         Set<String> routeSignatureSet = new HashSet<>();
 
-        for (Transportation flight : flightsBetweenCandidateHubs) {
+        for (Transportation flight : candidates.flights()) {
             Long flightOriginId = flight.getOriginLocation().getId();
             Long flightDestinationId = flight.getDestinationLocation().getId();
 
@@ -75,15 +58,21 @@ public class ThreeStepRouteStrategy extends AbstractRouteStrategy {
             for (Transportation beforeLeg : beforeCandidates) {
                 for (Transportation afterLeg : afterCandidates) {
                     List<Transportation> legs = List.of(beforeLeg, flight, afterLeg);
-                    if (!isValidRoute(legs)) continue;
+                    if (!isValidRoute(legs)) {
+                        stats.addPrunedByRules(1);
+                        continue;
+                    }
 
                     String signature = beforeLeg.getId() + "-" + flight.getId() + "-" + afterLeg.getId();
-                    if (!routeSignatureSet.add(signature)) continue;
+                    if (!routeSignatureSet.add(signature)) {
+                        stats.addPrunedAsDuplicate(1);
+                        continue;
+                    }
 
                     routes.add(RouteDTO.builder()
-                            .originLocation(convertLocationToDTO(origin))
-                            .destinationLocation(convertLocationToDTO(destination))
-                            .transportations(legs.stream().map(this::convertTransportationToDTO).toList())
+                            .originLocation(EntityMapper.toDTO(origin))
+                            .destinationLocation(EntityMapper.toDTO(destination))
+                            .transportations(legs.stream().map(EntityMapper::toDTO).toList())
                             .totalTransportations(3)
                             .build());
                 }
@@ -94,9 +83,191 @@ public class ThreeStepRouteStrategy extends AbstractRouteStrategy {
                 r.getTransportations().stream().map(TransportationDTO::getId).map(String::valueOf)
                         .collect(Collectors.joining(","))));
 
+        stats.addRoutesEmitted(routes.size());
         return routes;
     }
 
+    // Access and egress legs are ground legs and the middle leg a flight, so every combination in a group is valid
+    @Override
+    public List<RouteGroupDTO> findRouteGroups(Location origin, Location destination, LocalDate date,
+                                               RouteSearchContext context) {
+        StrategyStats stats = context.statsFor(this);
+
+        Candidates candidates = loadCandidates(origin, destination, date, context, stats);
+
+        Map<Long, List<Transportation>> beforeTransfersByFlightOriginId =
+                candidates.accessLegs().stream()
+                        .collect(Collectors.groupingBy(t -> t.getDestinationLocation().getId()));
+
+        Map<Long, List<Transportation>> afterTransfersByFlightDestinationId =
+                candidates.egressLegs().stream()
+                        .collect(Collectors.groupingBy(t -> t.getOriginLocation().getId()));
+
+        List<RouteGroupDTO> groups = new ArrayList<>();
+        Set<Long> flightIds = new HashSet<>();
+
+        for (Transportation flight : candidates.flights()) {
+            if (!flightIds.add(flight.getId())) {
+                stats.addPrunedAsDuplicate(1);
+                continue;
+            }
+
+            List<Transportation> beforeCandidates =
+                    beforeTransfersByFlightOriginId.getOrDefault(flight.getOriginLocation().getId(), List.of());
+            List<Transportation> afterCandidates =
+                    afterTransfersByFlightDestinationId.getOrDefault(flight.getDestinationLocation().getId(), List.of());
+
+            if (!beforeCandidates.isEmpty() && !afterCandidates.isEmpty()) {
+                groups.add(buildRouteGroup(origin, destination, flight, beforeCandidates, afterCandidates));
+            }
+        }
+
+        groups.sort(Comparator.comparing(group -> group.getFlight().getId()));
+        stats.addRoutesEmitted(groups.stream().mapToLong(RouteGroupDTO::getTotalRoutes).sum());
+        return groups;
+    }
+
+    @Override
+    public long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return countRoutes(origin, destination, date, context, false);
+    }
+
+    @Override
+    public boolean hasRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return countRoutes(origin, destination, date, context, true) > 0;
+    }
+
+    // Sum over flights of access-leg count times egress-leg count; with stopAtFirst the first non-zero term is returned
+    private long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context,
+                             boolean stopAtFirst) {
+        StrategyStats stats = context.statsFor(this);
+
+        Candidates candidates = loadCandidates(origin, destination, date, context, stats);
+
+        Map<Long, Long> beforeCountByHubId = candidates.accessLegs().stream()
+                .collect(Collectors.groupingBy(t -> t.getDestinationLocation().getId(), Collectors.counting()));
+        Map<Long, Long> afterCountByHubId = candidates.egressLegs().stream()
+                .collect(Collectors.groupingBy(t -> t.getOriginLocation().getId(), Collectors.counting()));
+
+        long count = 0;
+        Set<Long> flightIds = new HashSet<>();
+        for (Transportation flight : candidates.flights()) {
+            if (!flightIds.add(flight.getId())) {
+                stats.addPrunedAsDuplicate(1);
+                continue;
+            }
+            count += beforeCountByHubId.getOrDefault(flight.getOriginLocation().getId(), 0L)
+                    * afterCountByHubId.getOrDefault(flight.getDestinationLocation().getId(), 0L);
+            if (stopAtFirst && count > 0) {
+                break;
+            }
+        }
+
+        stats.addRoutesEmitted(count);
+        return count;
+    }
+
+    // Ground legs around both endpoints and the flights between their hubs; empty as soon as a side has none
+    private Candidates loadCandidates(Location origin, Location destination, LocalDate date,
+                                      RouteSearchContext context, StrategyStats stats) {
+        // The index only knows the live legs, so a scenario reads its hubs through the leg source
+        if (context.getLegSource() == null && context.getScenario() == null && accessHubIndex.isCurrent()) {
+            return loadIndexedCandidates(origin, destination, date, context, stats);
+        }
+
+        List<Transportation> nonFlightTransfersFromOrigin = fetch(context, stats, date, () ->
+                legs(context, date).groundFrom(origin));
+
+        Set<Location> candidateFlightOriginHubs =
+                nonFlightTransfersFromOrigin.stream()
+                        .map(Transportation::getDestinationLocation)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (candidateFlightOriginHubs.isEmpty()) return Candidates.NONE;
+
+        List<Transportation> nonFlightTransfersToDestination = fetch(context, stats, date, () ->
+                legs(context, date).groundInto(destination));
+
+        Set<Location> candidateFlightDestinationHubs =
+                nonFlightTransfersToDestination.stream()
+                        .map(Transportation::getOriginLocation)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (candidateFlightDestinationHubs.isEmpty()) return Candidates.NONE;
+
+        List<Transportation> flightsBetweenCandidateHubs = fetch(context, stats, date, () ->
+                legs(context, date).flightsBetween(candidateFlightOriginHubs, candidateFlightDestinationHubs));
+
+        return new Candidates(nonFlightTransfersFromOrigin, nonFlightTransfersToDestination,
+                flightsBetweenCandidateHubs);
+    }
+
+    // Hub lists come from the index; only the flight probe and the ground legs that meet a flight hit the database
+    private Candidates loadIndexedCandidates(Location origin, Location destination, LocalDate date,
+                                             RouteSearchContext context, StrategyStats stats) {
+        List<AccessHubIndex.HubLink> accessLinks = accessHubIndex.accessHubs(origin.getId(), date);
+        if (accessLinks.isEmpty()) return Candidates.NONE;
+
+        List<AccessHubIndex.HubLink> egressLinks = accessHubIndex.egressHubs(destination.getId(), date);
+        if (egressLinks.isEmpty()) return Candidates.NONE;
+
+        Set<Long> candidateFlightOriginHubIds = hubIds(accessLinks);
+        Set<Long> candidateFlightDestinationHubIds = hubIds(egressLinks);
+        List<Transportation> flightsBetweenCandidateHubs = fetch(context, stats, date,
+                () -> flightsBetween(candidateFlightOriginHubIds, candidateFlightDestinationHubIds, date));
+        if (flightsBetweenCandidateHubs.isEmpty()) return Candidates.NONE;
+
+        Set<Long> flightOriginIds = new HashSet<>();
+        Set<Long> flightDestinationIds = new HashSet<>();
+        for (Transportation flight : flightsBetweenCandidateHubs) {
+            flightOriginIds.add(flight.getOriginLocation().getId());
+            flightDestinationIds.add(flight.getDestinationLocation().getId());
+        }
+        Set<Long> accessLegIds = linkedLegIds(accessLinks, flightOriginIds);
+        Set<Long> egressLegIds = linkedLegIds(egressLinks, flightDestinationIds);
+        Set<Long> groundLegIds = new LinkedHashSet<>(accessLegIds);
+        groundLegIds.addAll(egressLegIds);
+
+        List<Transportation> groundLegs = fetch(context, stats, date,
+                () -> transportationRepository.findByIdIn(groundLegIds));
+        return new Candidates(
+                groundLegs.stream().filter(t -> accessLegIds.contains(t.getId())).toList(),
+                groundLegs.stream().filter(t -> egressLegIds.contains(t.getId())).toList(),
+                flightsBetweenCandidateHubs);
+    }
+
+    private static Set<Long> hubIds(List<AccessHubIndex.HubLink> links) {
+        Set<Long> hubIds = new LinkedHashSet<>();
+        links.forEach(link -> hubIds.add(link.hubLocationId()));
+        return hubIds;
+    }
+
+    private List<Transportation> flightsBetween(Set<Long> originHubIds, Set<Long> destinationHubIds, LocalDate date) {
+        if (date != null) {
+            return transportationRepository
+                    .findValidByTransportationTypeAndOriginLocationIdInAndDestinationLocationIdIn(
+                            TransportationType.FLIGHT, originHubIds, destinationHubIds, date);
+        }
+        return transportationRepository.findByTransportationTypeAndOriginLocationIdInAndDestinationLocationIdIn(
+                TransportationType.FLIGHT, originHubIds, destinationHubIds);
+    }
+
+    private static Set<Long> linkedLegIds(List<AccessHubIndex.HubLink> links, Set<Long> hubIds) {
+        Set<Long> legIds = new LinkedHashSet<>();
+        for (AccessHubIndex.HubLink link : links) {
+            if (hubIds.contains(link.hubLocationId())) {
+                legIds.add(link.transportationId());
+            }
+        }
+        return legIds;
+    }
+
+    private record Candidates(List<Transportation> accessLegs, List<Transportation> egressLegs,
+                              List<Transportation> flights) {
+
+        static final Candidates NONE = new Candidates(List.of(), List.of(), List.of());
+    }
+
     @Override
     public int getMaxTransportations() {
         return 3;
@@ -1,8 +1,11 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.model.mapper.EntityMapper;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -10,7 +13,9 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,20 +27,18 @@ public class TwoStepRouteStrategy extends AbstractRouteStrategy {
     }
 
     @Override
-    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date) {
+    public List<RouteDTO> findRoutes(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
         log.debug("Finding two-step routes from {} to {}", origin.getLocationCode(), destination.getLocationCode());
+        StrategyStats stats = context.statsFor(this);
 
         List<RouteDTO> routes = new ArrayList<>();
 
-        List<Transportation> fromOrigin = transportationRepository.findByOriginLocation(origin)
-                .stream()
-                .filter(t -> isTransportationValidForDate(t, date))
-                .toList();
+        List<Transportation> fromOrigin = fetch(context, stats, date,
+                () -> legs(context, date).from(origin));
 
-        List<Transportation> toDestination = transportationRepository.findByDestinationLocation(destination)
-                .stream()
-                .filter(t -> isTransportationValidForDate(t, date))
-                .toList();
+        List<Transportation> toDestination = fetch(context, stats, date,
+                () -> legs(context, date).into(destination));
 
         for (Transportation first : fromOrigin) {
             for (Transportation second : toDestination) {
@@ -44,21 +47,127 @@ public class TwoStepRouteStrategy extends AbstractRouteStrategy {
 
                     if (isValidRoute(routeTransportations)) {
                         routes.add(RouteDTO.builder()
-                                .originLocation(convertLocationToDTO(origin))
-                                .destinationLocation(convertLocationToDTO(destination))
+                                .originLocation(EntityMapper.toDTO(origin))
+                                .destinationLocation(EntityMapper.toDTO(destination))
                                 .transportations(routeTransportations.stream()
-                                        .map(this::convertTransportationToDTO)
+                                        .map(EntityMapper::toDTO)
                                         .collect(Collectors.toList()))
                                 .totalTransportations(2)
                                 .build());
+                    } else {
+                        stats.addPrunedByRules(1);
                     }
                 }
             }
         }
 
+        stats.addRoutesEmitted(routes.size());
         return routes;
     }
 
+    @Override
+    public List<RouteGroupDTO> findRouteGroups(Location origin, Location destination, LocalDate date,
+            RouteSearchContext context) {
+        StrategyStats stats = context.statsFor(this);
+
+        List<Transportation> fromOrigin = fetch(context, stats, date,
+                () -> legs(context, date).from(origin));
+
+        List<Transportation> toDestination = fetch(context, stats, date,
+                () -> legs(context, date).into(destination));
+
+        Map<Long, List<Transportation>> groundFromOriginByHub = fromOrigin.stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .collect(Collectors.groupingBy(t -> t.getDestinationLocation().getId()));
+        Map<Long, List<Transportation>> groundToDestinationByHub = toDestination.stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .collect(Collectors.groupingBy(t -> t.getOriginLocation().getId()));
+
+        List<RouteGroupDTO> groups = new ArrayList<>();
+
+        // Flight then ground leg
+        for (Transportation flight : fromOrigin) {
+            Long hubId = flight.getDestinationLocation().getId();
+            if (flight.getTransportationType() != TransportationType.FLIGHT || hubId.equals(destination.getId())) {
+                continue;
+            }
+            List<Transportation> egressLegs = groundToDestinationByHub.getOrDefault(hubId, List.of());
+            if (!egressLegs.isEmpty()) {
+                groups.add(buildRouteGroup(origin, destination, flight, List.of(), egressLegs));
+            }
+        }
+
+        // Ground leg then flight
+        for (Transportation flight : toDestination) {
+            Long hubId = flight.getOriginLocation().getId();
+            if (flight.getTransportationType() != TransportationType.FLIGHT || hubId.equals(origin.getId())) {
+                continue;
+            }
+            List<Transportation> accessLegs = groundFromOriginByHub.getOrDefault(hubId, List.of());
+            if (!accessLegs.isEmpty()) {
+                groups.add(buildRouteGroup(origin, destination, flight, accessLegs, List.of()));
+            }
+        }
+
+        groups.sort(Comparator.comparing(group -> group.getFlight().getId()));
+        stats.addRoutesEmitted(groups.stream().mapToLong(RouteGroupDTO::getTotalRoutes).sum());
+        return groups;
+    }
+
+    @Override
+    public long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return countRoutes(origin, destination, date, context, false);
+    }
+
+    @Override
+    public boolean hasRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context) {
+        return countRoutes(origin, destination, date, context, true) > 0;
+    }
+
+    // Sums, per flight, the ground legs that complete it; with stopAtFirst the first non-zero term is returned
+    private long countRoutes(Location origin, Location destination, LocalDate date, RouteSearchContext context,
+            boolean stopAtFirst) {
+        StrategyStats stats = context.statsFor(this);
+
+        List<Transportation> fromOrigin = fetch(context, stats, date,
+                () -> legs(context, date).from(origin));
+
+        List<Transportation> toDestination = fetch(context, stats, date,
+                () -> legs(context, date).into(destination));
+
+        Map<Long, Long> groundFromOriginByHub = fromOrigin.stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .collect(Collectors.groupingBy(t -> t.getDestinationLocation().getId(), Collectors.counting()));
+        Map<Long, Long> groundToDestinationByHub = toDestination.stream()
+                .filter(t -> t.getTransportationType() != TransportationType.FLIGHT)
+                .collect(Collectors.groupingBy(t -> t.getOriginLocation().getId(), Collectors.counting()));
+
+        long count = 0;
+        for (Transportation flight : fromOrigin) {
+            Long hubId = flight.getDestinationLocation().getId();
+            if (flight.getTransportationType() == TransportationType.FLIGHT && !hubId.equals(destination.getId())) {
+                count += groundToDestinationByHub.getOrDefault(hubId, 0L);
+                if (stopAtFirst && count > 0) {
+                    break;
+                }
+            }
+        }
+        if (!stopAtFirst || count == 0) {
+            for (Transportation flight : toDestination) {
+                Long hubId = flight.getOriginLocation().getId();
+                if (flight.getTransportationType() == TransportationType.FLIGHT && !hubId.equals(origin.getId())) {
+                    count += groundFromOriginByHub.getOrDefault(hubId, 0L);
+                    if (stopAtFirst && count > 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        stats.addRoutesEmitted(count);
+        return count;
+    }
+
     @Override
     public int getMaxTransportations() {
         return 2;
@@ -0,0 +1,125 @@
+package com.turkishairlines.routeplanning.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for {@code GET /api/v1/routes}. Start the application once with the
+ * default profile and once with {@code virtual-threads}, then run this against each:
+ *
+ * <pre>
+ * java -cp target/test-classes com.turkishairlines.routeplanning.benchmark.RouteSearchBenchmark \
+ *     http://localhost:8080 400 PT30S IST:LHR,SAW:LHR,IST:CDG
+ * </pre>
+ *
+ * Arguments are base URL, concurrent clients, measured duration and origin:destination pairs.
+ * A warm-up of a third of the duration runs first and is not measured.
+ */
+public final class RouteSearchBenchmark {
+
+    private RouteSearchBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = args.length > 2 ? Duration.parse(args[2]) : Duration.ofSeconds(30);
+        List<String[]> pairs = Arrays.stream((args.length > 3 ? args[3] : "IST:LHR").split(","))
+                .map(pair -> pair.split(":"))
+                .toList();
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<URI> uris = pairs.stream()
+                .map(pair -> URI.create(baseUrl + "/api/v1/routes?origin=" + pair[0] + "&destination=" + pair[1]))
+                .toList();
+
+        System.out.printf("Warming up %d clients for %s%n", clients, duration.dividedBy(3));
+        run(client, uris, clients, duration.dividedBy(3));
+
+        Result result = run(client, uris, clients, duration);
+        System.out.printf(Locale.ROOT, "clients=%d duration=%ss requests=%d errors=%d rejected=%d%n",
+                clients, duration.toSeconds(), result.latencies.length, result.errors, result.rejected);
+        System.out.printf(Locale.ROOT, "throughput=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                result.latencies.length / (double) duration.toSeconds(),
+                percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                percentile(result.latencies, 1.0));
+    }
+
+    private static Result run(HttpClient client, List<URI> uris, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < clients; worker++) {
+                int offset = worker;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 503) {
+                                rejected.incrementAndGet();
+                                continue;
+                            }
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            int previous = all.length;
+            all = Arrays.copyOf(all, previous + latencies.length);
+            System.arraycopy(latencies, 0, all, previous, latencies.length);
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get(), rejected.get());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long errors, long rejected) {
+    }
+}
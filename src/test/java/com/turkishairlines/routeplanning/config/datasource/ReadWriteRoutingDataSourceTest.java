@@ -0,0 +1,177 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import com.turkishairlines.routeplanning.service.cache.TransactionalCacheSupport;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(WINDOW,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithReadOnlyTransaction_ShouldRotateOverReplicas() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0), replicaWithLag(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithReadWriteTransaction_ShouldUsePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0));
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithLaggingReplica_ShouldSkipIt() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(30), replicaWithLag(0));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithNoHealthyReplica_ShouldFallBackToPrimary() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReadWriteRoutingDataSource routing = routing(unreachable, replicaWithLag(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithReplicaNotStreaming_ShouldFallBackToPrimary() throws SQLException {
+        DataSource disconnected = replicaWithLag(0);
+        when(disconnected.getConnection().createStatement().executeQuery(anyString()).wasNull()).thenReturn(true);
+        ReadWriteRoutingDataSource routing = routing(disconnected);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithinReadFromPrimary_ShouldUsePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY,
+                TransactionalCacheSupport.readFromPrimary(routing::determineCurrentLookupKey));
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithReplicaRead_ShouldKeepTheTransactionOutOfSharedCaches() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertTrue(TransactionalCacheSupport.isReadCacheable());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertFalse(TransactionalCacheSupport.isReadCacheable());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertTrue(TransactionalCacheSupport.isReadCacheable());
+    }
+
+    @Test
+    void determineCurrentLookupKey_AfterCommittedWrite_ShouldSetCookieAndReadFromPrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Cookie cookie = response.getCookie(ReadYourWritesTracker.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.plus(WINDOW).toEpochMilli()), cookie.getValue());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WithReadYourWritesCookie_ShouldHonourOnlyAnOpenWindow() throws SQLException {
+        ReadWriteRoutingDataSource routing = routing(replicaWithLag(0));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        bindRequestWithCookie(NOW.plusSeconds(2).toEpochMilli());
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        bindRequestWithCookie(NOW.minusSeconds(1).toEpochMilli());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+
+        // A forged end time beyond the window must not pin the client to the primary
+        bindRequestWithCookie(NOW.plus(Duration.ofDays(1)).toEpochMilli());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    private ReadWriteRoutingDataSource routing(DataSource... replicas) {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            dataSources.put("replica-" + i, replicas[i]);
+        }
+        ReplicaSet replicaSet = new ReplicaSet(dataSources, WINDOW, Duration.ofSeconds(1));
+        replicaSet.checkLag();
+        return new ReadWriteRoutingDataSource(replicaSet, tracker);
+    }
+
+    private DataSource replicaWithLag(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection().createStatement().executeQuery(anyString()).next()).thenReturn(true);
+        when(dataSource.getConnection().createStatement().executeQuery(anyString()).getDouble(1))
+                .thenReturn(lagSeconds);
+        return dataSource;
+    }
+
+    private void bindRequestWithCookie(long primaryUntil) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, Long.toString(primaryUntil)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
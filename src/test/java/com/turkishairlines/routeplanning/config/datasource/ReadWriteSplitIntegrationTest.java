@@ -0,0 +1,107 @@
+package com.turkishairlines.routeplanning.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two independent Postgres containers standing in for a primary and a replica;
+ * the database name tells which one served a statement. The replica gets the schema from an
+ * init script because Hibernate only creates it on the primary.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteSplitIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("route_planning_primary");
+
+    @Container
+    static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("route_planning_replica")
+            .withInitScript("replica-schema.sql");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("route-planning.datasource.read-split.enabled", () -> "true");
+        registry.add("route-planning.datasource.read-split.replicas[0].url", REPLICA::getJdbcUrl);
+        registry.add("route-planning.datasource.read-split.replicas[0].username", REPLICA::getUsername);
+        registry.add("route-planning.datasource.read-split.replicas[0].password", REPLICA::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("route_planning_replica");
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("route_planning_primary");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary right after the same client wrote")
+    void shouldReadFromPrimaryAfterWrite() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        // When
+        currentDatabase(false);
+
+        // Then
+        assertThat(currentDatabase(true)).isEqualTo("route_planning_primary");
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNotNull();
+
+        // When another client without the cookie reads
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Then
+        assertThat(currentDatabase(true)).isEqualTo("route_planning_replica");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
@@ -0,0 +1,57 @@
+package com.turkishairlines.routeplanning.controller;
+
+import com.turkishairlines.routeplanning.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_WithFreePermit_ShouldProceedAndReleaseOnCompletion() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(2, Duration.ofMillis(10));
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals(1, interceptor.availablePermits());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertEquals(2, interceptor.availablePermits());
+    }
+
+    @Test
+    void preHandle_WhenAllPermitsTaken_ShouldRejectAfterTimeout() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+        interceptor.preHandle(request, response, new Object());
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request, response, new Object()));
+
+        assertEquals(Duration.ofMillis(10), exception.getRetryAfter());
+        assertEquals(0, interceptor.availablePermits());
+    }
+
+    @Test
+    void preHandle_WhenPermitFreedWhileWaiting_ShouldProceed() throws InterruptedException {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofSeconds(5));
+        interceptor.preHandle(request, response, new Object());
+
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            interceptor.afterCompletion(request, response, new Object(), null);
+        });
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        releaser.join();
+    }
+}
@@ -0,0 +1,174 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteExplainDTO;
+import com.turkishairlines.routeplanning.model.dto.StrategyStatsDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.AccessHubIndex;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
+import com.turkishairlines.routeplanning.service.strategy.ThreeStepRouteStrategy;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The test profile disables the access hub index, so the three-step search runs its indexed
+ * path only here. The task scheduler is mocked so a rebuild never lands mid-test.
+ */
+@SpringBootTest(properties = "route-planning.access-hub-index.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class AccessHubIndexIntegrationTest {
+
+    // 2024-12-25 is a Wednesday
+    private static final LocalDate WEDNESDAY = LocalDate.of(2024, 12, 25);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private TransportationRepository transportationRepository;
+
+    @Autowired
+    private LocationCodeIndex locationCodeIndex;
+
+    @Autowired
+    private AccessHubIndex accessHubIndex;
+
+    @MockBean
+    private TaskScheduler taskScheduler;
+
+    private Location taksimSquare;
+    private Location istanbulAirport;
+    private Location wembleyStadium;
+
+    @BeforeEach
+    void setUp() {
+        transportationRepository.deleteAll();
+        locationRepository.deleteAll();
+
+        taksimSquare = createTestLocation("Taksim Square", "Istanbul", "HXTSQ");
+        istanbulAirport = createTestLocation("Istanbul Airport", "Istanbul", "HXIST");
+        Location londonHeathrow = createTestLocation("London Heathrow", "London", "HXLHR");
+        wembleyStadium = createTestLocation("Wembley Stadium", "London", "HXWEM");
+        Location kadikoy = createTestLocation("Kadikoy", "Istanbul", "HXKDK");
+
+        createTestTransportation(taksimSquare, istanbulAirport, TransportationType.BUS, new Integer[] { 1, 3 });
+        createTestTransportation(taksimSquare, kadikoy, TransportationType.SUBWAY, new Integer[] { 3 });
+        createTestTransportation(londonHeathrow, wembleyStadium, TransportationType.UBER, new Integer[] { 3 });
+        Transportation flight = createTestTransportation(istanbulAirport, londonHeathrow, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        flight.setValidFrom(WEDNESDAY.minusDays(7));
+        flight.setValidTo(WEDNESDAY.plusDays(7));
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+        accessHubIndex.reload();
+    }
+
+    @AfterTransaction
+    void reloadIndexes() {
+        locationCodeIndex.reload();
+        accessHubIndex.reload();
+    }
+
+    @Test
+    @DisplayName("Should find three-step routes from the hub index with fewer queries")
+    void shouldFindThreeStepRoutesFromTheHubIndex() {
+        // When
+        RouteExplainDTO explanation = routeService.explainValidRoutes("HXTSQ", "HXWEM", WEDNESDAY,
+                new RouteSearchContext());
+
+        // Then
+        assertThat(accessHubIndex.isCurrent()).isTrue();
+        assertThat(explanation.getRoutes()).extracting(AccessHubIndexIntegrationTest::types)
+                .containsExactly(List.of(TransportationType.BUS, TransportationType.FLIGHT, TransportationType.UBER));
+        // The flight probe and the ground legs meeting it, instead of both ground sides and the flight probe
+        assertThat(threeStepStats(explanation).getQueriesIssued()).isEqualTo(2);
+        assertThat(routeService.findValidRoutes("HXTSQ", "HXWEM", WEDNESDAY.plusDays(14))).isEmpty();
+        assertThat(routeService.findValidRoutes("HXTSQ", "HXWEM", WEDNESDAY.plusDays(5))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read ground legs from the repository once transportations changed behind the index")
+    void shouldFallBackToRepositoryAfterUnobservedChange() {
+        // Given a leg written without a change event, as by another instance
+        Location kadikoy = locationRepository.findAll().stream()
+                .filter(location -> location.getLocationCode().equals("HXKDK"))
+                .findFirst()
+                .orElseThrow();
+        createTestTransportation(kadikoy, istanbulAirport, TransportationType.BUS, new Integer[] { 3 });
+        em.flush();
+
+        // When
+        accessHubIndex.checkForChanges();
+        RouteExplainDTO explanation = routeService.explainValidRoutes("HXKDK", "HXWEM", WEDNESDAY,
+                new RouteSearchContext());
+
+        // Then
+        assertThat(accessHubIndex.isCurrent()).isFalse();
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(explanation.getRoutes()).hasSize(1);
+        assertThat(threeStepStats(explanation).getQueriesIssued()).isEqualTo(3);
+    }
+
+    private static List<TransportationType> types(RouteDTO route) {
+        return route.getTransportations().stream().map(TransportationDTO::getTransportationType).toList();
+    }
+
+    private static StrategyStatsDTO threeStepStats(RouteExplainDTO explanation) {
+        return explanation.getStrategies().stream()
+                .filter(stats -> stats.getStrategy().equals(ThreeStepRouteStrategy.class.getSimpleName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Location createTestLocation(String name, String city, String locationCode) {
+        return locationRepository.save(Location.builder()
+                .name(name)
+                .country(city.equals("London") ? "United Kingdom" : "Turkey")
+                .city(city)
+                .locationCode(locationCode)
+                .build());
+    }
+
+    private Transportation createTestTransportation(Location origin, Location destination,
+            TransportationType type, Integer[] operatingDays) {
+        return transportationRepository.save(Transportation.builder()
+                .originLocation(origin)
+                .destinationLocation(destination)
+                .transportationType(type)
+                .operatingDays(operatingDays)
+                .build());
+    }
+}
@@ -1,6 +1,7 @@
 package com.turkishairlines.routeplanning.service;
 
 import com.turkishairlines.routeplanning.exception.DuplicateResourceException;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
 import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
 import com.turkishairlines.routeplanning.model.dto.LocationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
@@ -19,6 +20,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -113,6 +116,20 @@ class LocationServiceIntegrationTest {
                 .hasMessage("Location not found with code: INVALID");
     }
 
+    @Test
+    @DisplayName("Should find locations by codes ignoring case")
+    void shouldFindLocationsByCodesIgnoringCase() {
+        // Given
+        createTestLocation("Istanbul Airport", "Turkey", "Istanbul", "IST");
+        createTestLocation("Ankara Airport", "Turkey", "Ankara", "ESB");
+
+        // When
+        List<LocationDTO> result = locationService.findByLocationCodes(List.of("ist", "ESB", "INVALID"));
+
+        // Then
+        assertThat(result).extracting(LocationDTO::getLocationCode).containsExactly("IST", "ESB");
+    }
+
     @Test
     @DisplayName("Should create new location successfully")
     void shouldCreateNewLocationSuccessfully() {
@@ -160,6 +177,35 @@ class LocationServiceIntegrationTest {
                 .hasMessage("Location with code 'IST' already exists");
     }
 
+    @Test
+    @DisplayName("Should store location codes normalized")
+    void shouldStoreLocationCodesNormalized() {
+        // Given
+        createTestLocation("Istanbul Airport", "Turkey", "Istanbul", "IST");
+
+        LocationDTO lowerCaseLocationDTO = LocationDTO.builder()
+                .name("Sabiha Gokcen Airport")
+                .country("Turkey")
+                .city("Istanbul")
+                .locationCode(" saw ")
+                .build();
+        LocationDTO duplicateLocationDTO = LocationDTO.builder()
+                .name("Another Airport")
+                .country("Turkey")
+                .city("Istanbul")
+                .locationCode("ist")
+                .build();
+
+        // When
+        LocationDTO result = locationService.create(lowerCaseLocationDTO);
+
+        // Then
+        assertThat(result.getLocationCode()).isEqualTo("SAW");
+        assertThat(locationRepository.findByLocationCodeIn(List.of("SAW"))).hasSize(1);
+        assertThatThrownBy(() -> locationService.create(duplicateLocationDTO))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
     @Test
     @DisplayName("Should update location successfully")
     void shouldUpdateLocationSuccessfully() {
@@ -268,6 +314,23 @@ class LocationServiceIntegrationTest {
         assertThat(deletedLocation).isNull(); // Due to @SQLRestriction
     }
 
+    @Test
+    @DisplayName("Should reject nearest-location searches with invalid coordinates or radius")
+    void shouldRejectNearestSearchWithInvalidCoordinatesOrRadius() {
+        // When & Then
+        assertThatThrownBy(() -> locationService.findNearest(Double.NaN, 28.97, 5, null))
+                .isInstanceOf(InvalidRouteException.class);
+        assertThatThrownBy(() -> locationService.findNearest(41.0, Double.NaN, 5, null))
+                .isInstanceOf(InvalidRouteException.class);
+        assertThatThrownBy(() -> locationService.findNearest(41.0, 28.97, 5, 0.0))
+                .isInstanceOf(InvalidRouteException.class);
+        assertThatThrownBy(() -> locationService.findNearest(41.0, 28.97, 5, -10.0))
+                .isInstanceOf(InvalidRouteException.class);
+        assertThatThrownBy(() -> locationService.findNearest(41.0, 28.97, 5, Double.POSITIVE_INFINITY))
+                .isInstanceOf(InvalidRouteException.class);
+        assertThat(locationService.findNearest(41.0, 28.97, 5, 50.0)).isNotNull();
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent location")
     void shouldThrowResourceNotFoundExceptionWhenDeletingNonExistentLocation() {
@@ -0,0 +1,205 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.ReactiveTransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRouteServiceTest {
+
+    // 2025-01-06 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    @Mock
+    private ReactiveTransportationRepository transportationRepository;
+
+    private ReactiveRouteService reactiveRouteService;
+
+    private LocationDTO taksim;
+    private LocationDTO istanbulAirport;
+    private LocationDTO heathrow;
+    private LocationDTO wembley;
+
+    @BeforeEach
+    void setUp() {
+        reactiveRouteService = new ReactiveRouteService(transportationRepository);
+        taksim = location(1L, "CCIST");
+        istanbulAirport = location(2L, "IST");
+        heathrow = location(3L, "LHR");
+        wembley = location(4L, "CCLON");
+    }
+
+    @Test
+    void findValidRoutes_ShouldCombineGroundLegsAroundFlights() {
+        TransportationDTO direct = leg(10L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        TransportationDTO egress = leg(11L, heathrow, wembley, TransportationType.BUS);
+        TransportationDTO access = leg(12L, taksim, istanbulAirport, TransportationType.UBER);
+        stubLocations(istanbulAirport, wembley);
+        when(transportationRepository.findByOriginAndDestination(eq(2L), eq(4L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByOrigin(eq(2L), any())).thenReturn(Flux.just(direct));
+        when(transportationRepository.findByDestination(eq(4L), any())).thenReturn(Flux.just(egress));
+        when(transportationRepository.findByOriginAndTypeNot(eq(2L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.empty());
+        when(transportationRepository.findByDestinationAndTypeNot(eq(4L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.just(egress));
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("IST", "CCLON", MONDAY))
+                .assertNext(route -> assertEquals(List.of(10L, 11L), legIds(route)))
+                .verifyComplete();
+
+        stubLocations(taksim, wembley);
+        when(transportationRepository.findByOriginAndDestination(eq(1L), eq(4L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByOrigin(eq(1L), any())).thenReturn(Flux.just(access));
+        when(transportationRepository.findByOriginAndTypeNot(eq(1L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.just(access));
+        when(transportationRepository.findByTypeAndOriginInAndDestinationIn(eq(TransportationType.FLIGHT),
+                eq(Set.of(2L)), eq(Set.of(3L)), any()))
+                .thenReturn(Flux.just(direct));
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("CCIST", "CCLON", MONDAY))
+                .assertNext(route -> {
+                    assertEquals(List.of(12L, 10L, 11L), legIds(route));
+                    assertEquals(3, route.getTotalTransportations());
+                    assertEquals("CCIST", route.getOriginLocation().getLocationCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findValidRoutes_ShouldDropLegsNotOperatingOnDateAndInvalidSequences() {
+        TransportationDTO weekendFlight = leg(10L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        weekendFlight.setOperatingDays(new Integer[] { 6, 7 });
+        TransportationDTO bus = leg(11L, istanbulAirport, heathrow, TransportationType.BUS);
+        stubLocations(istanbulAirport, heathrow);
+        when(transportationRepository.findByOriginAndDestination(eq(2L), eq(3L), any()))
+                .thenReturn(Flux.just(weekendFlight, bus));
+        when(transportationRepository.findByOrigin(eq(2L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByDestination(eq(3L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByOriginAndTypeNot(eq(2L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.empty());
+        when(transportationRepository.findByDestinationAndTypeNot(eq(3L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("IST", "LHR", MONDAY))
+                .verifyComplete();
+        StepVerifier.create(reactiveRouteService.findValidRoutes("IST", "LHR", MONDAY.plusDays(5)))
+                .assertNext(route -> assertEquals(List.of(10L), legIds(route)))
+                .verifyComplete();
+    }
+
+    @Test
+    void findValidRoutes_ShouldQueryLegsForTheDateSoDisruptionsApply() {
+        stubLocations(istanbulAirport, heathrow);
+        when(transportationRepository.findByOriginAndDestination(2L, 3L, MONDAY)).thenReturn(Flux.empty());
+        when(transportationRepository.findByOrigin(2L, MONDAY)).thenReturn(Flux.empty());
+        when(transportationRepository.findByDestination(3L, MONDAY)).thenReturn(Flux.empty());
+        when(transportationRepository.findByOriginAndTypeNot(2L, TransportationType.FLIGHT, MONDAY))
+                .thenReturn(Flux.empty());
+        when(transportationRepository.findByDestinationAndTypeNot(3L, TransportationType.FLIGHT, MONDAY))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("IST", "LHR", MONDAY))
+                .verifyComplete();
+
+        verify(transportationRepository).findByOriginAndDestination(2L, 3L, MONDAY);
+    }
+
+    @Test
+    void findValidRoutes_ShouldHonourDownstreamDemand() {
+        stubLocations(istanbulAirport, heathrow);
+        when(transportationRepository.findByOriginAndDestination(eq(2L), eq(3L), any())).thenReturn(Flux.just(
+                leg(10L, istanbulAirport, heathrow, TransportationType.FLIGHT),
+                leg(11L, istanbulAirport, heathrow, TransportationType.FLIGHT)));
+        when(transportationRepository.findByOrigin(eq(2L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByDestination(eq(3L), any())).thenReturn(Flux.empty());
+        when(transportationRepository.findByOriginAndTypeNot(eq(2L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.empty());
+        when(transportationRepository.findByDestinationAndTypeNot(eq(3L), eq(TransportationType.FLIGHT), any()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("IST", "LHR", null), 1)
+                .assertNext(route -> assertEquals(List.of(10L), legIds(route)))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(1)
+                .assertNext(route -> assertEquals(List.of(11L), legIds(route)))
+                .verifyComplete();
+    }
+
+    @Test
+    void findValidRoutes_WithUnknownOrigin_ShouldFailWithNotFound() {
+        when(transportationRepository.findLocationByCode(anyString())).thenAnswer(invocation ->
+                "LHR".equals(invocation.getArgument(0)) ? Mono.just(heathrow) : Mono.empty());
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("XXX", "LHR", null))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ResourceNotFoundException.class, error);
+                    assertEquals("Origin location not found with code: XXX", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void findValidRoutes_WithSameOriginAndDestination_ShouldFailWithInvalidRoute() {
+        when(transportationRepository.findLocationByCode(anyString())).thenReturn(Mono.just(heathrow));
+
+        StepVerifier.create(reactiveRouteService.findValidRoutes("LHR", "lhr", null))
+                .expectError(InvalidRouteException.class)
+                .verify();
+    }
+
+    private void stubLocations(LocationDTO origin, LocationDTO destination) {
+        when(transportationRepository.findLocationByCode(origin.getLocationCode())).thenReturn(Mono.just(origin));
+        when(transportationRepository.findLocationByCode(destination.getLocationCode()))
+                .thenReturn(Mono.just(destination));
+    }
+
+    private List<Long> legIds(RouteDTO route) {
+        return route.getTransportations().stream().map(TransportationDTO::getId).toList();
+    }
+
+    private LocationDTO location(Long id, String code) {
+        return LocationDTO.builder()
+                .id(id)
+                .name(code + " location")
+                .city("City")
+                .country("Country")
+                .locationCode(code)
+                .build();
+    }
+
+    private TransportationDTO leg(Long id, LocationDTO origin, LocationDTO destination, TransportationType type) {
+        return TransportationDTO.builder()
+                .id(id)
+                .originLocationId(origin.getId())
+                .destinationLocationId(destination.getId())
+                .originLocation(origin)
+                .destinationLocation(destination)
+                .transportationType(type)
+                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                .build();
+    }
+}
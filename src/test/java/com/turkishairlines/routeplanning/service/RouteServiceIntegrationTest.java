@@ -1,13 +1,36 @@
 package com.turkishairlines.routeplanning.service;
 
+import com.turkishairlines.routeplanning.config.ScopedSearchProperties;
 import com.turkishairlines.routeplanning.exception.InvalidRouteException;
 import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.CompactRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+import com.turkishairlines.routeplanning.model.dto.JourneyDTO;
+import com.turkishairlines.routeplanning.model.dto.NormalizedRoutesDTO;
+import com.turkishairlines.routeplanning.model.dto.ParetoRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RankedRouteDTO;
+import com.turkishairlines.routeplanning.model.dto.ReachabilityDTO;
+import com.turkishairlines.routeplanning.model.dto.RoundTripDTO;
+import com.turkishairlines.routeplanning.model.dto.RoundTripPairDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteCalendarDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteCalendarDayDTO;
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteExplainDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupsDTO;
+import com.turkishairlines.routeplanning.model.dto.ScenarioDTO;
+import com.turkishairlines.routeplanning.model.dto.StrategyStatsDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.LocationScope;
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
 import com.turkishairlines.routeplanning.repository.LocationRepository;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import com.turkishairlines.routeplanning.service.strategy.RouteObjective;
+import com.turkishairlines.routeplanning.service.strategy.RouteSearchContext;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,13 +39,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -36,12 +70,48 @@ class RouteServiceIntegrationTest {
     @Autowired
     private RouteService routeService;
 
+    @Autowired
+    private RankedRouteService rankedRouteService;
+
+    @Autowired
+    private ParetoRouteService paretoRouteService;
+
+    @Autowired
+    private TimetableJourneyService timetableJourneyService;
+
+    @Autowired
+    private RouteCalendarService routeCalendarService;
+
+    @Autowired
+    private RoundTripService roundTripService;
+
+    @Autowired
+    private ScopedRouteService scopedRouteService;
+
+    @Autowired
+    private ReachabilityService reachabilityService;
+
+    @Autowired
+    private NormalizedRouteService normalizedRouteService;
+
     @Autowired
     private LocationRepository locationRepository;
 
     @Autowired
     private TransportationRepository transportationRepository;
 
+    @Autowired
+    private LocationCodeIndex locationCodeIndex;
+
+    @Autowired
+    private DisruptionService disruptionService;
+
+    @Autowired
+    private ScenarioService scenarioService;
+
+    @Autowired
+    private ScopedSearchProperties scopedSearchProperties;
+
     private Location istanbulLocation;
     private Location ankaraLocation;
     private Location izmirLocation;
@@ -84,6 +154,12 @@ class RouteServiceIntegrationTest {
                 new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
     }
 
+    // Drops locations a test loaded into the shared in-memory indexes before rolling back
+    @AfterTransaction
+    void reloadIndexes() {
+        locationCodeIndex.reload();
+    }
+
     @Test
     @DisplayName("Should find direct routes between two locations")
     void shouldFindDirectRoutesBetweenTwoLocations() {
@@ -288,6 +364,561 @@ class RouteServiceIntegrationTest {
         });
     }
 
+    @Test
+    @DisplayName("Should explain route search with per-strategy statistics")
+    void shouldExplainRouteSearchWithPerStrategyStatistics() {
+        // When
+        RouteExplainDTO explanation = routeService.explainValidRoutes("IST", "AYT", null, new RouteSearchContext());
+
+        // Then
+        assertThat(explanation.getRoutes()).isNotEmpty();
+        assertThat(explanation.getTotalRoutes()).isEqualTo(explanation.getRoutes().size());
+        assertThat(explanation.getPhases()).containsKeys(RouteSearchContext.PHASE_LOOKUP,
+                RouteSearchContext.PHASE_DB, RouteSearchContext.PHASE_COMBINE);
+        assertThat(explanation.getStrategies()).hasSize(3);
+        assertThat(explanation.getStrategies())
+                .allSatisfy(stats -> assertThat(stats.getQueriesIssued()).isPositive());
+        assertThat(explanation.getStrategies().stream().mapToLong(StrategyStatsDTO::getRoutesEmitted).sum())
+                .isEqualTo(explanation.getTotalRoutes());
+    }
+
+    @Test
+    @DisplayName("Should return each location and leg once in the normalized route response")
+    void shouldReturnEachLocationAndLegOnceInNormalizedRouteResponse() {
+        // Given
+        List<RouteDTO> routes = routeService.findValidRoutes("IST", "AYT", null);
+
+        // When
+        NormalizedRoutesDTO normalized = normalizedRouteService.findNormalizedRoutes("IST", "AYT", null,
+                new RouteSearchContext());
+
+        // Then
+        assertThat(normalized.getTotalRoutes()).isEqualTo(routes.size());
+        assertThat(normalized.getRoutes()).extracting(CompactRouteDTO::getTransportationIds)
+                .containsExactlyElementsOf(routes.stream()
+                        .map(route -> route.getTransportations().stream().map(TransportationDTO::getId).toList())
+                        .toList());
+        assertThat(normalized.getTransportations().keySet()).containsExactlyInAnyOrderElementsOf(routes.stream()
+                .flatMap(route -> route.getTransportations().stream())
+                .map(TransportationDTO::getId)
+                .distinct()
+                .toList());
+        assertThat(normalized.getTransportations().values()).allSatisfy(leg -> {
+            assertThat(normalized.getLocations()).containsKey(leg.getOriginLocationId());
+            assertThat(normalized.getLocations()).containsKey(leg.getDestinationLocationId());
+        });
+        assertThat(normalized.getLocations().get(istanbulLocation.getId()).getLocationCode()).isEqualTo("IST");
+        assertThat(normalized.getLocations()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should group routes per flight and expand to the same routes")
+    void shouldGroupRoutesPerFlightAndExpandToTheSameRoutes() {
+        // Given
+        createTestTransportation(istanbulLocation, ankaraLocation, TransportationType.UBER,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        List<String> expected = routeService.findValidRoutes("IST", "AYT", null).stream()
+                .map(route -> route.getTransportations().stream().map(t -> String.valueOf(t.getId())).toList())
+                .map(ids -> String.join("-", ids))
+                .sorted()
+                .toList();
+
+        // When
+        RouteGroupsDTO grouped = routeService.findRouteGroups("IST", "AYT", null, new RouteSearchContext());
+
+        // Then
+        List<String> expanded = new ArrayList<>();
+        for (RouteGroupDTO group : grouped.getGroups()) {
+            List<TransportationDTO> access = group.getAccessLegs().isEmpty()
+                    ? Collections.singletonList(null) : group.getAccessLegs();
+            List<TransportationDTO> egress = group.getEgressLegs().isEmpty()
+                    ? Collections.singletonList(null) : group.getEgressLegs();
+            for (TransportationDTO before : access) {
+                for (TransportationDTO after : egress) {
+                    List<String> ids = new ArrayList<>();
+                    if (before != null) ids.add(String.valueOf(before.getId()));
+                    ids.add(String.valueOf(group.getFlight().getId()));
+                    if (after != null) ids.add(String.valueOf(after.getId()));
+                    expanded.add(String.join("-", ids));
+                }
+            }
+        }
+        assertThat(expanded).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(grouped.getTotalRoutes()).isEqualTo(expected.size());
+        assertThat(grouped.getTotalGroups()).isLessThan(expected.size());
+    }
+
+    @Test
+    @DisplayName("Should count and detect routes without enumerating them")
+    void shouldCountAndDetectRoutesWithoutEnumeratingThem() {
+        // Given
+        createTestTransportation(istanbulLocation, ankaraLocation, TransportationType.UBER,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+        LocalDate sunday = LocalDate.of(2024, 12, 29);
+
+        // When
+        long count = routeService.countRoutes("IST", "AYT", monday, new RouteSearchContext());
+        long sundayCount = routeService.countRoutes("IST", "ESB", sunday, new RouteSearchContext());
+
+        // Then
+        assertThat(count).isEqualTo(routeService.findValidRoutes("IST", "AYT", monday).size());
+        assertThat(routeService.hasRoutes("IST", "AYT", monday, new RouteSearchContext())).isTrue();
+        assertThat(sundayCount).isEqualTo(routeService.findValidRoutes("IST", "ESB", sunday).size());
+        assertThat(routeService.hasRoutes("AYT", "IST", null, new RouteSearchContext())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should build a weekly calendar matching per-date route counts")
+    void shouldBuildWeeklyCalendarMatchingPerDateRouteCounts() {
+        // Given
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+        LocalDate sunday = monday.plusDays(6);
+
+        // When
+        RouteCalendarDTO calendar = routeCalendarService.getRouteCalendar("IST", "ESB", monday, sunday, true,
+                new RouteSearchContext());
+
+        // Then
+        for (LocalDate day = monday; !day.isAfter(sunday); day = day.plusDays(1)) {
+            int expected = routeService.findValidRoutes("IST", "ESB", day).size();
+            LocalDate date = day;
+            assertThat(calendar.getAvailableDays().stream()
+                    .filter(entry -> entry.getDate().equals(date))
+                    .mapToLong(RouteCalendarDayDTO::getTotalRoutes)
+                    .sum())
+                    .as("routes on %s", day)
+                    .isEqualTo(expected);
+        }
+        // The IST -> ESB flight only runs on weekdays
+        assertThat(calendar.getAvailableDays()).extracting(RouteCalendarDayDTO::getDate)
+                .containsExactly(monday, monday.plusDays(1), monday.plusDays(2), monday.plusDays(3),
+                        monday.plusDays(4));
+    }
+
+    @Test
+    @DisplayName("Should leave days outside validity, exception dates and disruptions out of the calendar")
+    void shouldLeaveInvalidAndDisruptedDaysOutOfTheCalendar() {
+        // Given
+        Location bodrum = createTestLocation("Bodrum Airport", "Turkey", "Mugla", "BJV");
+        Transportation bodrumFlight = createTestTransportation(istanbulLocation, bodrum, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        bodrumFlight.setValidFrom(LocalDate.of(2024, 12, 24));
+        bodrumFlight.setValidTo(LocalDate.of(2024, 12, 28));
+        bodrumFlight.setExceptionDates(new LocalDate[] { LocalDate.of(2024, 12, 26) });
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+        disruptionService.create(DisruptionDTO.builder()
+                .transportationId(bodrumFlight.getId())
+                .startDate(LocalDate.of(2024, 12, 27))
+                .endDate(LocalDate.of(2024, 12, 27))
+                .reason("Aircraft maintenance")
+                .build());
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+
+        // When
+        RouteCalendarDTO calendar = routeCalendarService.getRouteCalendar("IST", "BJV", monday,
+                monday.plusDays(6), true, new RouteSearchContext());
+
+        // Then
+        assertThat(calendar.getAvailableDays()).extracting(RouteCalendarDayDTO::getDate)
+                .containsExactly(LocalDate.of(2024, 12, 24), LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 28));
+        for (RouteCalendarDayDTO day : calendar.getAvailableDays()) {
+            assertThat(day.getTotalRoutes())
+                    .isEqualTo(routeService.findValidRoutes("IST", "BJV", day.getDate()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a calendar range ending before it starts")
+    void shouldRejectCalendarRangeEndingBeforeItStarts() {
+        // When & Then
+        assertThatThrownBy(() -> routeCalendarService.getRouteCalendar("IST", "ESB", LocalDate.of(2024, 12, 23),
+                LocalDate.of(2024, 12, 22), false, new RouteSearchContext()))
+                .isInstanceOf(InvalidRouteException.class);
+    }
+
+    @Test
+    @DisplayName("Should find both directions of a round trip like two separate searches")
+    void shouldFindBothDirectionsOfRoundTripLikeTwoSeparateSearches() {
+        // Given
+        createTestTransportation(antalyaLocation, izmirLocation, TransportationType.BUS,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        createTestTransportation(izmirLocation, istanbulLocation, TransportationType.FLIGHT,
+                new Integer[] { 6, 7 });
+        LocalDate departure = LocalDate.of(2024, 12, 23);
+        LocalDate sameWeekSaturday = LocalDate.of(2024, 12, 28);
+        List<String> expectedOutbound = signatures(routeService.findValidRoutes("IST", "AYT", departure));
+        List<String> expectedReturn = signatures(routeService.findValidRoutes("AYT", "IST", sameWeekSaturday));
+
+        // When
+        RoundTripDTO roundTrip = roundTripService.findRoundTrip("IST", "AYT", departure, sameWeekSaturday, true, 3,
+                new RouteSearchContext());
+
+        // Then
+        assertThat(signatures(roundTrip.getOutboundRoutes())).containsExactlyInAnyOrderElementsOf(expectedOutbound);
+        assertThat(signatures(roundTrip.getReturnRoutes())).containsExactlyInAnyOrderElementsOf(expectedReturn);
+        assertThat(expectedReturn).isNotEmpty();
+        assertThat(roundTrip.getTotalPairs()).isEqualTo((long) expectedOutbound.size() * expectedReturn.size());
+        assertThat(roundTrip.getPairs()).hasSize(3);
+        assertThat(roundTrip.getPairs()).isSortedAccordingTo(
+                Comparator.comparingInt(RoundTripPairDTO::getTotalTransportations));
+    }
+
+    @Test
+    @DisplayName("City search should match per-pair searches without routes through another member")
+    void cityScopedSearchShouldMatchPerPairSearchesWithoutDominatedRoutes() {
+        // Given
+        Location sabihaGokcen = createTestLocation("Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW");
+        createTestTransportation(sabihaGokcen, istanbulLocation, TransportationType.BUS,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        createTestTransportation(sabihaGokcen, izmirLocation, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        em.flush();
+        em.clear();
+
+        List<Long> memberIds = List.of(istanbulLocation.getId(), sabihaGokcen.getId(), antalyaLocation.getId());
+        List<RouteDTO> perPair = new ArrayList<>(routeService.findValidRoutes("IST", "AYT", null));
+        perPair.addAll(routeService.findValidRoutes("SAW", "AYT", null));
+        List<String> expected = signatures(perPair.stream()
+                .filter(route -> route.getTransportations().stream()
+                        .limit(route.getTransportations().size() - 1)
+                        .noneMatch(leg -> memberIds.contains(leg.getDestinationLocationId())))
+                .toList());
+
+        // When
+        List<RouteDTO> scoped = scopedRouteService.findScopedRoutes("istanbul", LocationScope.CITY, "AYT",
+                LocationScope.LOCATION, null, new RouteSearchContext());
+
+        // Then
+        assertThat(signatures(scoped)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(scoped).anyMatch(route -> route.getOriginLocation().getLocationCode().equals("SAW"));
+        assertThat(scoped).noneMatch(route -> route.getTransportations().stream()
+                .anyMatch(leg -> leg.getOriginLocationId().equals(sabihaGokcen.getId())
+                        && leg.getDestinationLocationId().equals(istanbulLocation.getId())));
+    }
+
+    @Test
+    @DisplayName("Scoped search should reject scopes spanning more pairs than configured")
+    void scopedSearchShouldRejectScopesSpanningTooManyPairs() {
+        // Given
+        int maxPairs = scopedSearchProperties.getMaxPairs();
+        scopedSearchProperties.setMaxPairs(10);
+
+        // When & Then
+        try {
+            assertThatThrownBy(() -> scopedRouteService.findScopedRoutes("Turkey", LocationScope.COUNTRY, "Turkey",
+                    LocationScope.COUNTRY, null, new RouteSearchContext()))
+                    .isInstanceOf(InvalidRouteException.class)
+                    .hasMessageContaining("16 origin and destination pairs");
+            assertThat(scopedRouteService.findScopedRoutes("istanbul", LocationScope.CITY, "Turkey",
+                    LocationScope.COUNTRY, null, new RouteSearchContext())).isNotEmpty();
+        } finally {
+            scopedSearchProperties.setMaxPairs(maxPairs);
+        }
+    }
+
+    @Test
+    @DisplayName("Scoped search should reject an unknown city")
+    void scopedSearchShouldRejectUnknownCity() {
+        // When & Then
+        assertThatThrownBy(() -> scopedRouteService.findScopedRoutes("Trabzon", LocationScope.CITY, "AYT",
+                LocationScope.LOCATION, null, new RouteSearchContext()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Reachability should match a route search against every other location")
+    void reachabilityShouldMatchPerDestinationSearches() {
+        // Given
+        List<Location> others = List.of(ankaraLocation, izmirLocation, antalyaLocation);
+        Map<String, Integer> expectedForward = new HashMap<>();
+        Map<String, Integer> expectedBackward = new HashMap<>();
+        for (Location other : others) {
+            routeService.findValidRoutes("IST", other.getLocationCode(), null).stream()
+                    .mapToInt(RouteDTO::getTotalTransportations).min()
+                    .ifPresent(legs -> expectedForward.put(other.getLocationCode(), legs));
+        }
+        for (Location other : List.of(istanbulLocation, ankaraLocation, izmirLocation)) {
+            routeService.findValidRoutes(other.getLocationCode(), "AYT", null).stream()
+                    .mapToInt(RouteDTO::getTotalTransportations).min()
+                    .ifPresent(legs -> expectedBackward.put(other.getLocationCode(), legs));
+        }
+
+        // When
+        ReachabilityDTO forward = reachabilityService.findReachableLocations("IST", ReachabilityDirection.FORWARD, null,
+                new RouteSearchContext());
+        ReachabilityDTO backward = reachabilityService.findReachableLocations("AYT", ReachabilityDirection.BACKWARD,
+                null, new RouteSearchContext());
+
+        // Then
+        assertThat(expectedForward).isNotEmpty();
+        assertThat(minLegsByCode(forward)).isEqualTo(expectedForward);
+        assertThat(minLegsByCode(backward)).isEqualTo(expectedBackward);
+        assertThat(forward.getTotalLocations()).isEqualTo(expectedForward.size());
+    }
+
+    @Test
+    @DisplayName("Should search routes from the locations nearest to a coordinate")
+    void shouldFindRoutesFromNearestLocations() {
+        // Given
+        Location sabihaGokcen = createTestLocation("Sabiha Gokcen Airport", "Turkey", "Istanbul", "SAW");
+        sabihaGokcen.setLatitude(40.8986);
+        sabihaGokcen.setLongitude(29.3092);
+        istanbulLocation.setLatitude(41.2753);
+        istanbulLocation.setLongitude(28.7519);
+        createTestTransportation(sabihaGokcen, izmirLocation, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+
+        List<RouteDTO> expected = new ArrayList<>(routeService.findValidRoutes("IST", "AYT", null));
+        expected.addAll(routeService.findValidRoutes("SAW", "AYT", null));
+
+        // When
+        List<RouteDTO> routes = scopedRouteService.findRoutesNear(41.0082, 28.9784, 60, 5, "AYT",
+                LocationScope.LOCATION, null, new RouteSearchContext());
+
+        // Then
+        assertThat(signatures(routes)).containsExactlyInAnyOrderElementsOf(signatures(expected));
+        assertThatThrownBy(() -> scopedRouteService.findRoutesNear(51.47, -0.45, 60, 5, "AYT", LocationScope.LOCATION,
+                null, new RouteSearchContext()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThatThrownBy(() -> scopedRouteService.findRoutesNear(41.0082, 28.9784, 0, 5, "AYT",
+                LocationScope.LOCATION, null, new RouteSearchContext()))
+                .isInstanceOf(InvalidRouteException.class);
+    }
+
+    @Test
+    @DisplayName("Should rank the same routes as the full search, best first")
+    void shouldRankTheSameRoutesAsTheFullSearchBestFirst() {
+        // Given
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+        RouteObjective fewestLegs = new RouteObjective(0, 0, 1);
+
+        // When
+        List<RankedRouteDTO> ranked = rankedRouteService.findRankedRoutes("IST", "AYT", monday, 100, fewestLegs,
+                new RouteSearchContext());
+        List<RankedRouteDTO> best = rankedRouteService.findRankedRoutes("IST", "AYT", monday, 1, fewestLegs,
+                new RouteSearchContext());
+
+        // Then
+        assertThat(signatures(ranked.stream().map(RankedRouteDTO::getRoute).toList()))
+                .containsExactlyInAnyOrderElementsOf(signatures(routeService.findValidRoutes("IST", "AYT", monday)));
+        assertThat(ranked).extracting(RankedRouteDTO::getScore).isSorted();
+        assertThat(ranked).extracting(RankedRouteDTO::getTotalDurationMinutes).containsOnlyNulls();
+        assertThat(best).hasSize(1);
+        assertThat(best.get(0).getScore()).isEqualTo(1.0);
+        assertThat(best.get(0).getRoute().getTotalTransportations()).isEqualTo(1);
+        assertThatThrownBy(() -> rankedRouteService.findRankedRoutes("IST", "AYT", monday, 1,
+                new RouteObjective(-1, 0, 0), new RouteSearchContext()))
+                .isInstanceOf(InvalidRouteException.class);
+    }
+
+    @Test
+    @DisplayName("Should return the Pareto frontier over legs, duration and cost")
+    void shouldReturnTheParetoFrontierOverLegsDurationAndCost() {
+        // Given
+        transportationRepository.findAll().forEach(transportation -> {
+            boolean flight = transportation.getTransportationType() == TransportationType.FLIGHT;
+            transportation.setDurationMinutes(flight ? 60 : 30);
+            transportation.setCost(BigDecimal.valueOf(flight ? 100 : 10));
+        });
+        Transportation cheapFlight = createTestTransportation(istanbulLocation, antalyaLocation,
+                TransportationType.FLIGHT, new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        cheapFlight.setDurationMinutes(200);
+        cheapFlight.setCost(BigDecimal.valueOf(20));
+        transportationRepository.flush();
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+
+        // When
+        List<ParetoRouteDTO> frontier = paretoRouteService.findParetoRoutes("IST", "AYT", monday, Set.of(),
+                new RouteSearchContext());
+
+        // Then
+        assertThat(frontier)
+                .extracting(ParetoRouteDTO::getTotalDurationMinutes, route -> route.getTotalCost().intValue())
+                .containsExactly(tuple(60, 100), tuple(200, 20));
+        assertThat(frontier).allSatisfy(route ->
+                assertThat(route.getRoute().getTotalTransportations()).isEqualTo(1));
+        assertThatThrownBy(() -> paretoRouteService.findParetoRoutes("IST", "AYT", monday,
+                Set.of(TransportationType.FLIGHT), new RouteSearchContext()))
+                .isInstanceOf(InvalidRouteException.class);
+    }
+
+    @Test
+    @DisplayName("Should find the earliest timetabled journey honouring transfer times")
+    void shouldFindTheEarliestTimetabledJourneyHonouringTransferTimes() {
+        // Given
+        izmirLocation.setMinTransferMinutes(90);
+        scheduled(createTestTransportation(istanbulLocation, ankaraLocation, TransportationType.BUS,
+                new Integer[] { 1 }), "08:00", "11:00");
+        scheduled(createTestTransportation(ankaraLocation, izmirLocation, TransportationType.FLIGHT,
+                new Integer[] { 1 }), "12:00", "13:00");
+        scheduled(createTestTransportation(izmirLocation, antalyaLocation, TransportationType.BUS,
+                new Integer[] { 1 }), "14:00", "15:00");
+        Transportation laterBus = scheduled(createTestTransportation(izmirLocation, antalyaLocation,
+                TransportationType.BUS, new Integer[] { 1 }), "15:00", "16:00");
+        transportationRepository.flush();
+        LocalDate monday = LocalDate.of(2024, 12, 23);
+
+        // When
+        Optional<JourneyDTO> journey = timetableJourneyService.findTimetableJourney("IST", "AYT", monday,
+                LocalTime.of(7, 0), null, new RouteSearchContext());
+        Optional<JourneyDTO> tooLate = timetableJourneyService.findTimetableJourney("IST", "AYT", monday,
+                LocalTime.of(8, 30), null, new RouteSearchContext());
+
+        // Then
+        assertThat(journey).isPresent();
+        assertThat(journey.get().getDepartureTime()).isEqualTo(monday.atTime(8, 0));
+        assertThat(journey.get().getArrivalTime()).isEqualTo(monday.atTime(16, 0));
+        assertThat(journey.get().getDurationMinutes()).isEqualTo(480);
+        assertThat(journey.get().getLegs()).hasSize(3);
+        assertThat(journey.get().getLegs().get(2).getTransportation().getId()).isEqualTo(laterBus.getId());
+        assertThat(tooLate).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only use seasonal legs inside their validity range and off their exception dates")
+    void shouldHonourValidityRangesAndExceptionDates() {
+        // Given
+        Location bodrum = createTestLocation("Bodrum Airport", "Turkey", "Mugla", "BJV");
+        Transportation seasonalFlight = createTestTransportation(istanbulLocation, bodrum, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        seasonalFlight.setValidFrom(LocalDate.of(2024, 12, 1));
+        seasonalFlight.setValidTo(LocalDate.of(2024, 12, 31));
+        seasonalFlight.setExceptionDates(new LocalDate[] { LocalDate.of(2024, 12, 25) });
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+
+        // When & Then
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 24))).hasSize(1);
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 25))).isEmpty();
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 11, 30))).isEmpty();
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2025, 1, 1))).isEmpty();
+        assertThat(routeService.findValidRoutes("IST", "BJV", null)).hasSize(1);
+        assertThat(rankedRouteService.findRankedRoutes("IST", "BJV", LocalDate.of(2024, 12, 25), 10,
+                RouteObjective.FASTEST, new RouteSearchContext())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave out closed legs and locations only on the dates of their disruptions")
+    void shouldApplyDisruptionsOnlyWithinTheirDates() {
+        // Given
+        Location bodrum = createTestLocation("Bodrum Airport", "Turkey", "Mugla", "BJV");
+        Transportation bodrumFlight = createTestTransportation(istanbulLocation, bodrum, TransportationType.FLIGHT,
+                new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+
+        disruptionService.create(DisruptionDTO.builder()
+                .transportationId(bodrumFlight.getId())
+                .startDate(LocalDate.of(2024, 12, 24))
+                .endDate(LocalDate.of(2024, 12, 25))
+                .reason("Aircraft maintenance")
+                .build());
+        disruptionService.create(DisruptionDTO.builder()
+                .locationId(bodrum.getId())
+                .startDate(LocalDate.of(2024, 12, 27))
+                .endDate(LocalDate.of(2024, 12, 27))
+                .reason("Runway closure")
+                .build());
+
+        // When & Then
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 23))).hasSize(1);
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 24))).isEmpty();
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 26))).hasSize(1);
+        assertThat(routeService.findValidRoutes("IST", "BJV", LocalDate.of(2024, 12, 27))).isEmpty();
+        assertThat(routeService.findValidRoutes("IST", "BJV", null)).hasSize(1);
+        assertThat(rankedRouteService.findRankedRoutes("IST", "BJV", LocalDate.of(2024, 12, 25), 10,
+                RouteObjective.FASTEST, new RouteSearchContext())).isEmpty();
+        assertThat(minLegsByCode(reachabilityService.findReachableLocations("IST", ReachabilityDirection.FORWARD,
+                LocalDate.of(2024, 12, 27), new RouteSearchContext()))).doesNotContainKey("BJV");
+        assertThat(transportationRepository.findById(bodrumFlight.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should search a scenario's changes without touching the live network")
+    void shouldSearchScenarioWithoutTouchingLiveNetwork() {
+        // Given
+        Location bodrum = createTestLocation("Bodrum Airport", "Turkey", "Mugla", "BJV");
+        Transportation antalyaFlight = transportationRepository.findAll().stream()
+                .filter(t -> t.getDestinationLocation().getLocationCode().equals("AYT"))
+                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
+                .findFirst()
+                .orElseThrow();
+        em.flush();
+        em.clear();
+        locationCodeIndex.reload();
+
+        scenarioService.create(ScenarioDTO.builder()
+                .name("bodrum-launch")
+                .description("Open Bodrum and drop the Antalya flight")
+                .addedTransportations(List.of(TransportationDTO.builder()
+                        .originLocationId(istanbulLocation.getId())
+                        .destinationLocationId(bodrum.getId())
+                        .transportationType(TransportationType.FLIGHT)
+                        .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                        .build()))
+                .removedTransportationIds(Set.of(antalyaFlight.getId()))
+                .build());
+        LocalDate date = LocalDate.of(2024, 12, 23);
+        RouteSearchContext scenarioContext = new RouteSearchContext();
+        scenarioContext.setScenario(scenarioService.resolve("bodrum-launch"));
+
+        // When
+        List<RouteDTO> liveRoutes = routeService.findValidRoutes("IST", "BJV", date);
+        List<RouteDTO> scenarioRoutes = routeService.findValidRoutes("IST", "BJV", date, scenarioContext);
+        RouteSearchContext antalyaContext = new RouteSearchContext();
+        antalyaContext.setScenario(scenarioService.resolve("bodrum-launch"));
+        List<RouteDTO> scenarioAntalyaRoutes = routeService.findValidRoutes("IST", "AYT", date, antalyaContext);
+        RouteSearchContext reachContext = new RouteSearchContext();
+        reachContext.setScenario(scenarioService.resolve("bodrum-launch"));
+
+        // Then
+        assertThat(liveRoutes).isEmpty();
+        assertThat(scenarioRoutes).hasSize(1);
+        assertThat(scenarioRoutes.get(0).getTransportations().get(0).getId()).isNegative();
+        assertThat(scenarioAntalyaRoutes).isNotEmpty();
+        assertThat(scenarioAntalyaRoutes).allSatisfy(route -> assertThat(route.getTransportations())
+                .noneMatch(t -> t.getId().equals(antalyaFlight.getId())));
+        assertThat(routeService.findValidRoutes("IST", "AYT", date)).anySatisfy(route ->
+                assertThat(route.getTransportations()).anyMatch(t -> t.getId().equals(antalyaFlight.getId())));
+        assertThat(minLegsByCode(reachabilityService.findReachableLocations("IST", ReachabilityDirection.FORWARD, date,
+                reachContext))).containsEntry("BJV", 1);
+        assertThat(transportationRepository.findAll())
+                .noneMatch(t -> t.getDestinationLocation().getLocationCode().equals("BJV"));
+        assertThatThrownBy(() -> scenarioService.resolve("unknown"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        scenarioService.delete("bodrum-launch");
+    }
+
+    private static Map<String, Integer> minLegsByCode(ReachabilityDTO reachability) {
+        Map<String, Integer> minLegs = new HashMap<>();
+        reachability.getReachableLocations().forEach(reached ->
+                minLegs.put(reached.getLocation().getLocationCode(), reached.getMinTransportations()));
+        return minLegs;
+    }
+
+    private static List<String> signatures(List<RouteDTO> routes) {
+        return routes.stream()
+                .map(route -> route.getTransportations().stream().map(t -> String.valueOf(t.getId())).toList())
+                .map(ids -> String.join("-", ids))
+                .toList();
+    }
+
+    private static Transportation scheduled(Transportation transportation, String departure, String arrival) {
+        transportation.setDepartureTime(LocalTime.parse(departure));
+        transportation.setArrivalTime(LocalTime.parse(arrival));
+        return transportation;
+    }
+
     private Location createTestLocation(String name, String country, String city, String locationCode) {
         Location location = Location.builder()
                 .name(name)
@@ -0,0 +1,73 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.config.ScenarioProperties;
+import com.turkishairlines.routeplanning.exception.DuplicateResourceException;
+import com.turkishairlines.routeplanning.exception.InvalidRouteException;
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.ScenarioDTO;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioServiceTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    private ScenarioProperties scenarioProperties;
+
+    @BeforeEach
+    void setUp() {
+        scenarioProperties = new ScenarioProperties();
+        scenarioProperties.setMaxScenarios(2);
+    }
+
+    @Test
+    void create_WhenTheLimitIsReached_ShouldRefuseUntilOneIsDeleted() {
+        ScenarioService scenarioService = scenarioService();
+        scenarioService.create(scenario("first"));
+        scenarioService.create(scenario("second"));
+
+        assertThrows(DuplicateResourceException.class, () -> scenarioService.create(scenario("second")));
+        assertThrows(InvalidRouteException.class, () -> scenarioService.create(scenario("third")));
+
+        scenarioService.delete("first");
+        scenarioService.create(scenario("third"));
+        assertEquals(List.of("second", "third"),
+                scenarioService.findAll().stream().map(ScenarioDTO::getName).toList());
+    }
+
+    @Test
+    void resolve_AfterTheTtl_ShouldNotFindTheScenarioNorCountItAgainstTheLimit() {
+        scenarioProperties.setTtl(Duration.ZERO);
+        ScenarioService scenarioService = scenarioService();
+        scenarioService.create(scenario("first"));
+        scenarioService.create(scenario("second"));
+
+        assertThrows(ResourceNotFoundException.class, () -> scenarioService.resolve("first"));
+        assertThrows(ResourceNotFoundException.class, () -> scenarioService.update("second", scenario("second")));
+        assertTrue(scenarioService.findAll().isEmpty());
+        assertEquals("third", scenarioService.create(scenario("third")).getName());
+    }
+
+    private ScenarioService scenarioService() {
+        return new ScenarioService(transportationRepository, locationRepository, scenarioProperties);
+    }
+
+    private ScenarioDTO scenario(String name) {
+        return ScenarioDTO.builder().name(name).description(name + " scenario").build();
+    }
+}
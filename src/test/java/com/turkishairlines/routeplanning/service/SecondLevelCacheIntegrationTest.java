@@ -0,0 +1,146 @@
+package com.turkishairlines.routeplanning.service;
+
+import com.turkishairlines.routeplanning.exception.ResourceNotFoundException;
+import com.turkishairlines.routeplanning.model.dto.CacheRegionStatisticsDTO;
+import com.turkishairlines.routeplanning.model.dto.CacheStatisticsDTO;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.service.index.LocationCodeIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The second-level cache is only populated and invalidated on commit, so unlike the other
+ * integration tests these run without a surrounding transaction and clean up after themselves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SecondLevelCacheIntegrationTest {
+
+    private static final List<String> LOCATION_CODES = List.of("L2CA", "L2CB");
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private TransportationService transportationService;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private LocationCodeIndex locationCodeIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transportations WHERE origin_location_id IN "
+                + "(SELECT id FROM locations WHERE location_code IN ('L2CA', 'L2CB'))");
+        jdbcTemplate.update("DELETE FROM locations WHERE location_code IN ('L2CA', 'L2CB')");
+        entityManagerFactory.getCache().evictAll();
+        locationCodeIndex.reload();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated location reads from the second-level cache")
+    void shouldServeRepeatedLocationReadsFromSecondLevelCache() {
+        // Given
+        LocationDTO location = createLocation("Cache Airport A", LOCATION_CODES.get(0));
+        locationService.findById(location.getId());
+        cacheStatisticsService.reset();
+
+        // When
+        locationService.findById(location.getId());
+        locationService.findById(location.getId());
+
+        // Then
+        CacheStatisticsDTO statistics = cacheStatisticsService.getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        assertThat(statistics.getSecondLevelCacheHits()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadsFromDatabase()).isZero();
+        assertThat(statistics.getRegions())
+                .filteredOn(region -> region.getRegion().equals(Location.class.getName()))
+                .extracting(CacheRegionStatisticsDTO::getHitRatio)
+                .containsExactly(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not serve soft deleted locations from the second-level cache")
+    void shouldNotServeSoftDeletedLocationsFromSecondLevelCache() {
+        // Given
+        LocationDTO location = createLocation("Cache Airport A", LOCATION_CODES.get(0));
+        locationService.findById(location.getId());
+
+        // When
+        locationService.delete(location.getId());
+
+        // Then
+        assertThatThrownBy(() -> locationService.findById(location.getId()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Location not found with id: " + location.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated route searches from the query cache until transportations change")
+    void shouldServeRepeatedRouteSearchesFromQueryCache() {
+        // Given
+        LocationDTO origin = createLocation("Cache Airport A", LOCATION_CODES.get(0));
+        LocationDTO destination = createLocation("Cache Airport B", LOCATION_CODES.get(1));
+        TransportationDTO flight = transportationService.create(TransportationDTO.builder()
+                .originLocationId(origin.getId())
+                .destinationLocationId(destination.getId())
+                .transportationType(TransportationType.FLIGHT)
+                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                .build());
+
+        // When
+        List<RouteDTO> firstRoutes = routeService.findValidRoutes("L2CA", "L2CB", null);
+        cacheStatisticsService.reset();
+        List<RouteDTO> secondRoutes = routeService.findValidRoutes("L2CA", "L2CB", null);
+
+        // Then
+        assertThat(secondRoutes).hasSameSizeAs(firstRoutes).hasSize(1);
+        CacheStatisticsDTO statistics = cacheStatisticsService.getStatistics();
+        assertThat(statistics.getQueryCacheHits()).isPositive();
+        assertThat(statistics.getQueryCacheMisses()).isZero();
+
+        // When
+        transportationService.delete(flight.getId());
+
+        // Then
+        assertThat(routeService.findValidRoutes("L2CA", "L2CB", null)).isEmpty();
+    }
+
+    private LocationDTO createLocation(String name, String locationCode) {
+        return locationService.create(LocationDTO.builder()
+                .name(name)
+                .country("Turkey")
+                .city("Istanbul")
+                .locationCode(locationCode)
+                .build());
+    }
+}
@@ -0,0 +1,129 @@
+package com.turkishairlines.routeplanning.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.turkishairlines.routeplanning.config.JsonFragmentConfig;
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFragmentCacheTest {
+
+    private static final Instant VERSION = Instant.parse("2026-01-01T00:00:00Z");
+
+    private JsonFragmentCache fragmentCache;
+    private ObjectMapper fragmentMapper;
+    private ObjectMapper plainMapper;
+
+    @BeforeEach
+    void setUp() {
+        fragmentCache = new JsonFragmentCache(100);
+        fragmentMapper = new ObjectMapper()
+                .registerModule(new JsonFragmentConfig().jsonFragmentModule(fragmentCache));
+        plainMapper = new ObjectMapper();
+    }
+
+    @Test
+    void serialize_Route_ShouldMatchPlainJackson() throws Exception {
+        RouteDTO route = route("Istanbul Airport");
+
+        String expected = plainMapper.writeValueAsString(List.of(route, route));
+
+        assertEquals(expected, fragmentMapper.writeValueAsString(List.of(route, route)));
+        assertEquals(expected, fragmentMapper.writeValueAsString(List.of(route, route)));
+    }
+
+    @Test
+    void serialize_RepeatedLegs_ShouldCacheOneFragmentPerEntityVersion() throws Exception {
+        fragmentMapper.writeValueAsString(List.of(route("Istanbul Airport"), route("Istanbul Airport")));
+
+        // Two locations and one leg
+        assertEquals(3, fragmentCache.size());
+    }
+
+    @Test
+    void serialize_NewLocationVersion_ShouldNotReuseStaleFragment() throws Exception {
+        fragmentMapper.writeValueAsString(route("Istanbul Airport"));
+
+        RouteDTO renamed = route("Istanbul New Airport");
+        renamed.getOriginLocation().setUpdatedAt(VERSION.plusSeconds(1));
+        renamed.getTransportations().get(0).getOriginLocation().setUpdatedAt(VERSION.plusSeconds(1));
+
+        String json = fragmentMapper.writeValueAsString(renamed);
+
+        assertEquals(plainMapper.writeValueAsString(renamed), json);
+        assertFalse(json.contains("\"Istanbul Airport\""));
+    }
+
+    @Test
+    void serialize_WithoutVersion_ShouldBypassCache() throws Exception {
+        LocationDTO location = location(1L, "IST", "Istanbul Airport");
+        location.setUpdatedAt(null);
+
+        assertEquals(plainMapper.writeValueAsString(location), fragmentMapper.writeValueAsString(location));
+        assertEquals(0, fragmentCache.size());
+    }
+
+    @Test
+    void serialize_PrettyPrinted_ShouldMatchPlainJackson() throws Exception {
+        RouteDTO route = route("Istanbul Airport");
+
+        String expected = plainMapper.writerWithDefaultPrettyPrinter().writeValueAsString(route);
+
+        assertEquals(expected, fragmentMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(route));
+    }
+
+    @Test
+    void get_WhenFull_ShouldStayWithinTheLimit() throws Exception {
+        JsonFragmentCache small = new JsonFragmentCache(2);
+
+        small.get("a", () -> "1");
+        small.get("b", () -> "2");
+        assertEquals("1", small.get("a", () -> "unused").getValue());
+        small.get("c", () -> "3");
+
+        assertEquals(2, small.size());
+        assertEquals("3", small.get("c", () -> "reloaded").getValue());
+        small.close();
+    }
+
+    private RouteDTO route(String originName) {
+        LocationDTO origin = location(1L, "IST", originName);
+        LocationDTO destination = location(2L, "LHR", "London Heathrow");
+        TransportationDTO flight = TransportationDTO.builder()
+                .id(10L)
+                .originLocationId(1L)
+                .destinationLocationId(2L)
+                .transportationType(TransportationType.FLIGHT)
+                .operatingDays(new Integer[]{1, 3, 5})
+                .originLocation(location(1L, "IST", originName))
+                .destinationLocation(location(2L, "LHR", "London Heathrow"))
+                .updatedAt(VERSION)
+                .build();
+        return RouteDTO.builder()
+                .originLocation(origin)
+                .destinationLocation(destination)
+                .transportations(List.of(flight))
+                .totalTransportations(1)
+                .build();
+    }
+
+    private LocationDTO location(Long id, String code, String name) {
+        return LocationDTO.builder()
+                .id(id)
+                .name(name)
+                .country("Türkiye")
+                .city("İstanbul")
+                .locationCode(code)
+                .updatedAt(VERSION)
+                .build();
+    }
+}
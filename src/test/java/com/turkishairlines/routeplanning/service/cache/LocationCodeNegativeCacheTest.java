@@ -0,0 +1,88 @@
+package com.turkishairlines.routeplanning.service.cache;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationCodeNegativeCacheTest {
+
+    private LocationCodeNegativeCache negativeCache;
+
+    @BeforeEach
+    void setUp() {
+        negativeCache = new LocationCodeNegativeCache(Duration.ofMinutes(5), 2);
+    }
+
+    @Test
+    void isKnownMissing_AfterMarkMissing_ShouldReturnTrue() {
+        negativeCache.markMissing("XXX", negativeCache.generation());
+
+        assertTrue(negativeCache.isKnownMissing("XXX"));
+        assertFalse(negativeCache.isKnownMissing("IST"));
+    }
+
+    @Test
+    void isKnownMissing_AfterTtlExpired_ShouldReturnFalse() {
+        LocationCodeNegativeCache shortLived = new LocationCodeNegativeCache(Duration.ZERO, 10);
+
+        shortLived.markMissing("XXX", shortLived.generation());
+
+        assertFalse(shortLived.isKnownMissing("XXX"));
+        assertEquals(0, shortLived.size());
+    }
+
+    @Test
+    void onLocationChanged_WithCreatedLocation_ShouldInvalidateCode() {
+        negativeCache.markMissing("IST", negativeCache.generation());
+
+        negativeCache.onLocationChanged(new LocationChangedEvent(ChangeType.CREATED, null, location(1L, "IST")));
+
+        assertFalse(negativeCache.isKnownMissing("IST"));
+    }
+
+    @Test
+    void onLocationChanged_WithRenamedLocation_ShouldInvalidateNewCode() {
+        negativeCache.markMissing("SAW", negativeCache.generation());
+
+        negativeCache.onLocationChanged(new LocationChangedEvent(ChangeType.UPDATED, "IST", location(1L, "SAW")));
+
+        assertFalse(negativeCache.isKnownMissing("SAW"));
+    }
+
+    @Test
+    void markMissing_ReadBeforeInvalidation_ShouldNotCacheCode() {
+        long generation = negativeCache.generation();
+
+        negativeCache.onLocationChanged(new LocationChangedEvent(ChangeType.CREATED, null, location(1L, "IST")));
+        negativeCache.markMissing("IST", generation);
+
+        assertFalse(negativeCache.isKnownMissing("IST"));
+        assertEquals(0, negativeCache.size());
+    }
+
+    @Test
+    void markMissing_WhenFull_ShouldNotGrowBeyondMaxEntries() {
+        negativeCache.markMissing("AAA", negativeCache.generation());
+        negativeCache.markMissing("BBB", negativeCache.generation());
+        negativeCache.markMissing("CCC", negativeCache.generation());
+
+        assertEquals(2, negativeCache.size());
+        assertFalse(negativeCache.isKnownMissing("CCC"));
+    }
+
+    private LocationDTO location(Long id, String locationCode) {
+        return LocationDTO.builder()
+                .id(id)
+                .name("Airport " + locationCode)
+                .country("Turkey")
+                .city("Istanbul")
+                .locationCode(locationCode)
+                .build();
+    }
+}
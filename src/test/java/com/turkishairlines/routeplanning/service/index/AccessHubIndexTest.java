@@ -0,0 +1,149 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessHubIndexTest {
+
+    private static final Integer[] EVERY_DAY = { 1, 2, 3, 4, 5, 6, 7 };
+
+    // Location ids
+    private static final long TAKSIM = 1L;
+    private static final long IST = 2L;
+    private static final long LHR = 3L;
+    private static final long WEMBLEY = 4L;
+    private static final long KADIKOY = 5L;
+
+    // 2024-01-01 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TUESDAY = LocalDate.of(2024, 1, 2);
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private AccessHubIndex accessHubIndex;
+
+    @BeforeEach
+    void setUp() {
+        accessHubIndex = new AccessHubIndex(transportationRepository, taskScheduler, true, Duration.ofMinutes(5));
+        when(transportationRepository.findAllLegs()).thenReturn(List.of(
+                new TransportationLeg(1L, TAKSIM, IST, TransportationType.BUS, new Integer[] { 1 }),
+                new TransportationLeg(2L, TAKSIM, KADIKOY, TransportationType.SUBWAY, EVERY_DAY),
+                new TransportationLeg(3L, IST, LHR, TransportationType.FLIGHT, EVERY_DAY),
+                new TransportationLeg(4L, LHR, WEMBLEY, TransportationType.UBER, EVERY_DAY)));
+        accessHubIndex.reload();
+    }
+
+    @Test
+    void accessHubs_ShouldListOnlyGroundLegsToHubsWithDepartingFlights() {
+        assertEquals(List.of(new AccessHubIndex.HubLink(1L, IST)), accessHubIndex.accessHubs(TAKSIM, null));
+        assertEquals(List.of(new AccessHubIndex.HubLink(4L, LHR)), accessHubIndex.egressHubs(WEMBLEY, null));
+        assertTrue(accessHubIndex.egressHubs(KADIKOY, null).isEmpty());
+    }
+
+    @Test
+    void accessHubs_ShouldFilterByWeekday() {
+        assertEquals(1, accessHubIndex.accessHubs(TAKSIM, MONDAY).size());
+        assertTrue(accessHubIndex.accessHubs(TAKSIM, TUESDAY).isEmpty());
+    }
+
+    @Test
+    void onTransportationChanged_NewFlight_ShouldTurnGroundLegIntoAccessLeg() {
+        accessHubIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.CREATED,
+                transportation(5L, KADIKOY, LHR, TransportationType.FLIGHT)));
+
+        assertEquals(List.of(new AccessHubIndex.HubLink(1L, IST), new AccessHubIndex.HubLink(2L, KADIKOY)),
+                accessHubIndex.accessHubs(TAKSIM, null));
+    }
+
+    @Test
+    void onTransportationChanged_UpdatedAndDeletedLegs_ShouldReplaceAndRemoveEntries() {
+        accessHubIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.UPDATED,
+                transportation(4L, IST, WEMBLEY, TransportationType.UBER)));
+        assertTrue(accessHubIndex.egressHubs(WEMBLEY, null).isEmpty());
+
+        accessHubIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.DELETED,
+                transportation(3L, IST, LHR, TransportationType.FLIGHT)));
+        assertTrue(accessHubIndex.accessHubs(TAKSIM, null).isEmpty());
+    }
+
+    @Test
+    void checkForChanges_WhenTransportationsWereWritten_ShouldStopAnsweringUntilReloaded() {
+        when(transportationRepository.findLastChangedAt()).thenReturn(Instant.parse("2024-01-01T10:00:00Z"));
+        assertTrue(accessHubIndex.isCurrent());
+
+        accessHubIndex.checkForChanges();
+
+        assertFalse(accessHubIndex.isCurrent());
+        ArgumentCaptor<Runnable> reload = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(reload.capture(), any(Instant.class));
+        reload.getValue().run();
+        assertTrue(accessHubIndex.isCurrent());
+    }
+
+    @Test
+    void checkForChanges_AfterOnlyLocallyAppliedWrites_ShouldKeepAnswering() {
+        Instant writtenAt = Instant.parse("2024-01-01T10:00:00Z");
+        when(transportationRepository.findChangedAt(5L)).thenReturn(writtenAt);
+        when(transportationRepository.findLastChangedAt()).thenReturn(writtenAt);
+        when(transportationRepository.countChangedSince(Instant.EPOCH)).thenReturn(1L);
+        accessHubIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.CREATED,
+                transportation(5L, KADIKOY, LHR, TransportationType.FLIGHT)));
+
+        accessHubIndex.checkForChanges();
+
+        assertTrue(accessHubIndex.isCurrent());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void checkForChanges_WhenAnotherInstanceWroteBesidesLocalWrites_ShouldStopAnswering() {
+        Instant writtenAt = Instant.parse("2024-01-01T10:00:00Z");
+        when(transportationRepository.findChangedAt(5L)).thenReturn(writtenAt);
+        when(transportationRepository.findLastChangedAt()).thenReturn(writtenAt);
+        when(transportationRepository.countChangedSince(Instant.EPOCH)).thenReturn(2L);
+        accessHubIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.CREATED,
+                transportation(5L, KADIKOY, LHR, TransportationType.FLIGHT)));
+
+        accessHubIndex.checkForChanges();
+
+        assertFalse(accessHubIndex.isCurrent());
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private TransportationDTO transportation(Long id, Long originId, Long destinationId, TransportationType type) {
+        return TransportationDTO.builder()
+                .id(id)
+                .originLocationId(originId)
+                .destinationLocationId(destinationId)
+                .transportationType(type)
+                .operatingDays(EVERY_DAY)
+                .build();
+    }
+}
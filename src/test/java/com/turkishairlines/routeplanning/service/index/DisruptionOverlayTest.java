@@ -0,0 +1,103 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.DisruptionDTO;
+import com.turkishairlines.routeplanning.repository.DisruptionRepository;
+import com.turkishairlines.routeplanning.repository.DisruptionWindow;
+import com.turkishairlines.routeplanning.service.event.DisruptionChangedEvent;
+import com.turkishairlines.routeplanning.service.strategy.Closures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DisruptionOverlayTest {
+
+    private static final LocalDate DECEMBER_24 = LocalDate.of(2024, 12, 24);
+    private static final LocalDate DECEMBER_25 = LocalDate.of(2024, 12, 25);
+    private static final LocalDate DECEMBER_26 = LocalDate.of(2024, 12, 26);
+
+    @Mock
+    private DisruptionRepository disruptionRepository;
+
+    private DisruptionOverlay disruptionOverlay;
+
+    // Istanbul Airport is closed over Christmas and one flight on Boxing Day
+    private final DisruptionWindow airportClosure = new DisruptionWindow(1L, 2L, null, DECEMBER_24, DECEMBER_25);
+    private final DisruptionWindow flightCancellation = new DisruptionWindow(2L, null, 10L, DECEMBER_26,
+            DECEMBER_26);
+
+    @BeforeEach
+    void setUp() {
+        disruptionOverlay = new DisruptionOverlay(disruptionRepository, true);
+    }
+
+    @Test
+    void closuresOn_ShouldCloseLegsAtClosedLocationsAndClosedLegsWithinTheirDates() {
+        when(disruptionRepository.findAllWindows()).thenReturn(List.of(airportClosure, flightCancellation));
+        disruptionOverlay.reload();
+
+        Closures christmas = disruptionOverlay.current().closuresOn(DECEMBER_25);
+        assertTrue(christmas.closes(11L, 2L, 3L));
+        assertTrue(christmas.closes(12L, 3L, 2L));
+        assertFalse(christmas.closes(10L, 1L, 3L));
+
+        Closures boxingDay = disruptionOverlay.current().closuresOn(DECEMBER_26);
+        assertTrue(boxingDay.closes(10L, 1L, 3L));
+        assertFalse(boxingDay.closes(11L, 2L, 3L));
+
+        assertSame(Closures.NONE, disruptionOverlay.current().closuresOn(DECEMBER_24.minusDays(1)));
+        assertSame(Closures.NONE, disruptionOverlay.current().closuresOn(null));
+    }
+
+    @Test
+    void onDisruptionChanged_ShouldOnlyRebuildClosuresWithinTheChangedDates() {
+        when(disruptionRepository.findAllWindows())
+                .thenReturn(List.of(airportClosure, flightCancellation))
+                .thenReturn(List.of(flightCancellation));
+        disruptionOverlay.reload();
+        Closures christmasEve = disruptionOverlay.current().closuresOn(DECEMBER_24);
+        Closures boxingDay = disruptionOverlay.current().closuresOn(DECEMBER_26);
+
+        disruptionOverlay.onDisruptionChanged(new DisruptionChangedEvent(DisruptionChangedEvent.ChangeType.DELETED,
+                DisruptionDTO.builder().id(1L).locationId(2L).startDate(DECEMBER_24).endDate(DECEMBER_25).build()));
+
+        assertSame(boxingDay, disruptionOverlay.current().closuresOn(DECEMBER_26));
+        assertNotSame(christmasEve, disruptionOverlay.current().closuresOn(DECEMBER_24));
+        assertFalse(disruptionOverlay.current().closuresOn(DECEMBER_24).closes(11L, 2L, 3L));
+    }
+
+    @Test
+    void closuresOn_ShouldHoldOnlyTheClosedIdsAndShareOneEmptyInstance() {
+        long largeId = 5_000_000_000L;
+        when(disruptionRepository.findAllWindows())
+                .thenReturn(List.of(new DisruptionWindow(3L, null, largeId, DECEMBER_25, DECEMBER_25)));
+        disruptionOverlay.reload();
+
+        Closures christmas = disruptionOverlay.current().closuresOn(DECEMBER_25);
+        assertTrue(christmas.closes(largeId, 1L, 3L));
+        assertFalse(christmas.closes(largeId - 1, 1L, 3L));
+        assertSame(Closures.NONE, disruptionOverlay.current().closuresOn(DECEMBER_24));
+        assertSame(Closures.NONE, disruptionOverlay.current().closuresOn(DECEMBER_26));
+    }
+
+    @Test
+    void current_WhenDisabled_ShouldReadTheDisruptionsEachTime() {
+        DisruptionOverlay disabled = new DisruptionOverlay(disruptionRepository, false);
+        when(disruptionRepository.findAllWindows()).thenReturn(List.of(airportClosure));
+
+        disabled.reload();
+        assertTrue(disabled.current().closuresOn(DECEMBER_25).closes(11L, 2L, 3L));
+        assertTrue(disabled.current().closuresOn(DECEMBER_25).closes(11L, 2L, 3L));
+        verify(disruptionRepository, times(2)).findAllWindows();
+    }
+}
@@ -0,0 +1,161 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.service.cache.LocationCodeNegativeCache;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.LocationChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationCodeIndexTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private LocationCodeIndex locationCodeIndex;
+
+    private Location istanbulAirport;
+    private Location sabihaGokcen;
+
+    @BeforeEach
+    void setUp() {
+        locationCodeIndex = new LocationCodeIndex(locationRepository,
+                new LocationCodeNegativeCache(Duration.ofMinutes(5), 100), List.of(), taskScheduler);
+
+        istanbulAirport = Location.builder()
+                .name("Istanbul Airport")
+                .city("Istanbul")
+                .country("Turkey")
+                .locationCode("IST")
+                .build();
+        istanbulAirport.setId(1L);
+
+        sabihaGokcen = Location.builder()
+                .name("Sabiha Gokcen Airport")
+                .city("Istanbul")
+                .country("Turkey")
+                .locationCode("SAW")
+                .build();
+        sabihaGokcen.setId(2L);
+    }
+
+    @Test
+    void find_AfterReload_ShouldResolveCaseInsensitivelyWithoutQuery() {
+        when(locationRepository.findAll()).thenReturn(List.of(istanbulAirport, sabihaGokcen));
+        locationCodeIndex.reload();
+
+        Optional<LocationDTO> location = locationCodeIndex.find(" ist ");
+
+        assertTrue(location.isPresent());
+        assertEquals(1L, location.get().getId());
+        verify(locationRepository, never()).findByLocationCodeIn(any());
+    }
+
+    @Test
+    void find_WithUnknownCode_ShouldQueryOnceAndRememberMiss() {
+        when(locationRepository.findByLocationCodeIn(Set.of("XXX"))).thenReturn(List.of());
+
+        assertTrue(locationCodeIndex.find("xxx").isEmpty());
+        assertTrue(locationCodeIndex.find("XXX").isEmpty());
+
+        verify(locationRepository).findByLocationCodeIn(Set.of("XXX"));
+    }
+
+    @Test
+    void resolveAll_WithMisses_ShouldLoadThemInOneQueryWithoutCachingThem() {
+        when(locationRepository.findByLocationCodeIn(Set.of("IST", "SAW", "XXX")))
+                .thenReturn(List.of(istanbulAirport, sabihaGokcen));
+
+        Map<String, LocationDTO> resolved = locationCodeIndex.resolveAll(List.of("IST", "saw", "XXX"));
+
+        assertEquals(2, resolved.size());
+        assertEquals(1L, resolved.get("IST").getId());
+        assertEquals(2L, resolved.get("saw").getId());
+        assertEquals(0, locationCodeIndex.size());
+    }
+
+    @Test
+    void onLocationChanged_WithRenamedLocation_ShouldMoveCode() {
+        when(locationRepository.findAll()).thenReturn(List.of(istanbulAirport));
+        locationCodeIndex.reload();
+
+        LocationDTO renamed = LocationDTO.builder()
+                .id(1L)
+                .name("Istanbul Airport")
+                .city("Istanbul")
+                .country("Turkey")
+                .locationCode("ISL")
+                .build();
+        locationCodeIndex.onLocationChanged(new LocationChangedEvent(ChangeType.UPDATED, "IST", renamed));
+
+        assertEquals(1L, locationCodeIndex.find("ISL").orElseThrow().getId());
+        assertTrue(locationCodeIndex.findById(1L).isPresent());
+        assertEquals("ISL", locationCodeIndex.findById(1L).get().getLocationCode());
+    }
+
+    @Test
+    void onLocationChanged_WithDeletedLocation_ShouldRemoveEntry() {
+        when(locationRepository.findAll()).thenReturn(List.of(istanbulAirport));
+        locationCodeIndex.reload();
+
+        LocationDTO deleted = locationCodeIndex.findById(1L).orElseThrow();
+        locationCodeIndex.onLocationChanged(new LocationChangedEvent(ChangeType.DELETED, "IST", deleted));
+
+        assertTrue(locationCodeIndex.findById(1L).isEmpty());
+        assertEquals(0, locationCodeIndex.size());
+    }
+
+    @Test
+    void onLocationChanged_WithBurstOfChanges_ShouldScheduleOneRebuild() {
+        when(locationRepository.findAll()).thenReturn(List.of(istanbulAirport, sabihaGokcen));
+        locationCodeIndex.reload();
+
+        LocationDTO istanbul = locationCodeIndex.findById(1L).orElseThrow();
+        LocationDTO sabiha = locationCodeIndex.findById(2L).orElseThrow();
+        locationCodeIndex.onLocationChanged(new LocationChangedEvent(ChangeType.DELETED, "IST", istanbul));
+        locationCodeIndex.onLocationChanged(new LocationChangedEvent(ChangeType.DELETED, "SAW", sabiha));
+
+        assertEquals(0, locationCodeIndex.size());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void reload_WithDeleteCommittedDuringTheRead_ShouldNotBringTheCodeBack() {
+        when(locationRepository.findAll()).thenReturn(List.of(istanbulAirport, sabihaGokcen));
+        locationCodeIndex.reload();
+        LocationDTO sabiha = locationCodeIndex.findById(2L).orElseThrow();
+        when(locationRepository.findAll()).thenAnswer(invocation -> {
+            locationCodeIndex.onLocationChanged(new LocationChangedEvent(ChangeType.DELETED, "SAW", sabiha));
+            return List.of(istanbulAirport, sabihaGokcen);
+        });
+
+        locationCodeIndex.reload();
+
+        assertTrue(locationCodeIndex.findById(2L).isEmpty());
+        assertEquals(1, locationCodeIndex.size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationSearchIndexTest {
+
+    private LocationSearchIndex locationSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        locationSearchIndex = new LocationSearchIndex();
+        locationSearchIndex.onLocationsChanged(List.of(
+                location(1L, "Istanbul Airport", "Istanbul", "Turkey", "IST"),
+                location(2L, "Sabiha Gökçen Airport", "İstanbul", "Turkey", "SAW"),
+                location(3L, "Taksim Square", "Istanbul", "Turkey", "TSQ"),
+                location(4L, "London Heathrow Airport", "London", "UK", "LHR"),
+                location(5L, "Wembley Stadium", "London", "UK", "WS"),
+                location(6L, "Istres Le Tubé", "Istres", "France", "QIE")));
+    }
+
+    @Test
+    void search_WithExactCode_ShouldRankCodeFirst() {
+        List<LocationDTO> results = locationSearchIndex.search("ist", 10);
+
+        assertFalse(results.isEmpty());
+        assertEquals("IST", results.get(0).getLocationCode());
+    }
+
+    @Test
+    void search_WithWordPrefix_ShouldMatchNameCityAndCountry() {
+        List<LocationDTO> results = locationSearchIndex.search("lond", 10);
+
+        assertEquals(List.of("WS", "LHR"), results.stream().map(LocationDTO::getLocationCode).toList());
+    }
+
+    @Test
+    void search_WithMultipleTokens_ShouldRankEntriesMatchingAllTokensFirst() {
+        List<LocationDTO> results = locationSearchIndex.search("istanbul air", 2);
+
+        assertEquals(List.of("IST", "SAW"), results.stream().map(LocationDTO::getLocationCode).toList());
+    }
+
+    @Test
+    void search_WithDiacriticsAndDottedCapitalI_ShouldFold() {
+        List<LocationDTO> results = locationSearchIndex.search("gokcen", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("SAW", results.get(0).getLocationCode());
+    }
+
+    @Test
+    void search_WithTypo_ShouldReturnFuzzyMatchesAfterPrefixMatches() {
+        List<LocationDTO> results = locationSearchIndex.search("heathrw", 10);
+
+        assertFalse(results.isEmpty());
+        assertEquals("LHR", results.get(0).getLocationCode());
+    }
+
+    @Test
+    void search_WithLimit_ShouldReturnTopK() {
+        List<LocationDTO> results = locationSearchIndex.search("i", 2);
+
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void search_WithBlankQuery_ShouldReturnEmptyList() {
+        assertTrue(locationSearchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void onLocationsChanged_ShouldReplaceIndexedLocations() {
+        locationSearchIndex.onLocationsChanged(List.of(location(7L, "Esenboga Airport", "Ankara", "Turkey", "ESB")));
+
+        assertTrue(locationSearchIndex.search("ist", 10).isEmpty());
+        assertEquals("ESB", locationSearchIndex.search("esen", 10).get(0).getLocationCode());
+    }
+
+    private LocationDTO location(Long id, String name, String city, String country, String locationCode) {
+        return LocationDTO.builder()
+                .id(id)
+                .name(name)
+                .city(city)
+                .country(country)
+                .locationCode(locationCode)
+                .build();
+    }
+}
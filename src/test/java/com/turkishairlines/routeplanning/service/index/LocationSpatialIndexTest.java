@@ -0,0 +1,95 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.LocationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationSpatialIndexTest {
+
+    private LocationSpatialIndex spatialIndex;
+
+    @BeforeEach
+    void setUp() {
+        spatialIndex = new LocationSpatialIndex();
+        spatialIndex.onLocationsChanged(List.of(
+                location(1L, "IST", 41.2753, 28.7519),
+                location(2L, "SAW", 40.8986, 29.3092),
+                location(3L, "ESB", 40.1281, 32.9951),
+                location(4L, "LHR", 51.4700, -0.4543),
+                location(5L, "TSQ", 41.0370, 28.9850),
+                location(6L, "NOC", null, null)));
+    }
+
+    @Test
+    void nearest_ShouldRankByGreatCircleDistance() {
+        List<LocationSpatialIndex.NearbyLocation> nearest = spatialIndex.nearest(41.0082, 28.9784, 3, null);
+
+        assertEquals(List.of("TSQ", "SAW", "IST"), codes(nearest));
+        assertEquals(3.2, nearest.get(0).distanceKm(), 0.2);
+        assertEquals(5, spatialIndex.size());
+    }
+
+    @Test
+    void nearest_WithRadius_ShouldDropLocationsOutsideIt() {
+        List<LocationSpatialIndex.NearbyLocation> nearest = spatialIndex.nearest(41.0082, 28.9784, 10, 100.0);
+
+        assertEquals(List.of("TSQ", "SAW", "IST"), codes(nearest));
+        assertTrue(nearest.stream().allMatch(nearby -> nearby.distanceKm() <= 100.0));
+    }
+
+    @Test
+    void nearest_AcrossAntimeridian_ShouldFindCloseLocationOnOtherSide() {
+        spatialIndex.onLocationsChanged(List.of(
+                location(1L, "EAST", 0.0, 179.9),
+                location(2L, "WEST", 0.0, -179.9),
+                location(3L, "MID", 0.0, 170.0)));
+
+        assertEquals(List.of("WEST", "EAST"), codes(spatialIndex.nearest(0.0, -179.99, 2, null)));
+    }
+
+    @Test
+    void nearest_RandomPoints_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<LocationDTO> locations = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            locations.add(location(id, "L" + id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        spatialIndex.onLocationsChanged(locations);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            List<String> expected = locations.stream()
+                    .sorted(Comparator.comparingDouble(location -> LocationSpatialIndex.distanceKm(latitude,
+                            longitude, location.getLatitude(), location.getLongitude())))
+                    .limit(7)
+                    .map(LocationDTO::getLocationCode)
+                    .toList();
+
+            assertEquals(expected, codes(spatialIndex.nearest(latitude, longitude, 7, null)));
+        }
+    }
+
+    private static List<String> codes(List<LocationSpatialIndex.NearbyLocation> nearest) {
+        return nearest.stream().map(nearby -> nearby.location().getLocationCode()).toList();
+    }
+
+    private static LocationDTO location(Long id, String code, Double latitude, Double longitude) {
+        return LocationDTO.builder()
+                .id(id)
+                .name(code)
+                .city(code)
+                .country(code)
+                .locationCode(code)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent;
+import com.turkishairlines.routeplanning.service.event.TransportationChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteReachabilityIndexTest {
+
+    private static final Integer[] EVERY_DAY = { 1, 2, 3, 4, 5, 6, 7 };
+
+    // Location ids
+    private static final long TAKSIM = 1L;
+    private static final long IST = 2L;
+    private static final long LHR = 3L;
+    private static final long WEMBLEY = 4L;
+    private static final long KADIKOY = 5L;
+
+    // 2024-01-01 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TUESDAY = LocalDate.of(2024, 1, 2);
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private RouteReachabilityIndex reachabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        reachabilityIndex = new RouteReachabilityIndex(transportationRepository, taskScheduler, true,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void mayHaveRoute_BeforeFirstLoad_ShouldAllowEveryPair() {
+        assertFalse(reachabilityIndex.isLoaded());
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, WEMBLEY, null));
+    }
+
+    @Test
+    void mayHaveRoute_GroundFlightGround_ShouldFindRouteThroughBothAirports() {
+        when(transportationRepository.findAllLegs()).thenReturn(network());
+        reachabilityIndex.reload();
+
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, WEMBLEY, null));
+        assertTrue(reachabilityIndex.mayHaveRoute(IST, LHR, null));
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, LHR, null));
+        assertTrue(reachabilityIndex.mayHaveRoute(IST, WEMBLEY, null));
+    }
+
+    @Test
+    void mayHaveRoute_WithoutFlightBetweenSides_ShouldRuleOutRoute() {
+        when(transportationRepository.findAllLegs()).thenReturn(network());
+        reachabilityIndex.reload();
+
+        // Ground legs only, the reverse direction, and two ground legs before the flight
+        assertFalse(reachabilityIndex.mayHaveRoute(TAKSIM, IST, null));
+        assertFalse(reachabilityIndex.mayHaveRoute(WEMBLEY, TAKSIM, null));
+        assertFalse(reachabilityIndex.mayHaveRoute(KADIKOY, LHR, null));
+    }
+
+    @Test
+    void mayHaveRoute_FlightNotOperatingOnDate_ShouldRuleOutRouteForThatDay() {
+        when(transportationRepository.findAllLegs()).thenReturn(network());
+        reachabilityIndex.reload();
+
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, WEMBLEY, MONDAY));
+        assertFalse(reachabilityIndex.mayHaveRoute(TAKSIM, WEMBLEY, TUESDAY));
+    }
+
+    @Test
+    void mayHaveRoute_ManyAirports_ShouldIntersectAcrossWords() {
+        List<TransportationLeg> legs = new ArrayList<>();
+        for (long airport = 100; airport < 300; airport++) {
+            legs.add(new TransportationLeg(airport, airport, airport + 1000, TransportationType.FLIGHT, EVERY_DAY));
+        }
+        legs.add(new TransportationLeg(2L, TAKSIM, 250L, TransportationType.BUS, EVERY_DAY));
+        legs.add(new TransportationLeg(3L, 1250L, WEMBLEY, TransportationType.UBER, EVERY_DAY));
+        when(transportationRepository.findAllLegs()).thenReturn(legs);
+        reachabilityIndex.reload();
+
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, WEMBLEY, null));
+        assertFalse(reachabilityIndex.mayHaveRoute(TAKSIM, 1249L, null));
+    }
+
+    @Test
+    void onTransportationChanged_ShouldAllowEveryPairUntilScheduledRebuild() {
+        when(transportationRepository.findAllLegs()).thenReturn(List.of(), network());
+        reachabilityIndex.reload();
+        assertFalse(reachabilityIndex.mayHaveRoute(IST, LHR, null));
+
+        reachabilityIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.CREATED,
+                TransportationDTO.builder().id(3L).build()));
+        reachabilityIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.UPDATED,
+                TransportationDTO.builder().id(3L).build()));
+
+        assertFalse(reachabilityIndex.isLoaded());
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, IST, null));
+        ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(rebuild.capture(), any(Instant.class));
+
+        rebuild.getValue().run();
+
+        assertTrue(reachabilityIndex.mayHaveRoute(IST, LHR, null));
+        assertFalse(reachabilityIndex.mayHaveRoute(TAKSIM, IST, null));
+    }
+
+    @Test
+    void reload_WithChangeCommittedDuringTheLoad_ShouldNotPublishTheOlderSnapshot() {
+        when(transportationRepository.findAllLegs()).thenAnswer(invocation -> {
+            reachabilityIndex.onTransportationChanged(new TransportationChangedEvent(ChangeType.CREATED,
+                    TransportationDTO.builder().id(3L).build()));
+            return List.of();
+        });
+
+        reachabilityIndex.reload();
+
+        assertFalse(reachabilityIndex.isLoaded());
+        assertTrue(reachabilityIndex.mayHaveRoute(IST, LHR, null));
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void checkForChanges_WhenTransportationsWereWritten_ShouldDropIndexAndScheduleRebuild() {
+        Instant loadedAt = Instant.parse("2024-01-01T10:00:00Z");
+        when(transportationRepository.findLastChangedAt()).thenReturn(loadedAt, loadedAt, loadedAt.plusSeconds(1));
+        when(transportationRepository.findAllLegs()).thenReturn(network());
+        reachabilityIndex.reload();
+
+        reachabilityIndex.checkForChanges();
+        assertFalse(reachabilityIndex.mayHaveRoute(TAKSIM, IST, null));
+
+        reachabilityIndex.checkForChanges();
+        assertTrue(reachabilityIndex.mayHaveRoute(TAKSIM, IST, null));
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void mayHaveRoute_WhenNotConfirmedWithinRefreshInterval_ShouldAllowEveryPair() throws InterruptedException {
+        RouteReachabilityIndex stale = new RouteReachabilityIndex(transportationRepository, taskScheduler, true,
+                Duration.ofMillis(1));
+        when(transportationRepository.findAllLegs()).thenReturn(network());
+        stale.reload();
+
+        Thread.sleep(5);
+
+        assertTrue(stale.mayHaveRoute(TAKSIM, IST, null));
+    }
+
+    @Test
+    void reload_WhenDisabled_ShouldNotLoad() {
+        RouteReachabilityIndex disabled = new RouteReachabilityIndex(transportationRepository, taskScheduler, false,
+                Duration.ofMinutes(1));
+
+        disabled.reload();
+
+        assertFalse(disabled.isLoaded());
+        verify(transportationRepository, never()).findAllLegs();
+    }
+
+    private List<TransportationLeg> network() {
+        return List.of(
+                new TransportationLeg(4L, TAKSIM, IST, TransportationType.BUS, EVERY_DAY),
+                new TransportationLeg(5L, KADIKOY, TAKSIM, TransportationType.SUBWAY, EVERY_DAY),
+                new TransportationLeg(6L, IST, LHR, TransportationType.FLIGHT, new Integer[] { 1, 3, 5 }),
+                new TransportationLeg(7L, LHR, WEMBLEY, TransportationType.UBER, EVERY_DAY));
+    }
+}
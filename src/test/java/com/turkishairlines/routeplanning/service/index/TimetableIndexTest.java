@@ -0,0 +1,235 @@
+package com.turkishairlines.routeplanning.service.index;
+
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.LocationRepository;
+import com.turkishairlines.routeplanning.repository.LocationTransferTime;
+import com.turkishairlines.routeplanning.repository.TimetableLeg;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.strategy.Closures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableIndexTest {
+
+    private static final Integer[] EVERY_DAY = { 1, 2, 3, 4, 5, 6, 7 };
+
+    // Location ids
+    private static final long TAKSIM = 1L;
+    private static final long IST = 2L;
+    private static final long LHR = 3L;
+    private static final long WEMBLEY = 4L;
+
+    // 2024-01-01 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private TimetableIndex timetableIndex;
+    private List<TimetableLeg> legs;
+
+    @BeforeEach
+    void setUp() {
+        timetableIndex = new TimetableIndex(transportationRepository, locationRepository, taskScheduler, true, 30,
+                Duration.ofMinutes(5));
+        legs = new ArrayList<>(List.of(
+                leg(1L, TAKSIM, IST, TransportationType.BUS, EVERY_DAY, "08:00", "08:40"),
+                leg(2L, IST, LHR, TransportationType.FLIGHT, EVERY_DAY, "09:00", "12:00"),
+                leg(3L, IST, LHR, TransportationType.FLIGHT, EVERY_DAY, "10:00", "13:00"),
+                leg(4L, LHR, WEMBLEY, TransportationType.UBER, EVERY_DAY, "12:20", "13:00"),
+                leg(5L, LHR, WEMBLEY, TransportationType.UBER, EVERY_DAY, "13:30", "14:10")));
+    }
+
+    @Test
+    void earliestArrival_ShouldRespectTransferTimesAndLeaveAsLateAsPossible() {
+        load(List.of(new LocationTransferTime(IST, 20)));
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.earliestArrival(TAKSIM, WEMBLEY, MONDAY,
+                LocalTime.of(7, 0));
+
+        // The 12:20 Uber is missed after the 30 minute default transfer at Heathrow, so the later flight does as well
+        assertTrue(journey.isPresent());
+        assertEquals(List.of(1L, 3L, 5L), transportationIds(journey.get()));
+        assertEquals(MONDAY.atTime(8, 0), journey.get().departure());
+        assertEquals(MONDAY.atTime(14, 10), journey.get().arrival());
+    }
+
+    @Test
+    void earliestArrival_AfterLastAccessLeg_ShouldTakeTheNextDaysDeparture() {
+        load(List.of());
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.earliestArrival(TAKSIM, WEMBLEY, MONDAY,
+                LocalTime.of(8, 1));
+
+        assertTrue(journey.isPresent());
+        assertEquals(MONDAY.plusDays(1).atTime(8, 0), journey.get().departure());
+        // A bus alone is not a valid route
+        assertTrue(timetableIndex.earliestArrival(TAKSIM, IST, MONDAY, LocalTime.of(7, 0)).isEmpty());
+    }
+
+    @Test
+    void earliestArrival_OvernightFlight_ShouldContinueWithNextDaysLegs() {
+        legs.add(leg(6L, IST, LHR, TransportationType.FLIGHT, new Integer[] { 1 }, "23:00", "02:00"));
+        legs.add(leg(7L, LHR, WEMBLEY, TransportationType.UBER, new Integer[] { 2 }, "03:00", "03:40"));
+        load(List.of());
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.earliestArrival(IST, WEMBLEY, MONDAY,
+                LocalTime.of(22, 0));
+
+        assertTrue(journey.isPresent());
+        assertEquals(List.of(6L, 7L), transportationIds(journey.get()));
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 40), journey.get().arrival());
+    }
+
+    @Test
+    void earliestArrival_OutsideValidityOrOnExceptionDate_ShouldSkipTheLeg() {
+        legs.set(1, leg(2L, IST, LHR, TransportationType.FLIGHT, EVERY_DAY, "09:00", "12:00",
+                null, MONDAY.minusDays(1), null));
+        legs.set(2, leg(3L, IST, LHR, TransportationType.FLIGHT, EVERY_DAY, "10:00", "13:00",
+                null, null, new LocalDate[] { MONDAY }));
+        load(List.of());
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.earliestArrival(IST, WEMBLEY, MONDAY,
+                LocalTime.of(8, 0));
+
+        assertTrue(journey.isPresent());
+        assertEquals(List.of(3L, 5L), transportationIds(journey.get()));
+        assertEquals(MONDAY.plusDays(1).atTime(10, 0), journey.get().departure());
+    }
+
+    @Test
+    void earliestArrival_ThroughLocationClosedForTheDay_ShouldWaitForTheNextDay() {
+        load(List.of());
+        Closures heathrowClosed = Closures.builder().location(LHR).build();
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.earliestArrival(IST, WEMBLEY, MONDAY,
+                LocalTime.of(8, 0), date -> date.equals(MONDAY) ? heathrowClosed : Closures.NONE);
+
+        assertTrue(journey.isPresent());
+        assertEquals(List.of(3L, 5L), transportationIds(journey.get()));
+        assertEquals(MONDAY.plusDays(1).atTime(10, 0), journey.get().departure());
+    }
+
+    @Test
+    void latestDeparture_ShouldMeetTheArrivalDeadlineOnly() {
+        load(List.of(new LocationTransferTime(IST, 20)));
+
+        Optional<TimetableIndex.Journey> journey = timetableIndex.latestDeparture(TAKSIM, WEMBLEY, MONDAY,
+                LocalTime.of(14, 10));
+
+        assertTrue(journey.isPresent());
+        assertEquals(List.of(1L, 3L, 5L), transportationIds(journey.get()));
+        assertEquals(MONDAY.minusDays(1).atTime(8, 0),
+                timetableIndex.latestDeparture(TAKSIM, WEMBLEY, MONDAY, LocalTime.of(14, 9)).orElseThrow().departure());
+    }
+
+    @Test
+    void query_WhenDisabled_ShouldBuildFromTheDatabaseEachTime() {
+        TimetableIndex disabled = new TimetableIndex(transportationRepository, locationRepository, taskScheduler,
+                false, 30, Duration.ofMinutes(5));
+        when(transportationRepository.findAllTimetableLegs()).thenReturn(legs);
+        when(locationRepository.findAllTransferTimes()).thenReturn(List.of());
+
+        disabled.reload();
+        assertFalse(disabled.isLoaded());
+        assertTrue(disabled.earliestArrival(IST, WEMBLEY, MONDAY, LocalTime.of(8, 0)).isPresent());
+        assertTrue(disabled.earliestArrival(IST, WEMBLEY, MONDAY, LocalTime.of(8, 0)).isPresent());
+        verify(transportationRepository, times(2)).findAllTimetableLegs();
+    }
+
+    @Test
+    void onTransportationChanged_ShouldQueryTheDatabaseUntilOneCoalescedRebuildLands() {
+        load(List.of());
+        legs.removeIf(leg -> leg.id().equals(2L) || leg.id().equals(3L));
+
+        timetableIndex.onTransportationChanged(null);
+        timetableIndex.onLocationChanged(null);
+
+        assertFalse(timetableIndex.isCurrent());
+        assertTrue(timetableIndex.earliestArrival(IST, WEMBLEY, MONDAY, LocalTime.of(8, 0)).isEmpty());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+
+        timetableIndex.reload();
+        assertTrue(timetableIndex.isCurrent());
+        assertTrue(timetableIndex.earliestArrival(IST, WEMBLEY, MONDAY, LocalTime.of(8, 0)).isEmpty());
+        verify(transportationRepository, times(3)).findAllTimetableLegs();
+    }
+
+    @Test
+    void reload_WithChangeCommittedDuringTheLoad_ShouldStayOutdated() {
+        when(locationRepository.findAllTransferTimes()).thenReturn(List.of());
+        when(transportationRepository.findAllTimetableLegs()).thenAnswer(invocation -> {
+            timetableIndex.onTransportationChanged(null);
+            return legs;
+        });
+
+        timetableIndex.reload();
+
+        assertTrue(timetableIndex.isLoaded());
+        assertFalse(timetableIndex.isCurrent());
+    }
+
+    @Test
+    void checkForChanges_WhenAnotherInstanceWrote_ShouldStopAnsweringFromTheTimetable() {
+        Instant loadedAt = Instant.parse("2024-01-01T00:00:00Z");
+        when(transportationRepository.findLastChangedAt()).thenReturn(loadedAt);
+        load(List.of());
+
+        timetableIndex.checkForChanges();
+        assertTrue(timetableIndex.isCurrent());
+
+        when(transportationRepository.findLastChangedAt()).thenReturn(loadedAt.plusSeconds(1));
+        timetableIndex.checkForChanges();
+        assertFalse(timetableIndex.isCurrent());
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private void load(List<LocationTransferTime> transferTimes) {
+        when(transportationRepository.findAllTimetableLegs()).thenReturn(legs);
+        when(locationRepository.findAllTransferTimes()).thenReturn(transferTimes);
+        timetableIndex.reload();
+        assertTrue(timetableIndex.isLoaded());
+    }
+
+    private static List<Long> transportationIds(TimetableIndex.Journey journey) {
+        return journey.legs().stream().map(TimetableIndex.JourneyLeg::transportationId).toList();
+    }
+
+    private static TimetableLeg leg(Long id, long origin, long destination, TransportationType type,
+            Integer[] operatingDays, String departure, String arrival) {
+        return leg(id, origin, destination, type, operatingDays, departure, arrival, null, null, null);
+    }
+
+    private static TimetableLeg leg(Long id, long origin, long destination, TransportationType type,
+            Integer[] operatingDays, String departure, String arrival, LocalDate validFrom, LocalDate validTo,
+            LocalDate[] exceptionDates) {
+        return new TimetableLeg(id, origin, destination, type, operatingDays, LocalTime.parse(departure),
+                LocalTime.parse(arrival), validFrom, validTo, exceptionDates);
+    }
+}
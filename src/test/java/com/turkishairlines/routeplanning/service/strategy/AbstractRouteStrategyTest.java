@@ -323,6 +323,36 @@ class AbstractRouteStrategyTest {
         assertTrue(result);
     }
 
+    @Test
+    void isTransportationValidForDate_OutsideValidityRange_ShouldReturnFalse() {
+        Transportation flight = Transportation.builder()
+                .originLocation(istanbulAirport)
+                .destinationLocation(londonHeathrow)
+                .transportationType(TransportationType.FLIGHT)
+                .validFrom(LocalDate.of(2025, 6, 1))
+                .validTo(LocalDate.of(2025, 9, 30))
+                .build();
+        flight.setId(1L);
+
+        assertTrue(testableRouteStrategy.testIsTransportationValidForDate(flight, LocalDate.of(2025, 9, 30)));
+        assertFalse(testableRouteStrategy.testIsTransportationValidForDate(flight, LocalDate.of(2025, 5, 31)));
+        assertFalse(testableRouteStrategy.testIsTransportationValidForDate(flight, LocalDate.of(2025, 10, 1)));
+    }
+
+    @Test
+    void isTransportationValidForDate_OnExceptionDate_ShouldReturnFalse() {
+        Transportation flight = Transportation.builder()
+                .originLocation(istanbulAirport)
+                .destinationLocation(londonHeathrow)
+                .transportationType(TransportationType.FLIGHT)
+                .exceptionDates(new LocalDate[]{LocalDate.of(2024, 12, 25), LocalDate.of(2025, 1, 1)})
+                .build();
+        flight.setId(1L);
+
+        assertFalse(testableRouteStrategy.testIsTransportationValidForDate(flight, LocalDate.of(2025, 1, 1)));
+        assertTrue(testableRouteStrategy.testIsTransportationValidForDate(flight, LocalDate.of(2024, 12, 26)));
+    }
+
     private static class TestableRouteStrategy extends AbstractRouteStrategy {
         public TestableRouteStrategy(TransportationRepository transportationRepository) {
             super(transportationRepository);
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -60,8 +61,8 @@ class DirectRouteStrategyTest {
                                 .build();
                 flight.setId(1L);
 
-                when(transportationRepository.findByOriginLocationAndDestinationLocation(istanbulAirport,
-                                londonHeathrow))
+                when(transportationRepository.findValidByOriginLocationAndDestinationLocation(istanbulAirport,
+                                londonHeathrow, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(flight));
 
                 List<RouteDTO> routes = directRouteStrategy.findRoutes(istanbulAirport, londonHeathrow,
@@ -95,8 +96,8 @@ class DirectRouteStrategyTest {
                                 .build();
                 flight.setId(2L);
 
-                when(transportationRepository.findByOriginLocationAndDestinationLocation(istanbulAirport,
-                                londonHeathrow))
+                when(transportationRepository.findValidByOriginLocationAndDestinationLocation(istanbulAirport,
+                                londonHeathrow, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(bus, flight));
 
                 List<RouteDTO> routes = directRouteStrategy.findRoutes(istanbulAirport, londonHeathrow,
@@ -110,8 +111,8 @@ class DirectRouteStrategyTest {
 
         @Test
         void findRoutes_WithNoDirectTransportation_ShouldReturnEmptyList() {
-                when(transportationRepository.findByOriginLocationAndDestinationLocation(istanbulAirport,
-                                londonHeathrow))
+                when(transportationRepository.findValidByOriginLocationAndDestinationLocation(istanbulAirport,
+                                londonHeathrow, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(Collections.emptyList());
 
                 List<RouteDTO> routes = directRouteStrategy.findRoutes(istanbulAirport, londonHeathrow,
@@ -121,6 +122,73 @@ class DirectRouteStrategyTest {
                 assertTrue(routes.isEmpty());
         }
 
+        @Test
+        void findRoutes_WithContext_ShouldRecordStrategyStats() {
+                Transportation bus = Transportation.builder()
+                                .originLocation(istanbulAirport)
+                                .destinationLocation(londonHeathrow)
+                                .transportationType(TransportationType.BUS)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                bus.setId(1L);
+
+                Transportation mondayFlight = Transportation.builder()
+                                .originLocation(istanbulAirport)
+                                .destinationLocation(londonHeathrow)
+                                .transportationType(TransportationType.FLIGHT)
+                                .operatingDays(new Integer[] { 1 })
+                                .build();
+                mondayFlight.setId(2L);
+
+                Transportation flight = Transportation.builder()
+                                .originLocation(istanbulAirport)
+                                .destinationLocation(londonHeathrow)
+                                .transportationType(TransportationType.FLIGHT)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                flight.setId(3L);
+
+                when(transportationRepository.findValidByOriginLocationAndDestinationLocation(istanbulAirport,
+                                londonHeathrow, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(bus, mondayFlight, flight));
+
+                RouteSearchContext context = new RouteSearchContext();
+                List<RouteDTO> routes = directRouteStrategy.findRoutes(istanbulAirport, londonHeathrow,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(1, routes.size());
+
+                StrategyStats stats = context.statsFor(directRouteStrategy);
+                assertEquals(1, stats.getQueriesIssued());
+                assertEquals(3, stats.getRowsFetched());
+                assertEquals(1, stats.getPrunedByDate());
+                assertEquals(1, stats.getPrunedByRules());
+                assertEquals(1, stats.getRoutesEmitted());
+        }
+
+        @Test
+        void findRoutes_FromPreloadedFrontier_ShouldNotCountQueries() {
+                Transportation flight = Transportation.builder()
+                                .originLocation(istanbulAirport)
+                                .destinationLocation(londonHeathrow)
+                                .transportationType(TransportationType.FLIGHT)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                flight.setId(1L);
+
+                when(transportationRepository.findByOriginLocationIn(any())).thenReturn(List.of(flight));
+                FrontierLegSource frontier = new FrontierLegSource(transportationRepository);
+                frontier.preload(List.of(istanbulAirport, londonHeathrow));
+                RouteSearchContext context = new RouteSearchContext();
+                context.setLegSource(frontier);
+
+                List<RouteDTO> routes = directRouteStrategy.findRoutes(istanbulAirport, londonHeathrow,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(1, routes.size());
+                assertEquals(0, context.statsFor(directRouteStrategy).getQueriesIssued());
+        }
+
         @Test
         void getMaxTransportations_ShouldReturnOne() {
                 int maxTransportations = directRouteStrategy.getMaxTransportations();
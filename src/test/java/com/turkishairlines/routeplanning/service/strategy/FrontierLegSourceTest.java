@@ -0,0 +1,100 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.location;
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.transportation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FrontierLegSourceTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    private Location taksimSquare;
+    private Location istanbulAirport;
+    private Location londonHeathrow;
+    private Location wembleyStadium;
+
+    private Transportation busToAirport;
+    private Transportation busFromAirport;
+    private Transportation outboundFlight;
+    private Transportation returnFlight;
+    private Transportation uberToStadium;
+    private Transportation uberFromStadium;
+
+    @BeforeEach
+    void setUp() {
+        taksimSquare = location(1L, "TSQ");
+        istanbulAirport = location(2L, "IST");
+        londonHeathrow = location(3L, "LHR");
+        wembleyStadium = location(4L, "WS");
+
+        busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+        busFromAirport = transportation(2L, istanbulAirport, taksimSquare, TransportationType.BUS);
+        outboundFlight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+        returnFlight = transportation(4L, londonHeathrow, istanbulAirport, TransportationType.FLIGHT);
+        uberToStadium = transportation(5L, londonHeathrow, wembleyStadium, TransportationType.UBER);
+        uberFromStadium = transportation(6L, wembleyStadium, londonHeathrow, TransportationType.UBER);
+    }
+
+    @Test
+    void preload_ForBothEndpoints_ShouldServeBothDirectionsFromThreeQueries() {
+        when(transportationRepository.findByOriginLocationIn(any()))
+                .thenReturn(List.of(busToAirport, uberFromStadium));
+        when(transportationRepository.findByDestinationLocationIn(any()))
+                .thenReturn(List.of(busFromAirport, uberToStadium));
+        when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                eq(TransportationType.FLIGHT), any(), any()))
+                .thenReturn(List.of(outboundFlight, returnFlight));
+
+        FrontierLegSource legSource = new FrontierLegSource(transportationRepository);
+        legSource.preload(List.of(taksimSquare, wembleyStadium));
+
+        assertEquals(List.of(busToAirport), legSource.groundFrom(taksimSquare));
+        assertEquals(List.of(uberToStadium), legSource.groundInto(wembleyStadium));
+        assertEquals(List.of(outboundFlight),
+                legSource.flightsBetween(Set.of(istanbulAirport), Set.of(londonHeathrow)));
+        assertEquals(List.of(uberFromStadium), legSource.groundFrom(wembleyStadium));
+        assertEquals(List.of(busFromAirport), legSource.groundInto(taksimSquare));
+        assertEquals(List.of(returnFlight),
+                legSource.flightsBetween(Set.of(londonHeathrow), Set.of(istanbulAirport)));
+        assertTrue(legSource.direct(taksimSquare, wembleyStadium).isEmpty());
+
+        assertEquals(3, legSource.getQueriesIssued());
+        verify(transportationRepository, times(1))
+                .findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                        eq(TransportationType.FLIGHT), any(), any());
+    }
+
+    @Test
+    void flightsBetween_OutsidePreloadedHubs_ShouldFallBackToRepository() {
+        FrontierLegSource legSource = new FrontierLegSource(transportationRepository);
+        when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                TransportationType.FLIGHT, Set.of(istanbulAirport), Set.of(londonHeathrow)))
+                .thenReturn(List.of(outboundFlight));
+
+        assertEquals(List.of(outboundFlight),
+                legSource.flightsBetween(Set.of(istanbulAirport), Set.of(londonHeathrow)));
+        assertEquals(1, legSource.getQueriesIssued());
+        verifyNoMoreInteractions(transportationRepository);
+    }
+}
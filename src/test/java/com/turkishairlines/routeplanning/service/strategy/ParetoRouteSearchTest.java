@@ -0,0 +1,108 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.location;
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.transportation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParetoRouteSearchTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @InjectMocks
+    private ParetoRouteSearch paretoRouteSearch;
+
+    private Location taksimSquare;
+    private Location wembleyStadium;
+
+    private Transportation busToIstanbul;
+    private Transportation taxiToSabiha;
+    private Transportation istanbulFlight;
+    private Transportation sabihaFlight;
+    private Transportation uberToStadium;
+    private Transportation sabihaToStadiumFlight;
+    private Transportation istanbulToStadiumFlight;
+    private Transportation slowIstanbulFlight;
+
+    @BeforeEach
+    void setUp() {
+        taksimSquare = location(1L, "TSQ");
+        Location istanbulAirport = location(2L, "IST");
+        Location sabihaGokcen = location(3L, "SAW");
+        Location londonHeathrow = location(4L, "LHR");
+        wembleyStadium = location(5L, "WS");
+
+        busToIstanbul = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS, 30, "5");
+        taxiToSabiha = transportation(2L, taksimSquare, sabihaGokcen, TransportationType.UBER, 20, "40");
+        istanbulFlight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT, 240, "200");
+        sabihaFlight = transportation(4L, sabihaGokcen, londonHeathrow, TransportationType.FLIGHT, 260, "100");
+        uberToStadium = transportation(5L, londonHeathrow, wembleyStadium, TransportationType.UBER, 30, "25");
+        sabihaToStadiumFlight = transportation(6L, sabihaGokcen, wembleyStadium, TransportationType.FLIGHT, 270,
+                "300");
+        istanbulToStadiumFlight = transportation(7L, istanbulAirport, wembleyStadium, TransportationType.FLIGHT,
+                370, "395");
+        slowIstanbulFlight = transportation(8L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT, 300,
+                "300");
+
+        when(transportationRepository.findByOriginLocation(taksimSquare))
+                .thenReturn(List.of(busToIstanbul, taxiToSabiha));
+        when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                .thenReturn(List.of(uberToStadium, sabihaToStadiumFlight, istanbulToStadiumFlight));
+        when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                eq(TransportationType.FLIGHT), any(), any()))
+                .thenReturn(List.of(istanbulFlight, sabihaFlight, slowIstanbulFlight));
+    }
+
+    @Test
+    void search_WithoutPreferences_ShouldReturnOnlyNonDominatedRoutes() {
+        StrategyStats stats = new StrategyStats("test");
+
+        List<ParetoRouteSearch.ParetoRoute> routes = paretoRouteSearch.search(taksimSquare, wembleyStadium, null,
+                Set.of(), stats);
+
+        // The slow Istanbul flight and the direct Istanbul-Wembley flight lose on every criterion
+        assertEquals(List.of(List.of(taxiToSabiha, sabihaToStadiumFlight),
+                        List.of(busToIstanbul, istanbulFlight, uberToStadium),
+                        List.of(taxiToSabiha, sabihaFlight, uberToStadium)),
+                transportations(routes));
+        assertEquals(3, stats.getQueriesIssued());
+        assertTrue(stats.getPrunedAsDominated() > 0);
+        assertEquals(0, stats.getPrunedAsDuplicate());
+    }
+
+    @Test
+    void search_AvoidingUber_ShouldKeepRoutesThatAvoidIt() {
+        List<ParetoRouteSearch.ParetoRoute> routes = paretoRouteSearch.search(taksimSquare, wembleyStadium, null,
+                Set.of(TransportationType.UBER), new StrategyStats("test"));
+
+        assertEquals(List.of(List.of(taxiToSabiha, sabihaToStadiumFlight),
+                        List.of(busToIstanbul, istanbulToStadiumFlight),
+                        List.of(busToIstanbul, istanbulFlight, uberToStadium),
+                        List.of(taxiToSabiha, sabihaFlight, uberToStadium)),
+                transportations(routes));
+        assertEquals(List.of(1, 0, 1, 2),
+                routes.stream().map(ParetoRouteSearch.ParetoRoute::avoidedTransportations).toList());
+    }
+
+    private static List<List<Transportation>> transportations(List<ParetoRouteSearch.ParetoRoute> routes) {
+        return routes.stream().map(ParetoRouteSearch.ParetoRoute::transportations).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.location;
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.transportation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RankedRouteSearchTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @InjectMocks
+    private RankedRouteSearch rankedRouteSearch;
+
+    private Location taksimSquare;
+    private Location wembleyStadium;
+
+    private Transportation busToIstanbul;
+    private Transportation taxiToSabiha;
+    private Transportation istanbulFlight;
+    private Transportation sabihaFlight;
+    private Transportation uberToStadium;
+    private Transportation sabihaToStadiumFlight;
+
+    @BeforeEach
+    void setUp() {
+        taksimSquare = location(1L, "TSQ");
+        Location istanbulAirport = location(2L, "IST");
+        Location sabihaGokcen = location(3L, "SAW");
+        Location londonHeathrow = location(4L, "LHR");
+        wembleyStadium = location(5L, "WS");
+
+        busToIstanbul = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS, 30, "5");
+        taxiToSabiha = transportation(2L, taksimSquare, sabihaGokcen, TransportationType.UBER, 20, "40");
+        istanbulFlight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT, 240, "200");
+        sabihaFlight = transportation(4L, sabihaGokcen, londonHeathrow, TransportationType.FLIGHT, 260, "100");
+        uberToStadium = transportation(5L, londonHeathrow, wembleyStadium, TransportationType.UBER, 30, "25");
+        sabihaToStadiumFlight = transportation(6L, sabihaGokcen, wembleyStadium, TransportationType.FLIGHT, 270,
+                "300");
+    }
+
+    @Test
+    void search_ByDuration_ShouldReturnRoutesBestFirstFromThreeQueries() {
+        stubNetwork();
+        StrategyStats stats = new StrategyStats("test");
+
+        List<RankedRouteSearch.RankedRoute> routes = rankedRouteSearch.search(taksimSquare, wembleyStadium, null,
+                10, RouteObjective.FASTEST, stats);
+
+        assertEquals(List.of(List.of(taxiToSabiha, sabihaToStadiumFlight),
+                        List.of(busToIstanbul, istanbulFlight, uberToStadium),
+                        List.of(taxiToSabiha, sabihaFlight, uberToStadium)),
+                routes.stream().map(RankedRouteSearch.RankedRoute::transportations).toList());
+        assertEquals(List.of(290.0, 300.0, 310.0),
+                routes.stream().map(RankedRouteSearch.RankedRoute::score).toList());
+        assertEquals(3, stats.getQueriesIssued());
+        assertEquals(3, stats.getRoutesEmitted());
+    }
+
+    @Test
+    void search_ByCostWithLimit_ShouldStopAtTheCheapestRoute() {
+        stubNetwork();
+
+        List<RankedRouteSearch.RankedRoute> routes = rankedRouteSearch.search(taksimSquare, wembleyStadium, null,
+                1, new RouteObjective(0, 1, 0), new StrategyStats("test"));
+
+        assertEquals(1, routes.size());
+        assertEquals(List.of(taxiToSabiha, sabihaFlight, uberToStadium), routes.get(0).transportations());
+        assertEquals(165.0, routes.get(0).score());
+    }
+
+    @Test
+    void search_WithoutGroundLegIntoDestination_ShouldSkipHubFlightQuery() {
+        when(transportationRepository.findByOriginLocation(taksimSquare))
+                .thenReturn(List.of(busToIstanbul, taxiToSabiha));
+        when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                .thenReturn(List.of(sabihaToStadiumFlight));
+
+        List<RankedRouteSearch.RankedRoute> routes = rankedRouteSearch.search(taksimSquare, wembleyStadium, null,
+                10, RouteObjective.FASTEST, new StrategyStats("test"));
+
+        assertEquals(1, routes.size());
+        assertEquals(List.of(taxiToSabiha, sabihaToStadiumFlight), routes.get(0).transportations());
+        verify(transportationRepository, never())
+                .findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(any(), any(), any());
+    }
+
+    private void stubNetwork() {
+        when(transportationRepository.findByOriginLocation(taksimSquare))
+                .thenReturn(List.of(busToIstanbul, taxiToSabiha));
+        when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                .thenReturn(List.of(uberToStadium, sabihaToStadiumFlight));
+        when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                TransportationType.FLIGHT, Set.of(busToIstanbul.getDestinationLocation(),
+                        taxiToSabiha.getDestinationLocation()), Set.of(uberToStadium.getOriginLocation())))
+                .thenReturn(List.of(istanbulFlight, sabihaFlight));
+    }
+}
@@ -0,0 +1,108 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.ReachabilityDirection;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.location;
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.transportation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReachabilitySearchTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @InjectMocks
+    private ReachabilitySearch reachabilitySearch;
+
+    private Location taksimSquare;
+    private Location istanbulAirport;
+    private Location kadikoy;
+    private Location londonHeathrow;
+    private Location wembleyStadium;
+
+    private Transportation busToAirport;
+    private Transportation busToKadikoy;
+    private Transportation flight;
+    private Transportation uberToStadium;
+
+    @BeforeEach
+    void setUp() {
+        taksimSquare = location(1L, "TSQ");
+        istanbulAirport = location(2L, "IST");
+        kadikoy = location(3L, "KDK");
+        londonHeathrow = location(4L, "LHR");
+        wembleyStadium = location(5L, "WS");
+
+        busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+        busToKadikoy = transportation(2L, istanbulAirport, kadikoy, TransportationType.BUS);
+        flight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT,
+                new Integer[] { 1, 3, 5 });
+        uberToStadium = transportation(4L, londonHeathrow, wembleyStadium, TransportationType.UBER);
+    }
+
+    @Test
+    void search_Forward_ShouldReachOnlyThroughValidSequencesWithOneQueryPerLeg() {
+        when(transportationRepository.findByOriginLocationIn(any()))
+                .thenReturn(List.of(busToAirport))
+                .thenReturn(List.of(busToKadikoy, flight))
+                .thenReturn(List.of(uberToStadium));
+        StrategyStats stats = new StrategyStats("test");
+
+        Map<String, Integer> reached = byCode(reachabilitySearch.search(taksimSquare,
+                ReachabilityDirection.FORWARD, null, stats));
+
+        // Bus-bus to Kadikoy and the bus-only hop to the airport are not valid routes
+        assertEquals(Map.of("LHR", 2, "WS", 3), reached);
+        assertEquals(3, stats.getQueriesIssued());
+    }
+
+    @Test
+    void search_Backward_ShouldFollowIncomingLegs() {
+        when(transportationRepository.findByDestinationLocationIn(any()))
+                .thenReturn(List.of(uberToStadium))
+                .thenReturn(List.of(flight))
+                .thenReturn(List.of(busToAirport));
+
+        Map<String, Integer> reached = byCode(reachabilitySearch.search(wembleyStadium,
+                ReachabilityDirection.BACKWARD, null, new StrategyStats("test")));
+
+        assertEquals(Map.of("IST", 2, "TSQ", 3), reached);
+    }
+
+    @Test
+    void search_FlightNotOperatingOnDate_ShouldStopAtGroundLegs() {
+        when(transportationRepository.findByOriginLocationIn(any()))
+                .thenReturn(List.of(busToAirport))
+                .thenReturn(List.of(busToKadikoy, flight));
+        StrategyStats stats = new StrategyStats("test");
+
+        // 2024-01-02 is a Tuesday
+        assertTrue(reachabilitySearch.search(taksimSquare, ReachabilityDirection.FORWARD,
+                LocalDate.of(2024, 1, 2), stats).isEmpty());
+        assertEquals(2, stats.getQueriesIssued());
+        assertEquals(1, stats.getPrunedByDate());
+    }
+
+    private static Map<String, Integer> byCode(List<ReachabilitySearch.ReachableLocation> reached) {
+        return reached.stream().collect(Collectors.toMap(r -> r.location().getLocationCode(),
+                ReachabilitySearch.ReachableLocation::transportations));
+    }
+}
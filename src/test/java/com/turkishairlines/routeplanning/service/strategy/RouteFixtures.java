@@ -0,0 +1,53 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+
+import java.math.BigDecimal;
+
+/**
+ * Detached locations and legs with fixed ids for the search tests in this package.
+ */
+final class RouteFixtures {
+
+    static final Integer[] EVERY_DAY = { 1, 2, 3, 4, 5, 6, 7 };
+
+    private RouteFixtures() {
+    }
+
+    static Location location(Long id, String code) {
+        Location location = Location.builder()
+                .name(code)
+                .city(code)
+                .country(code)
+                .locationCode(code)
+                .build();
+        location.setId(id);
+        return location;
+    }
+
+    static Transportation transportation(Long id, Location origin, Location destination, TransportationType type) {
+        return transportation(id, origin, destination, type, EVERY_DAY);
+    }
+
+    static Transportation transportation(Long id, Location origin, Location destination, TransportationType type,
+            Integer[] operatingDays) {
+        Transportation transportation = Transportation.builder()
+                .originLocation(origin)
+                .destinationLocation(destination)
+                .transportationType(type)
+                .operatingDays(operatingDays)
+                .build();
+        transportation.setId(id);
+        return transportation;
+    }
+
+    static Transportation transportation(Long id, Location origin, Location destination, TransportationType type,
+            int durationMinutes, String cost) {
+        Transportation transportation = transportation(id, origin, destination, type);
+        transportation.setDurationMinutes(durationMinutes);
+        transportation.setCost(new BigDecimal(cost));
+        return transportation;
+    }
+}
@@ -0,0 +1,72 @@
+package com.turkishairlines.routeplanning.service.strategy;
+
+import com.turkishairlines.routeplanning.model.entity.Location;
+import com.turkishairlines.routeplanning.model.entity.Transportation;
+import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.location;
+import static com.turkishairlines.routeplanning.service.strategy.RouteFixtures.transportation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioTest {
+
+    @Mock
+    private LegSource legSource;
+
+    private Location taksimSquare;
+    private Location istanbulAirport;
+    private Location londonHeathrow;
+
+    private Transportation busToAirport;
+    private Transportation outboundFlight;
+    private Transportation returnFlight;
+
+    @BeforeEach
+    void setUp() {
+        taksimSquare = location(1L, "TSQ");
+        istanbulAirport = location(2L, "IST");
+        londonHeathrow = location(3L, "LHR");
+
+        busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+        outboundFlight = transportation(2L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+        returnFlight = transportation(3L, londonHeathrow, istanbulAirport, TransportationType.FLIGHT);
+    }
+
+    @Test
+    void applyTo_WithoutChangesToTheRead_ShouldReturnTheBaseList() {
+        Scenario scenario = new Scenario("noop", null, Set.of(returnFlight.getId()), List.of(), List.of());
+        List<Transportation> base = List.of(busToAirport, outboundFlight);
+
+        assertSame(base, scenario.applyTo(base, leg -> true));
+    }
+
+    @Test
+    void over_ShouldHideRemovedLegsAndMergeAddedAndModifiedOnes() {
+        Transportation metroToAirport = transportation(-1L, taksimSquare, istanbulAirport, TransportationType.SUBWAY);
+        Transportation delayedFlight = transportation(2L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+        Scenario scenario = new Scenario("what-if", "Metro line opens", Set.of(busToAirport.getId()),
+                List.of(metroToAirport), List.of(delayedFlight));
+        when(legSource.groundFrom(taksimSquare)).thenReturn(List.of(busToAirport));
+        when(legSource.flightsBetween(Set.of(istanbulAirport), Set.of(londonHeathrow)))
+                .thenReturn(List.of(outboundFlight));
+        when(legSource.from(londonHeathrow)).thenReturn(List.of(returnFlight));
+
+        LegSource overlaid = scenario.over(legSource);
+
+        assertEquals(List.of(metroToAirport), overlaid.groundFrom(taksimSquare));
+        assertSame(delayedFlight,
+                overlaid.flightsBetween(Set.of(istanbulAirport), Set.of(londonHeathrow)).get(0));
+        assertEquals(1, overlaid.flightsBetween(Set.of(istanbulAirport), Set.of(londonHeathrow)).size());
+        assertEquals(List.of(returnFlight), overlaid.from(londonHeathrow));
+    }
+}
@@ -1,23 +1,32 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
+import com.turkishairlines.routeplanning.model.dto.TransportationDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
+import com.turkishairlines.routeplanning.repository.TransportationLeg;
 import com.turkishairlines.routeplanning.repository.TransportationRepository;
+import com.turkishairlines.routeplanning.service.index.AccessHubIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +35,9 @@ class ThreeStepRouteStrategyTest {
         @Mock
         private TransportationRepository transportationRepository;
 
+        @Mock
+        private TaskScheduler taskScheduler;
+
         private ThreeStepRouteStrategy threeStepRouteStrategy;
 
         private Location taksimSquare;
@@ -35,7 +47,9 @@ class ThreeStepRouteStrategyTest {
 
         @BeforeEach
         void setUp() {
-                threeStepRouteStrategy = new ThreeStepRouteStrategy(transportationRepository);
+                threeStepRouteStrategy = new ThreeStepRouteStrategy(transportationRepository,
+                                new AccessHubIndex(transportationRepository, taskScheduler, false,
+                                                Duration.ofMinutes(5)));
 
                 taksimSquare = Location.builder()
                                 .name("Taksim Square")
@@ -96,14 +110,14 @@ class ThreeStepRouteStrategyTest {
                                 .build();
                 uberToStadium.setId(3L);
 
-                when(transportationRepository.findByOriginLocationAndTransportationTypeNot(taksimSquare,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocationAndTransportationTypeNot(wembleyStadium,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(uberToStadium));
-                when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
-                                eq(TransportationType.FLIGHT), any(), any()))
+                when(transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                                eq(TransportationType.FLIGHT), any(), any(), any()))
                                 .thenReturn(List.of(flight));
 
                 List<RouteDTO> routes = threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -121,8 +135,8 @@ class ThreeStepRouteStrategyTest {
 
         @Test
         void findRoutes_WithNoBeforeTransfers_ShouldReturnEmptyList() {
-                when(transportationRepository.findByOriginLocationAndTransportationTypeNot(taksimSquare,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(Collections.emptyList());
 
                 List<RouteDTO> routes = threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -142,11 +156,11 @@ class ThreeStepRouteStrategyTest {
                                 .build();
                 busToAirport.setId(1L);
 
-                when(transportationRepository.findByOriginLocationAndTransportationTypeNot(taksimSquare,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocationAndTransportationTypeNot(wembleyStadium,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(Collections.emptyList());
 
                 List<RouteDTO> routes = threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -174,14 +188,14 @@ class ThreeStepRouteStrategyTest {
                                 .build();
                 uberToStadium.setId(2L);
 
-                when(transportationRepository.findByOriginLocationAndTransportationTypeNot(taksimSquare,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocationAndTransportationTypeNot(wembleyStadium,
-                                TransportationType.FLIGHT))
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(uberToStadium));
-                when(transportationRepository.findByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
-                                eq(TransportationType.FLIGHT), any(), any()))
+                when(transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                                eq(TransportationType.FLIGHT), any(), any(), any()))
                                 .thenReturn(Collections.emptyList());
 
                 List<RouteDTO> routes = threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -191,10 +205,189 @@ class ThreeStepRouteStrategyTest {
                 assertTrue(routes.isEmpty());
         }
 
+        @Test
+        void findRoutes_WithDuplicateFlightRows_ShouldCountDuplicatesInStats() {
+                Transportation busToAirport = Transportation.builder()
+                                .originLocation(taksimSquare)
+                                .destinationLocation(istanbulAirport)
+                                .transportationType(TransportationType.BUS)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                busToAirport.setId(1L);
+
+                Transportation flight = Transportation.builder()
+                                .originLocation(istanbulAirport)
+                                .destinationLocation(londonHeathrow)
+                                .transportationType(TransportationType.FLIGHT)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                flight.setId(2L);
+
+                Transportation uberToStadium = Transportation.builder()
+                                .originLocation(londonHeathrow)
+                                .destinationLocation(wembleyStadium)
+                                .transportationType(TransportationType.UBER)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                uberToStadium.setId(3L);
+
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(busToAirport));
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(uberToStadium));
+                when(transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                                eq(TransportationType.FLIGHT), any(), any(), any()))
+                                .thenReturn(List.of(flight, flight));
+
+                RouteSearchContext context = new RouteSearchContext();
+                List<RouteDTO> routes = threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(1, routes.size());
+
+                StrategyStats stats = context.statsFor(threeStepRouteStrategy);
+                assertEquals(3, stats.getQueriesIssued());
+                assertEquals(4, stats.getRowsFetched());
+                assertEquals(1, stats.getPrunedAsDuplicate());
+                assertEquals(1, stats.getRoutesEmitted());
+        }
+
+        @Test
+        void findRouteGroups_WithSeveralAccessAndEgressLegs_ShouldReturnOneGroupPerFlight() {
+                Transportation busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+                Transportation subwayToAirport = transportation(2L, taksimSquare, istanbulAirport,
+                                TransportationType.SUBWAY);
+                Transportation flight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+                Transportation uberToStadium = transportation(4L, londonHeathrow, wembleyStadium,
+                                TransportationType.UBER);
+                Transportation busToStadium = transportation(5L, londonHeathrow, wembleyStadium,
+                                TransportationType.BUS);
+
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(busToAirport, subwayToAirport));
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(uberToStadium, busToStadium));
+                when(transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                                eq(TransportationType.FLIGHT), any(), any(), any()))
+                                .thenReturn(List.of(flight));
+
+                RouteSearchContext context = new RouteSearchContext();
+                List<RouteGroupDTO> groups = threeStepRouteStrategy.findRouteGroups(taksimSquare, wembleyStadium,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(1, groups.size());
+                RouteGroupDTO group = groups.get(0);
+                assertEquals(3L, group.getFlight().getId());
+                assertEquals(List.of(1L, 2L), group.getAccessLegs().stream().map(t -> t.getId()).toList());
+                assertEquals(List.of(4L, 5L), group.getEgressLegs().stream().map(t -> t.getId()).toList());
+                assertEquals(4, group.getTotalRoutes());
+                assertEquals(4, context.statsFor(threeStepRouteStrategy).getRoutesEmitted());
+        }
+
+        @Test
+        void countRoutes_WithSeveralAccessAndEgressLegs_ShouldMultiplyLegCounts() {
+                Transportation busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+                Transportation subwayToAirport = transportation(2L, taksimSquare, istanbulAirport,
+                                TransportationType.SUBWAY);
+                Transportation flight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+                Transportation uberToStadium = transportation(4L, londonHeathrow, wembleyStadium,
+                                TransportationType.UBER);
+                Transportation busToStadium = transportation(5L, londonHeathrow, wembleyStadium,
+                                TransportationType.BUS);
+
+                when(transportationRepository.findValidByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(busToAirport, subwayToAirport));
+                when(transportationRepository.findValidByDestinationLocationAndTransportationTypeNot(wembleyStadium,
+                                TransportationType.FLIGHT, LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(uberToStadium, busToStadium));
+                when(transportationRepository.findValidByTransportationTypeAndOriginLocationInAndDestinationLocationIn(
+                                eq(TransportationType.FLIGHT), any(), any(), any()))
+                                .thenReturn(List.of(flight, flight));
+
+                RouteSearchContext context = new RouteSearchContext();
+                long count = threeStepRouteStrategy.countRoutes(taksimSquare, wembleyStadium,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(4, count);
+                assertEquals(1, context.statsFor(threeStepRouteStrategy).getPrunedAsDuplicate());
+                assertEquals(count, threeStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
+                                LocalDate.of(2024, 12, 25)).size());
+        }
+
+        @Test
+        void hasRoutes_WithNoBeforeTransfers_ShouldSkipRemainingQueries() {
+                when(transportationRepository.findByOriginLocationAndTransportationTypeNot(taksimSquare,
+                                TransportationType.FLIGHT))
+                                .thenReturn(Collections.emptyList());
+
+                assertFalse(threeStepRouteStrategy.hasRoutes(taksimSquare, wembleyStadium, null,
+                                new RouteSearchContext()));
+        }
+
+        @Test
+        void findRoutes_WithLoadedHubIndex_ShouldLoadOnlyGroundLegsMeetingAFlight() {
+                Transportation busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+                Transportation flight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+                Transportation uberToStadium = transportation(4L, londonHeathrow, wembleyStadium,
+                                TransportationType.UBER);
+
+                AccessHubIndex accessHubIndex = new AccessHubIndex(transportationRepository, taskScheduler, true,
+                                Duration.ofMinutes(5));
+                when(transportationRepository.findAllLegs()).thenReturn(List.of(
+                                leg(busToAirport), leg(flight), leg(uberToStadium),
+                                // A ground leg to a location without flights is never a candidate
+                                new TransportationLeg(9L, taksimSquare.getId(), 99L, TransportationType.BUS, null)));
+                accessHubIndex.reload();
+                ThreeStepRouteStrategy indexedStrategy = new ThreeStepRouteStrategy(transportationRepository,
+                                accessHubIndex);
+
+                when(transportationRepository
+                                .findValidByTransportationTypeAndOriginLocationIdInAndDestinationLocationIdIn(
+                                TransportationType.FLIGHT, Set.of(istanbulAirport.getId()),
+                                Set.of(londonHeathrow.getId()), LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(flight));
+                when(transportationRepository.findByIdIn(Set.of(1L, 4L)))
+                                .thenReturn(List.of(busToAirport, uberToStadium));
+
+                RouteSearchContext context = new RouteSearchContext();
+                List<RouteDTO> routes = indexedStrategy.findRoutes(taksimSquare, wembleyStadium,
+                                LocalDate.of(2024, 12, 25), context);
+
+                assertEquals(1, routes.size());
+                assertEquals(List.of(1L, 3L, 4L), routes.get(0).getTransportations().stream()
+                                .map(TransportationDTO::getId).toList());
+                assertEquals(2, context.statsFor(indexedStrategy).getQueriesIssued());
+                verify(transportationRepository, never())
+                                .findValidByOriginLocationAndTransportationTypeNot(any(), any(), any());
+        }
+
         @Test
         void getMaxTransportations_ShouldReturnThree() {
                 int maxTransportations = threeStepRouteStrategy.getMaxTransportations();
 
                 assertEquals(3, maxTransportations);
         }
+
+        private TransportationLeg leg(Transportation transportation) {
+                return new TransportationLeg(transportation.getId(), transportation.getOriginLocation().getId(),
+                                transportation.getDestinationLocation().getId(), transportation.getTransportationType(),
+                                transportation.getOperatingDays());
+        }
+
+        private Transportation transportation(Long id, Location origin, Location destination,
+                        TransportationType type) {
+                Transportation transportation = Transportation.builder()
+                                .originLocation(origin)
+                                .destinationLocation(destination)
+                                .transportationType(type)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                transportation.setId(id);
+                return transportation;
+        }
 }
@@ -1,6 +1,7 @@
 package com.turkishairlines.routeplanning.service.strategy;
 
 import com.turkishairlines.routeplanning.model.dto.RouteDTO;
+import com.turkishairlines.routeplanning.model.dto.RouteGroupDTO;
 import com.turkishairlines.routeplanning.model.entity.Location;
 import com.turkishairlines.routeplanning.model.entity.Transportation;
 import com.turkishairlines.routeplanning.model.enumaration.TransportationType;
@@ -86,9 +87,11 @@ class TwoStepRouteStrategyTest {
                                 .build();
                 flight.setId(2L);
 
-                when(transportationRepository.findByOriginLocation(taksimSquare))
+                when(transportationRepository.findValidByOriginLocation(taksimSquare,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocation(londonHeathrow))
+                when(transportationRepository.findValidByDestinationLocation(londonHeathrow,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(flight));
 
                 List<RouteDTO> routes = twoStepRouteStrategy.findRoutes(taksimSquare, londonHeathrow,
@@ -121,9 +124,11 @@ class TwoStepRouteStrategyTest {
                                 .build();
                 uberToStadium.setId(2L);
 
-                when(transportationRepository.findByOriginLocation(istanbulAirport))
+                when(transportationRepository.findValidByOriginLocation(istanbulAirport,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(flight));
-                when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                when(transportationRepository.findValidByDestinationLocation(wembleyStadium,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(uberToStadium));
 
                 List<RouteDTO> routes = twoStepRouteStrategy.findRoutes(istanbulAirport, wembleyStadium,
@@ -156,9 +161,11 @@ class TwoStepRouteStrategyTest {
                                 .build();
                 busToStadium.setId(2L);
 
-                when(transportationRepository.findByOriginLocation(taksimSquare))
+                when(transportationRepository.findValidByOriginLocation(taksimSquare,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                when(transportationRepository.findValidByDestinationLocation(wembleyStadium,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToStadium));
 
                 List<RouteDTO> routes = twoStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -178,9 +185,11 @@ class TwoStepRouteStrategyTest {
                                 .build();
                 busToAirport.setId(1L);
 
-                when(transportationRepository.findByOriginLocation(taksimSquare))
+                when(transportationRepository.findValidByOriginLocation(taksimSquare,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(List.of(busToAirport));
-                when(transportationRepository.findByDestinationLocation(wembleyStadium))
+                when(transportationRepository.findValidByDestinationLocation(wembleyStadium,
+                                LocalDate.of(2024, 12, 25)))
                                 .thenReturn(Collections.emptyList());
 
                 List<RouteDTO> routes = twoStepRouteStrategy.findRoutes(taksimSquare, wembleyStadium,
@@ -190,10 +199,46 @@ class TwoStepRouteStrategyTest {
                 assertTrue(routes.isEmpty());
         }
 
+        @Test
+        void findRouteGroups_WithGroundLegsIntoFlight_ShouldGroupAccessLegsUnderFlight() {
+                Transportation busToAirport = transportation(1L, taksimSquare, istanbulAirport, TransportationType.BUS);
+                Transportation uberToAirport = transportation(2L, taksimSquare, istanbulAirport,
+                                TransportationType.UBER);
+                Transportation flight = transportation(3L, istanbulAirport, londonHeathrow, TransportationType.FLIGHT);
+
+                when(transportationRepository.findValidByOriginLocation(taksimSquare,
+                                LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(busToAirport, uberToAirport));
+                when(transportationRepository.findValidByDestinationLocation(londonHeathrow,
+                                LocalDate.of(2024, 12, 25)))
+                                .thenReturn(List.of(flight));
+
+                List<RouteGroupDTO> groups = twoStepRouteStrategy.findRouteGroups(taksimSquare, londonHeathrow,
+                                LocalDate.of(2024, 12, 25), new RouteSearchContext());
+
+                assertEquals(1, groups.size());
+                assertEquals(3L, groups.get(0).getFlight().getId());
+                assertEquals(2, groups.get(0).getAccessLegs().size());
+                assertTrue(groups.get(0).getEgressLegs().isEmpty());
+                assertEquals(2, groups.get(0).getTotalRoutes());
+        }
+
         @Test
         void getMaxTransportations_ShouldReturnTwo() {
                 int maxTransportations = twoStepRouteStrategy.getMaxTransportations();
 
                 assertEquals(2, maxTransportations);
         }
+
+        private Transportation transportation(Long id, Location origin, Location destination,
+                        TransportationType type) {
+                Transportation transportation = Transportation.builder()
+                                .originLocation(origin)
+                                .destinationLocation(destination)
+                                .transportationType(type)
+                                .operatingDays(new Integer[] { 1, 2, 3, 4, 5, 6, 7 })
+                                .build();
+                transportation.setId(id);
+                return transportation;
+        }
 }
@@ -0,0 +1,45 @@
+-- Schema for the stand-in replica container in ReadWriteSplitIntegrationTest; mirrors the JPA entities
+CREATE TABLE locations (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    deleted_at TIMESTAMPTZ,
+    name VARCHAR(150) NOT NULL,
+    country VARCHAR(100) NOT NULL,
+    city VARCHAR(120) NOT NULL,
+    location_code VARCHAR(16) NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    min_transfer_minutes INTEGER,
+    CONSTRAINT uk_locations_location_code UNIQUE (location_code)
+);
+
+CREATE TABLE transportations (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    deleted_at TIMESTAMPTZ,
+    origin_location_id BIGINT NOT NULL CONSTRAINT fk_transportations_origin REFERENCES locations,
+    destination_location_id BIGINT NOT NULL CONSTRAINT fk_transportations_destination REFERENCES locations,
+    transportation_type VARCHAR(16) NOT NULL,
+    operating_days INTEGER[],
+    duration_minutes INTEGER,
+    cost NUMERIC(12, 2),
+    departure_time TIME,
+    arrival_time TIME,
+    valid_from DATE,
+    valid_to DATE,
+    exception_dates DATE[]
+);
+
+CREATE TABLE disruptions (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    deleted_at TIMESTAMPTZ,
+    location_id BIGINT CONSTRAINT fk_disruptions_location REFERENCES locations,
+    transportation_id BIGINT CONSTRAINT fk_disruptions_transportation REFERENCES transportations,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    reason VARCHAR(255)
+);